@@ -0,0 +1,283 @@
+package cs3500.animator.bench;
+
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.model.interfaces.Shape;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.view.classes.SVGView;
+import cs3500.animator.view.classes.TextualView;
+import cs3500.animator.view.classes.ViewPanel;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Times the hot paths of the animator on generated scenes: parsing a script, building a model
+ * from motions, stepping the visual view's panel through every tick, and writing the SVG and text
+ * documents. Every scenario is run a few times to warm up and then timed over several more runs,
+ * and the mean and fastest times are printed one line per scenario and scene size, so results can
+ * be compared between changes.
+ *
+ * <p>
+ * Usage: {@code java cs3500.animator.bench.Benchmarks [-sizes 1000,100000] [-only name]
+ * [-warmup n] [-runs n]}, where the sizes are numbers of motions and the names are those printed
+ * in the first column.
+ * </p>
+ */
+public final class Benchmarks {
+
+  // keeps results alive so the work producing them cannot be optimized away
+  private static volatile Object sink;
+
+  /**
+   * A timed piece of work, set up once per scene size.
+   */
+  private interface Scenario {
+    String name();
+
+    void setUp(String script) throws IOException;
+
+    Object run() throws IOException;
+  }
+
+  private Benchmarks() {
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args the command line arguments
+   * @throws IOException if a scenario fails to write its output
+   */
+  public static void main(String[] args) throws IOException {
+    int[] sizes = {1000, 100000};
+    String only = null;
+    int warmup = 3;
+    int runs = 5;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "-sizes":
+          String[] parts = args[i + 1].split(",");
+          sizes = new int[parts.length];
+          for (int j = 0; j < parts.length; j++) {
+            sizes[j] = Integer.parseInt(parts[j].trim());
+          }
+          break;
+        case "-only":
+          only = args[i + 1];
+          break;
+        case "-warmup":
+          warmup = Integer.parseInt(args[i + 1]);
+          break;
+        case "-runs":
+          runs = Integer.parseInt(args[i + 1]);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option " + args[i]);
+      }
+    }
+
+    System.out.println(String.format(Locale.ROOT, "%-8s %10s %12s %12s",
+        "scenario", "motions", "mean ms", "min ms"));
+    for (int size : sizes) {
+      String script = SceneGenerator.withMotions(size).generate();
+      for (Scenario scenario : scenarios()) {
+        if (only == null || only.equals(scenario.name())) {
+          scenario.setUp(script);
+          measure(scenario, size, warmup, runs);
+        }
+      }
+    }
+  }
+
+  private static void measure(Scenario scenario, int size, int warmup, int runs)
+      throws IOException {
+    for (int i = 0; i < warmup; i++) {
+      sink = scenario.run();
+    }
+    long total = 0;
+    long min = Long.MAX_VALUE;
+    for (int i = 0; i < runs; i++) {
+      long start = System.nanoTime();
+      sink = scenario.run();
+      long elapsed = System.nanoTime() - start;
+      total += elapsed;
+      min = Math.min(min, elapsed);
+    }
+    System.out.println(String.format(Locale.ROOT, "%-8s %10d %12.3f %12.3f",
+        scenario.name(), size, total / (runs * 1e6), min / 1e6));
+  }
+
+  private static EasyAnimatorModel parse(String script) {
+    return AnimationReader.parseFile(new StringReader(script),
+        new EasyAnimatorModelImpl.Builder());
+  }
+
+  private static List<Scenario> scenarios() {
+    List<Scenario> scenarios = new ArrayList<>();
+
+    scenarios.add(new Scenario() {
+      private String script;
+
+      @Override
+      public String name() {
+        return "parse";
+      }
+
+      @Override
+      public void setUp(String script) {
+        this.script = script;
+      }
+
+      @Override
+      public Object run() {
+        return parse(script);
+      }
+    });
+
+    scenarios.add(new Scenario() {
+      private List<String> names;
+      private List<int[]> motions;
+
+      @Override
+      public String name() {
+        return "build";
+      }
+
+      @Override
+      public void setUp(String script) {
+        // parsed ahead of time, so only the builder is timed
+        names = new ArrayList<>();
+        motions = new ArrayList<>();
+        for (String line : script.split("\n")) {
+          String[] tokens = line.split(" ");
+          if (tokens[0].equals("motion")) {
+            names.add(tokens[1]);
+            int[] values = new int[16];
+            for (int i = 0; i < values.length; i++) {
+              values[i] = Integer.parseInt(tokens[i + 2]);
+            }
+            motions.add(values);
+          }
+        }
+      }
+
+      @Override
+      public Object run() {
+        EasyAnimatorModelImpl.Builder builder = new EasyAnimatorModelImpl.Builder();
+        builder.setBounds(0, 0, 800, 800);
+        String previous = null;
+        for (int i = 0; i < motions.size(); i++) {
+          String name = names.get(i);
+          if (!name.equals(previous)) {
+            builder.declareShape(name,
+                Integer.parseInt(name.substring(1)) % 2 == 0 ? "rectangle" : "ellipse");
+            previous = name;
+          }
+          int[] m = motions.get(i);
+          builder.addMotion(name, m[0], m[1], m[2], m[3], m[4], m[5], m[6], m[7],
+              m[8], m[9], m[10], m[11], m[12], m[13], m[14], m[15]);
+        }
+        return builder.build();
+      }
+    });
+
+    scenarios.add(new Scenario() {
+      private List<Shape> shapes;
+
+      @Override
+      public String name() {
+        return "step";
+      }
+
+      @Override
+      public void setUp(String script) {
+        shapes = parse(script).getShapes();
+      }
+
+      @Override
+      public Object run() {
+        ViewPanel panel = new ViewPanel(shapes);
+        while (panel.getTick() <= panel.getMaxTick()) {
+          panel.animateShapes();
+        }
+        return panel;
+      }
+    });
+
+    scenarios.add(new Scenario() {
+      private EasyAnimatorModel model;
+
+      @Override
+      public String name() {
+        return "svg";
+      }
+
+      @Override
+      public void setUp(String script) {
+        model = parse(script);
+      }
+
+      @Override
+      public Object run() throws IOException {
+        CountingWriter out = new CountingWriter();
+        new SVGView(model, out, 20).display();
+        return out.count;
+      }
+    });
+
+    scenarios.add(new Scenario() {
+      private EasyAnimatorModel model;
+
+      @Override
+      public String name() {
+        return "text";
+      }
+
+      @Override
+      public void setUp(String script) {
+        model = parse(script);
+      }
+
+      @Override
+      public Object run() throws IOException {
+        CountingWriter out = new CountingWriter();
+        new TextualView(model, out).display();
+        return out.count;
+      }
+    });
+
+    return scenarios;
+  }
+
+  /**
+   * A writer that throws its text away, counting it, so exports are timed without the disk.
+   */
+  private static final class CountingWriter extends Writer {
+    private long count;
+
+    @Override
+    public void write(char[] buffer, int offset, int length) {
+      count += length;
+    }
+
+    @Override
+    public Writer append(CharSequence text) {
+      count += text.length();
+      return this;
+    }
+
+    @Override
+    public void flush() {
+      // nothing is buffered
+    }
+
+    @Override
+    public void close() {
+      // nothing to release
+    }
+  }
+}
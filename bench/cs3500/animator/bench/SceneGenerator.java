@@ -0,0 +1,129 @@
+package cs3500.animator.bench;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates animation scripts of any size in the text format read by
+ * {@link cs3500.animator.util.AnimationReader}, for measuring how the program scales. A scene is a
+ * number of shapes, alternately rectangles and ellipses, each given the same number of back to
+ * back motions that move, resize and recolor it at random within the canvas. The same seed always
+ * gives the same script.
+ */
+public final class SceneGenerator {
+
+  private final int shapes;
+  private final int motionsPerShape;
+  private final int canvasSize;
+  private final long seed;
+
+  /**
+   * Constructs a generator.
+   *
+   * @param shapes          the number of shapes in the scene
+   * @param motionsPerShape the number of motions each shape is given
+   * @param canvasSize      the width and height of the square canvas
+   * @param seed            the seed of the random values
+   * @throws IllegalArgumentException if any count or the canvas size is not positive
+   */
+  public SceneGenerator(int shapes, int motionsPerShape, int canvasSize, long seed)
+      throws IllegalArgumentException {
+    if (shapes <= 0 || motionsPerShape <= 0 || canvasSize <= 0) {
+      throw new IllegalArgumentException("Scene sizes must be positive.");
+    }
+    this.shapes = shapes;
+    this.motionsPerShape = motionsPerShape;
+    this.canvasSize = canvasSize;
+    this.seed = seed;
+  }
+
+  /**
+   * Constructs a generator for a scene of roughly the given number of motions, spread over shapes
+   * so that no shape has more than a thousand of them.
+   *
+   * @param motions the total number of motions
+   * @return the generator
+   * @throws IllegalArgumentException if the number is not positive
+   */
+  public static SceneGenerator withMotions(int motions) throws IllegalArgumentException {
+    if (motions <= 0) {
+      throw new IllegalArgumentException("Scene sizes must be positive.");
+    }
+    int shapes = Math.max(1, (motions + 999) / 1000);
+    return new SceneGenerator(shapes, (motions + shapes - 1) / shapes, 800, 42);
+  }
+
+  /**
+   * Gets the total number of motions in the scene.
+   *
+   * @return the number of motions
+   */
+  public int getMotions() {
+    return shapes * motionsPerShape;
+  }
+
+  /**
+   * Writes the script of the scene.
+   *
+   * @param out where to write the script
+   * @throws IOException if the script cannot be written
+   */
+  public void write(Appendable out) throws IOException {
+    Random random = new Random(seed);
+    out.append("canvas 0 0 ").append(Integer.toString(canvasSize)).append(' ')
+        .append(Integer.toString(canvasSize)).append('\n');
+    for (int s = 0; s < shapes; s++) {
+      out.append("shape S").append(Integer.toString(s))
+          .append(s % 2 == 0 ? " rectangle\n" : " ellipse\n");
+    }
+    int[] from = new int[5];
+    int[] to = new int[5];
+    for (int s = 0; s < shapes; s++) {
+      int t = random.nextInt(20);
+      randomState(random, from);
+      for (int m = 0; m < motionsPerShape; m++) {
+        int end = t + 1 + random.nextInt(10);
+        randomState(random, to);
+        out.append("motion S").append(Integer.toString(s));
+        state(out, t, from);
+        state(out, end, to);
+        out.append('\n');
+        System.arraycopy(to, 0, from, 0, to.length);
+        t = end;
+      }
+    }
+  }
+
+  /**
+   * Gets the script of the scene.
+   *
+   * @return the script
+   */
+  public String generate() {
+    StringBuilder out = new StringBuilder(getMotions() * 64);
+    try {
+      write(out);
+    } catch (IOException e) {
+      throw new IllegalStateException("A StringBuilder cannot fail.", e);
+    }
+    return out.toString();
+  }
+
+  private void randomState(Random random, int[] state) {
+    state[0] = random.nextInt(canvasSize);
+    state[1] = random.nextInt(canvasSize);
+    state[2] = 1 + random.nextInt(canvasSize / 8 + 1);
+    state[3] = 1 + random.nextInt(canvasSize / 8 + 1);
+    state[4] = random.nextInt(256) << 16 | random.nextInt(256) << 8 | random.nextInt(256);
+  }
+
+  private static void state(Appendable out, int t, int[] state) throws IOException {
+    out.append(' ').append(Integer.toString(t));
+    for (int i = 0; i < 4; i++) {
+      out.append(' ').append(Integer.toString(state[i]));
+    }
+    out.append(' ').append(Integer.toString(state[4] >> 16 & 0xFF))
+        .append(' ').append(Integer.toString(state[4] >> 8 & 0xFF))
+        .append(' ').append(Integer.toString(state[4] & 0xFF));
+  }
+}
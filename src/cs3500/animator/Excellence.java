@@ -4,17 +4,32 @@ import cs3500.animator.controller.classes.ControllerImpl;
 import cs3500.animator.controller.interfaces.Controller;
 import cs3500.animator.model.classes.EasyAnimatorModelImpl;
 import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.util.AnimationBinaryReader;
 import cs3500.animator.util.AnimationReader;
 import cs3500.animator.view.classes.EditorViewImpl;
+import cs3500.animator.view.classes.FramesView;
+import cs3500.animator.view.classes.GifView;
+import cs3500.animator.view.classes.VideoView;
 import cs3500.animator.view.classes.ViewFactory;
 import cs3500.animator.view.interfaces.EditorView;
 import cs3500.animator.view.interfaces.View;
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedInputStream;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import javax.swing.JFrame;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import javax.swing.JOptionPane;
 
 /**
@@ -22,32 +37,39 @@ import javax.swing.JOptionPane;
  */
 public final class Excellence {
 
+  // input files at least this large are memory mapped and parsed on all cores
+  private static final long MAPPED_PARSE_THRESHOLD = 16L << 20;
+
   /**
    * main function that parses commands from the command line, decides which file
    * to read from and generates a model representing the data, parses the inputs
    * for the speed of the animation, the output of the destination and how the
-   * animations should be represented: text, svg or visual. default output is System.out.
+   * animations should be represented: text, svg, visual, edit, binary, gif, y4m, rgb or frames.
+   * default output is System.out, except for frames, which are written into the directory given
+   * by -out.
    * @param args <-in name-of-animation-file>
    *             <-view type-of-view>
    *             <-out where-output-show-go>
    *             <-speed integer-ticks-per-second>
+   *             <-threads number-of-threads-to-render-frames-on>
+   *             <-loop true-or-false-whether-a-gif-plays-over-and-over>
    * @throws IOException Appendable used in outputting file is null.
    */
   public static void main(String[] args) throws IOException {
-    Readable file = null;
+    String inFile = null;
     String viewType = null;
     String outDest = "System.out";
     Appendable output = System.out;
     double speed = 1;
+    int threads = 1;
+    boolean loop = true;
     int counter = 0;
-    JFrame popup = new JFrame();
-    popup.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
     while (counter < args.length) {
       try {
         switch (args[counter]) {
           case "-in":
-            file = new FileReader(args[counter + 1]);
+            inFile = args[counter + 1];
             break;
           case "-view":
             viewType = args[counter + 1];
@@ -58,25 +80,32 @@ public final class Excellence {
           case "-speed":
             speed = Integer.parseInt(args[counter + 1]);
             break;
+          case "-threads":
+            threads = parseThreads(args[counter + 1]);
+            break;
+          case "-loop":
+            loop = parseLoop(args[counter + 1]);
+            break;
           default:
-            JOptionPane.showMessageDialog(popup,"Not a valid input");
-            throw new IllegalArgumentException("Not a valid input");
+            throw invalidInput("Not a valid input");
         }
       } catch (IndexOutOfBoundsException e) {
-        JOptionPane.showMessageDialog(popup,"Not a valid input");
-        throw new IllegalArgumentException("Not a valid input");
+        throw invalidInput("Not a valid input");
       }
       counter += 2;
     }
 
-    if (file == null) {
-      JOptionPane.showMessageDialog(popup,"Invalid input file.");
-      throw new IllegalArgumentException("Invalid input file.");
+    if (inFile == null || !Files.isReadable(Paths.get(inFile))) {
+      throw invalidInput("Invalid input file.");
     }
 
     if (viewType == null) {
-      JOptionPane.showMessageDialog(popup,"Invalid view type.");
-      throw new IllegalArgumentException("Invalid view type.");
+      throw invalidInput("Invalid view type.");
+    }
+
+    // views that only write files must also work on machines without a display
+    if (ViewFactory.isStreamView(viewType) || ViewFactory.isDirectoryView(viewType)) {
+      System.setProperty("java.awt.headless", "true");
     }
 
     if (outDest.equals("out")) {
@@ -87,10 +116,29 @@ public final class Excellence {
       output = new StringBuilder();
     }
 
-    AnimationReader inputReader = new AnimationReader();
-    EasyAnimatorModelImpl.Builder builder = new EasyAnimatorModelImpl.Builder();
-    inputReader.parseFile(file, builder);
-    EasyAnimatorModel model = builder.build();
+    EasyAnimatorModel model = readModel(inFile);
+    if (ViewFactory.isStreamView(viewType)) {
+      writeStreamView(viewType, model, outDest, (int) speed, threads, loop);
+      return;
+    }
+    if (ViewFactory.isDirectoryView(viewType)) {
+      if (outDest.equals("System.out")) {
+        throw invalidInput("The " + viewType + " view needs an output directory.");
+      }
+      View view = new ViewFactory(viewType, model, outDest).getView();
+      if (view instanceof FramesView) {
+        ((FramesView) view).setThreads(threads);
+      }
+      view.display();
+      return;
+    }
+    if (ViewFactory.isDocumentView(viewType) && !outDest.equals("System.out")) {
+      try (Writer file = new BufferedWriter(new OutputStreamWriter(
+          new FileOutputStream(outDest), StandardCharsets.UTF_8))) {
+        new ViewFactory(viewType, model, file).getView().display();
+      }
+      return;
+    }
     View view = new ViewFactory(viewType, model, output).getView();
     if (view instanceof EditorViewImpl) {
       Controller controller = new ControllerImpl((EditorView) view);
@@ -105,4 +153,120 @@ public final class Excellence {
       writer.close();
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Reads the number of threads to render on.
+   *
+   * @param value the argument given to -threads
+   * @return the number of threads
+   * @throws IllegalArgumentException if the argument is not a positive integer
+   */
+  private static int parseThreads(String value) throws IllegalArgumentException {
+    try {
+      int threads = Integer.parseInt(value);
+      if (threads > 0) {
+        return threads;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw invalidInput("Number of threads must be a positive integer.");
+  }
+
+  /**
+   * Reads whether a GIF should loop.
+   *
+   * @param value the argument given to -loop
+   * @return true if the GIF should play over and over
+   * @throws IllegalArgumentException if the argument is neither true nor false
+   */
+  private static boolean parseLoop(String value) throws IllegalArgumentException {
+    if ("true".equals(value) || "false".equals(value)) {
+      return Boolean.parseBoolean(value);
+    }
+    throw invalidInput("Loop must be true or false.");
+  }
+
+  /**
+   * Tells the user their input is invalid, in a dialog when there is a display to show it on.
+   *
+   * @param message what is wrong with the input
+   * @return the exception to throw
+   */
+  private static IllegalArgumentException invalidInput(String message) {
+    if (!GraphicsEnvironment.isHeadless()) {
+      JOptionPane.showMessageDialog(null, message);
+    }
+    return new IllegalArgumentException(message);
+  }
+
+  /**
+   * Displays a view that writes bytes rather than text straight onto standard output or the
+   * destination file, without collecting its output in memory first. The views buffer what they
+   * write themselves, and the video views write whole frames at once, so the file is not buffered
+   * again.
+   *
+   * @param viewType the type of view
+   * @param model    the model to display
+   * @param outDest  the destination file, or System.out
+   * @param speed    the ticks per second a GIF or video plays at
+   * @param threads  the number of threads to render a GIF's frames on
+   * @param loop     whether a GIF plays over and over
+   * @throws IOException if the destination cannot be written to
+   */
+  private static void writeStreamView(String viewType, EasyAnimatorModel model, String outDest,
+      int speed, int threads, boolean loop) throws IOException {
+    if (outDest.equals("System.out")) {
+      display(new ViewFactory(viewType, model, System.out, System.out).getView(), speed, threads,
+          loop);
+      System.out.flush();
+      return;
+    }
+    try (OutputStream file = new FileOutputStream(outDest)) {
+      display(new ViewFactory(viewType, model, System.out, file).getView(), speed, threads, loop);
+    }
+  }
+
+  private static void display(View view, int speed, int threads, boolean loop)
+      throws IOException {
+    if (view instanceof GifView || view instanceof VideoView) {
+      if (speed <= 0) {
+        throw invalidInput("Speed must be a positive integer.");
+      }
+      view.setTempo(speed);
+    }
+    if (view instanceof GifView) {
+      ((GifView) view).setThreads(threads);
+      ((GifView) view).setLooping(loop);
+    }
+    view.display();
+  }
+
+  /**
+   * Reads the animation in the given file into a new model. Binary animations are recognized by
+   * their first bytes and decoded directly. Large text files are memory mapped and
+   * tokenized in parallel when there is more than one core to do it on, everything else is read
+   * sequentially.
+   *
+   * @param inFile the path of the animation file
+   * @return the model described by the file
+   * @throws IOException if the file cannot be read
+   */
+  private static EasyAnimatorModel readModel(String inFile) throws IOException {
+    Path path = Paths.get(inFile);
+    EasyAnimatorModelImpl.Builder builder = new EasyAnimatorModelImpl.Builder();
+    if (AnimationBinaryReader.isBinaryFile(path)) {
+      try (InputStream file = new BufferedInputStream(Files.newInputStream(path))) {
+        return AnimationBinaryReader.parseFile(file, builder);
+      }
+    }
+    if (Files.size(path) >= MAPPED_PARSE_THRESHOLD
+        && Runtime.getRuntime().availableProcessors() > 1) {
+      return AnimationReader.parseMappedFile(path, builder);
+    }
+    // decoded as UTF-8 like the mapped files, so a file reads the same whatever its size
+    try (Reader file = new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8)) {
+      return AnimationReader.parseFile(file, builder);
+    }
+  }
+}
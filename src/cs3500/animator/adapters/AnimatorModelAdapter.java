@@ -2,7 +2,6 @@ package cs3500.animator.adapters;
 
 import cs3500.animator.model.classes.Bounds;
 import cs3500.animator.model.interfaces.EasyAnimatorModel;
-import cs3500.animator.model.interfaces.Shape;
 import cs3500.animator.provider.model.AnimatorModel;
 import cs3500.animator.provider.model.AnimatorSprite;
 import cs3500.animator.provider.model.ROAnimatorSprite;
@@ -51,13 +50,7 @@ public class AnimatorModelAdapter implements AnimatorModel {
 
   @Override
   public AnimatorSprite getSpriteByName(String name) throws IllegalArgumentException {
-    for (Shape shape : easyAnimatorModel.getShapes()) {
-      if (shape.getName().equals(name)) {
-        return new SpriteAdapter(shape);
-      }
-    }
-
-    throw new IllegalArgumentException("Shape is not in the model");
+    return new SpriteAdapter(easyAnimatorModel.getShape(name));
   }
 
   @Override
@@ -82,12 +75,6 @@ public class AnimatorModelAdapter implements AnimatorModel {
 
   @Override
   public ROAnimatorSprite getROSpriteByName(String name) throws IllegalArgumentException {
-    for (Shape shape : easyAnimatorModel.getShapes()) {
-      if (shape.getName().equals(name)) {
-        return new SpriteAdapter(shape);
-      }
-    }
-
-    throw new IllegalArgumentException("Shape is not in the model");
+    return new SpriteAdapter(easyAnimatorModel.getShape(name));
   }
 }
@@ -15,7 +15,7 @@ import java.util.Objects;
  * Represents an abstract shape. Any shape should have a name, first dimension, second dimension,
  * positional coordinates, and a color. It should also have a start time and end time if it should
  * be animated. If it is not animated, these values should be defaulted to 0. A shape also holds a
- * list of its animations, and its type.
+ * list of its animations, its keyframe track, and its type.
  */
 public abstract class AShape implements Shape, DrawableShape {
 
@@ -29,8 +29,11 @@ public abstract class AShape implements Shape, DrawableShape {
   protected int startTime;
   protected int endTime;
   protected List<Animation> animations;
-  protected List<Keyframe> keyframes;
+  protected KeyframeTrack track;
   protected ShapeType type;
+  // the model this shape was added to, which its keyframes are edited through and which is told
+  // of every change to it; copies have none
+  EasyAnimatorModelImpl model;
 
 
   /**
@@ -66,7 +69,7 @@ public abstract class AShape implements Shape, DrawableShape {
     this.startTime = startTime;
     this.endTime = endTime;
     this.animations = new ArrayList<Animation>();
-    this.keyframes = new ArrayList<Keyframe>();
+    this.track = new KeyframeTrack();
     // abstract animations cannot have a ShapeType
     type = null;
   }
@@ -151,11 +154,13 @@ public abstract class AShape implements Shape, DrawableShape {
   @Override
   public void setX(int x) {
     this.x = x;
+    changed();
   }
 
   @Override
   public void setY(int y) {
     this.y = y;
+    changed();
   }
 
   @Override
@@ -165,44 +170,39 @@ public abstract class AShape implements Shape, DrawableShape {
     AnimatorUtils.guardAgainstNonPositiveDimension(secondDimension);
     this.firstDimension = firstDimension;
     this.secondDimension = secondDimension;
+    changed();
   }
 
   @Override
   public String toString() {
     StringBuilder out = new StringBuilder();
-    Keyframe kfPrev;
-    Keyframe kfCurr;
     out.append("shape " + name + " " + type.name().toLowerCase() + "\n");
     out.append("motion ").append(name).append(" ");
 
-    for (int i = 0; i <= this.keyframes.size() - 1; i++) {
-      if (i == 0) {
-        kfPrev = keyframes.get(i);
-        kfCurr = keyframes.get(i);
-      } else {
-        kfCurr = keyframes.get(i);
-        kfPrev = keyframes.get(i - 1);
+    for (int i = 0; i < track.size(); i++) {
+      int prev = i == 0 ? i : i - 1;
+      appendState(out, prev).append(" ");
+      appendState(out, i);
+      if (i > 0 && !track.getEasing(i).isLinear()) {
+        out.append(" ").append(track.getEasing(i));
       }
-      System.out.println(kfCurr);
-
-      out.append(kfPrev.getEndTime()).append(" ").append(kfPrev.getX()).append(" ")
-          .append(kfPrev.getY()).append(" ").append(kfPrev.getWidth()).append(" ")
-          .append(kfPrev.getHeight()).append(" ")
-          .append(kfPrev.getRed()).append(" ").append(kfPrev.getGreen()).append(" ")
-          .append(kfPrev.getBlue()).append(" ")
-          .append(kfCurr.getEndTime()).append(" ")
-          .append(kfCurr.getX()).append(" ").append(kfCurr.getY())
-          .append(" ").append(kfCurr.getWidth()).append(" ").append(kfCurr.getHeight()).append(" ")
-          .append(kfCurr.getRed()).append(" ").append(kfCurr.getGreen()).append(" ")
-          .append(kfCurr.getBlue()).append("\n");
+      out.append("\n");
     }
     return out.toString();
   }
 
+  private StringBuilder appendState(StringBuilder out, int index) {
+    return out.append(track.getTime(index)).append(" ").append(track.getX(index)).append(" ")
+        .append(track.getY(index)).append(" ").append(track.getWidth(index)).append(" ")
+        .append(track.getHeight(index)).append(" ").append(track.getRed(index)).append(" ")
+        .append(track.getGreen(index)).append(" ").append(track.getBlue(index));
+  }
+
   @Override
   public void setColor(Color color) throws IllegalArgumentException {
     AnimatorUtils.guardAgainstNullColor(color);
     this.color = color;
+    changed();
   }
 
   @Override
@@ -218,11 +218,33 @@ public abstract class AShape implements Shape, DrawableShape {
   @Override
   public void setStartTime(int time) {
     this.startTime = time;
+    changed();
   }
 
   @Override
   public void setEndTime(int time) {
     this.endTime = time;
+    changed();
+  }
+
+  /**
+   * Ties this shape to the model it has been added to, or unties it when given null. While tied,
+   * every change to the shape or its keyframe track is reported to the model.
+   *
+   * @param model the model, or null
+   */
+  void attach(EasyAnimatorModelImpl model) {
+    this.model = model;
+    track.owner = model == null ? null : this;
+  }
+
+  /**
+   * Tells the model this shape is in, if any, that the shape has changed.
+   */
+  void changed() {
+    if (model != null) {
+      model.shapeChanged(this);
+    }
   }
 
   /**
@@ -265,26 +287,47 @@ public abstract class AShape implements Shape, DrawableShape {
   @Override
   public void addKeyframe(Keyframe kf) throws IllegalArgumentException {
     AnimatorUtils.guardAgainstNullKeyframe(kf);
-    this.keyframes.add(kf);
-    Collections.sort(this.keyframes, new KeyframeComparator());
+    track.put(kf.getEndTime(), kf.getX(), kf.getY(), kf.getWidth(), kf.getHeight(),
+        kf.getRed(), kf.getGreen(), kf.getBlue());
+  }
+
+  @Override
+  public void addKeyframes(List<Keyframe> keyframes) throws IllegalArgumentException {
+    if (keyframes == null) {
+      throw new IllegalArgumentException("Keyframes cannot be null.");
+    }
+    KeyframeBatch batch = new KeyframeBatch(keyframes.size());
+    for (Keyframe kf : keyframes) {
+      AnimatorUtils.guardAgainstNullKeyframe(kf);
+      batch.add(kf.getEndTime(), kf.getX(), kf.getY(), kf.getWidth(), kf.getHeight(),
+          kf.getRed(), kf.getGreen(), kf.getBlue());
+    }
+    track.putAll(batch);
   }
 
   @Override
   public void removeKeyframe(Keyframe kf) throws IllegalArgumentException {
     AnimatorUtils.guardAgainstNullKeyframe(kf);
-    if (!this.keyframes.contains(kf)) {
+    int index = track.indexOf(kf.getEndTime());
+    if (index < 0) {
       throw new IllegalArgumentException("Keyframe does not exist.");
     }
-    this.keyframes.remove(kf);
+    track.remove(index);
   }
 
   @Override
   public ArrayList<Keyframe> getKeyframes() {
-    ArrayList<Keyframe> copy = new ArrayList<Keyframe>();
-    for (Keyframe kf : this.keyframes) {
-      copy.add(kf);
+    ArrayList<Keyframe> copy = new ArrayList<Keyframe>(track.size());
+    for (int i = 0; i < track.size(); i++) {
+      copy.add(Keyframe.recordState(this, track.getStartTime(i), track.getTime(i),
+          track.getX(i), track.getY(i), track.getWidth(i), track.getHeight(i),
+          track.getRed(i), track.getGreen(i), track.getBlue(i)));
     }
     return copy;
   }
-}
 
+  @Override
+  public KeyframeTrack getKeyframeTrack() {
+    return track;
+  }
+}
@@ -0,0 +1,169 @@
+package cs3500.animator.model.classes;
+
+import cs3500.animator.model.interfaces.Shape;
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The state of shapes at every tick of their keyframes, worked out once and kept in flat arrays, so
+ * that playing the same ticks again, as a looping animation does, only looks the state up. Each
+ * shape's table holds its position, size and color at every tick from its first keyframe to its
+ * last.
+ *
+ * <p>
+ * The tables together are kept within a budget of bytes. A shape whose table would not fit is not
+ * baked, and is left to be worked out from its keyframes as before. Shapes are baked one at a time,
+ * so when a shape changes only its table needs to be baked again.
+ * </p>
+ */
+public final class BakedTimeline {
+
+  // x, y, width, height and color, each an int
+  private static final int VALUES_PER_TICK = 5;
+  private static final int BYTES_PER_TICK = VALUES_PER_TICK * 4;
+
+  private final long budget;
+  private final Map<String, Table> tables;
+  private long bytesUsed;
+
+  /**
+   * The baked states of one shape, from its first keyframe on.
+   */
+  private static final class Table {
+    private final int first;
+    private final int last;
+    private final int[] values;
+
+    private Table(int first, int last, int[] values) {
+      this.first = first;
+      this.last = last;
+      this.values = values;
+    }
+
+    private long bytes() {
+      return (long) values.length * 4;
+    }
+  }
+
+  /**
+   * Constructs an empty timeline.
+   *
+   * @param budget the most bytes the baked tables may take up together
+   * @throws IllegalArgumentException if the budget is negative
+   */
+  public BakedTimeline(long budget) throws IllegalArgumentException {
+    if (budget < 0) {
+      throw new IllegalArgumentException("Budget cannot be negative.");
+    }
+    this.budget = budget;
+    this.tables = new HashMap<>();
+  }
+
+  /**
+   * Bakes the given shape's keyframes, replacing any table already baked for a shape of the same
+   * name. Nothing is baked if the shape has no keyframes or its table would go over the budget.
+   *
+   * @param shape the shape to bake
+   * @return whether the shape was baked
+   * @throws IllegalArgumentException if the shape is null
+   */
+  public boolean bake(Shape shape) throws IllegalArgumentException {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null.");
+    }
+    remove(shape.getName());
+    KeyframeTrack track = shape.getKeyframeTrack();
+    if (track.isEmpty()) {
+      return false;
+    }
+    int first = track.getTime(0);
+    int last = track.getTime(track.size() - 1);
+    long bytes = ((long) last - first + 1) * BYTES_PER_TICK;
+    if (bytesUsed + bytes > budget || bytes / 4 > Integer.MAX_VALUE - 8) {
+      return false;
+    }
+    int[] values = new int[(int) (bytes / 4)];
+    track.sample(values);
+    tables.put(shape.getName(), new Table(first, last, values));
+    bytesUsed += bytes;
+    return true;
+  }
+
+  /**
+   * Drops the table baked for the shape with the given name, if there is one.
+   *
+   * @param name the name of the shape
+   */
+  public void remove(String name) {
+    Table table = tables.remove(name);
+    if (table != null) {
+      bytesUsed -= table.bytes();
+    }
+  }
+
+  /**
+   * Drops every baked table.
+   */
+  public void clear() {
+    tables.clear();
+    bytesUsed = 0;
+  }
+
+  /**
+   * Checks whether the shape with the given name has been baked.
+   *
+   * @param name the name of the shape
+   * @return whether it has a baked table
+   */
+  public boolean isBaked(String name) {
+    return tables.containsKey(name);
+  }
+
+  /**
+   * Sets the given shape to its baked state at the given tick. Ticks outside the shape's keyframes
+   * leave it as it is, just as working the state out from the keyframes would. A new color is only
+   * made when the color changes.
+   *
+   * @param shape the shape to set
+   * @param tick  the tick
+   * @return false if the shape has not been baked, in which case it is left as it is
+   */
+  public boolean apply(Shape shape, int tick) {
+    Table table = tables.get(shape.getName());
+    if (table == null) {
+      return false;
+    }
+    if (tick < table.first || tick > table.last) {
+      return true;
+    }
+    int[] values = table.values;
+    int i = (tick - table.first) * VALUES_PER_TICK;
+    shape.setX(values[i]);
+    shape.setY(values[i + 1]);
+    shape.setDimensions(values[i + 2], values[i + 3]);
+    int rgb = values[i + 4];
+    if ((shape.getColor().getRGB() & 0xFFFFFF) != rgb) {
+      shape.setColor(new Color(rgb));
+    }
+    return true;
+  }
+
+  /**
+   * Gets the number of bytes the baked tables take up.
+   *
+   * @return the bytes used
+   */
+  public long getBytesUsed() {
+    return bytesUsed;
+  }
+
+  /**
+   * Gets the most bytes the baked tables may take up.
+   *
+   * @return the budget
+   */
+  public long getBudget() {
+    return budget;
+  }
+}
@@ -0,0 +1,249 @@
+package cs3500.animator.model.classes;
+
+import java.util.Locale;
+
+/**
+ * A curve that sets how a value moves from one keyframe to the next: how far along the way it is
+ * at each point of the time in between. Curves other than linear and step are cubic Bezier curves
+ * from (0, 0) to (1, 1), as in CSS and SVG, and are worked out once, when the curve is made, into a
+ * table of fixed-point values. Easing a value then only looks up and blends two neighbouring
+ * entries of the table, with integer arithmetic alone.
+ *
+ * <p>
+ * A curve is written in the text format, and read back, as one of the words {@code linear},
+ * {@code ease-in}, {@code ease-out}, {@code ease-in-out} and {@code step}, or as
+ * {@code cubic-bezier(x1,y1,x2,y2)} with the two control points of the curve.
+ * </p>
+ */
+public final class Easing {
+
+  // fixed-point 1, the whole way from one keyframe to the next
+  private static final int ONE = 1 << 16;
+  // the table holds the curve at this many evenly spaced points in time, plus the end
+  private static final int STEPS_BITS = 8;
+  private static final int STEPS = 1 << STEPS_BITS;
+  private static final int FRACTION_BITS = 16 - STEPS_BITS;
+
+  /**
+   * Moves at the same speed all the way.
+   */
+  public static final Easing LINEAR = new Easing("linear", 0, 0, 1, 1, null);
+
+  /**
+   * Holds the value of the first keyframe until the time of the second.
+   */
+  public static final Easing STEP = new Easing("step", 0, 0, 0, 0, null);
+
+  /**
+   * Starts slowly and speeds up.
+   */
+  public static final Easing EASE_IN = bezier("ease-in", 0.42, 0, 1, 1);
+
+  /**
+   * Starts quickly and slows down.
+   */
+  public static final Easing EASE_OUT = bezier("ease-out", 0, 0, 0.58, 1);
+
+  /**
+   * Starts slowly, speeds up, and slows down again.
+   */
+  public static final Easing EASE_IN_OUT = bezier("ease-in-out", 0.42, 0, 0.58, 1);
+
+  private final String name;
+  private final double x1;
+  private final double y1;
+  private final double x2;
+  private final double y2;
+  // how far along the value is at each step, in fixed point, or null for linear and step
+  private final int[] table;
+
+  private Easing(String name, double x1, double y1, double x2, double y2, int[] table) {
+    this.name = name;
+    this.x1 = x1;
+    this.y1 = y1;
+    this.x2 = x2;
+    this.y2 = y2;
+    this.table = table;
+  }
+
+  /**
+   * Makes a cubic Bezier curve from (0, 0) to (1, 1) with the given control points.
+   *
+   * @param x1 the time of the first control point, from 0 to 1
+   * @param y1 the progress at the first control point
+   * @param x2 the time of the second control point, from 0 to 1
+   * @param y2 the progress at the second control point
+   * @return the curve
+   * @throws IllegalArgumentException if a time is outside 0 to 1, or a value is not a number
+   */
+  public static Easing cubicBezier(double x1, double y1, double x2, double y2)
+      throws IllegalArgumentException {
+    return bezier(String.format(Locale.ROOT, "cubic-bezier(%s,%s,%s,%s)",
+        number(x1), number(y1), number(x2), number(y2)), x1, y1, x2, y2);
+  }
+
+  /**
+   * Reads a curve from its name in the text format.
+   *
+   * @param token the name of the curve
+   * @return the curve
+   * @throws IllegalArgumentException if the token names no curve
+   */
+  public static Easing parse(String token) throws IllegalArgumentException {
+    if (token == null) {
+      throw new IllegalArgumentException("Easing cannot be null.");
+    }
+    switch (token) {
+      case "linear":
+        return LINEAR;
+      case "step":
+        return STEP;
+      case "ease-in":
+        return EASE_IN;
+      case "ease-out":
+        return EASE_OUT;
+      case "ease-in-out":
+        return EASE_IN_OUT;
+      default:
+        break;
+    }
+    if (token.startsWith("cubic-bezier(") && token.endsWith(")")) {
+      String[] points = token.substring(13, token.length() - 1).split(",");
+      if (points.length == 4) {
+        try {
+          return cubicBezier(Double.parseDouble(points[0]), Double.parseDouble(points[1]),
+              Double.parseDouble(points[2]), Double.parseDouble(points[3]));
+        } catch (NumberFormatException e) {
+          // reported below
+        }
+      }
+    }
+    throw new IllegalArgumentException("Unknown easing: " + token);
+  }
+
+  private static Easing bezier(String name, double x1, double y1, double x2, double y2) {
+    if (!(x1 >= 0 && x1 <= 1 && x2 >= 0 && x2 <= 1) || Double.isNaN(y1) || Double.isNaN(y2)
+        || Double.isInfinite(y1) || Double.isInfinite(y2)) {
+      throw new IllegalArgumentException("Control point times must be between 0 and 1.");
+    }
+    int[] table = new int[STEPS + 1];
+    for (int i = 0; i <= STEPS; i++) {
+      double s = solve((double) i / STEPS, x1, x2);
+      table[i] = (int) Math.round(cubic(s, y1, y2) * ONE);
+    }
+    return new Easing(name, x1, y1, x2, y2, table);
+  }
+
+  /**
+   * Finds the point on the curve at the given time by halving. The times of a curve whose control
+   * points lie between 0 and 1 never go back, so there is only one such point.
+   */
+  private static double solve(double time, double x1, double x2) {
+    double low = 0;
+    double high = 1;
+    for (int i = 0; i < 40; i++) {
+      double middle = (low + high) / 2;
+      if (cubic(middle, x1, x2) < time) {
+        low = middle;
+      } else {
+        high = middle;
+      }
+    }
+    return (low + high) / 2;
+  }
+
+  private static double cubic(double s, double p1, double p2) {
+    double rest = 1 - s;
+    return 3 * rest * rest * s * p1 + 3 * rest * s * s * p2 + s * s * s;
+  }
+
+  private static String number(double value) {
+    return value == Math.rint(value) && !Double.isInfinite(value)
+        ? Long.toString((long) value) : Double.toString(value);
+  }
+
+  /**
+   * Works out the value some way from one keyframe to the next, rounding to the nearest integer.
+   *
+   * @param start   the value at the first keyframe
+   * @param end     the value at the second keyframe
+   * @param elapsed the time since the first keyframe
+   * @param span    the time between the keyframes
+   * @return the value at that time
+   */
+  public int tween(int start, int end, int elapsed, int span) {
+    if (elapsed >= span) {
+      return end;
+    }
+    if (elapsed <= 0 || start == end) {
+      return start;
+    }
+    if (table == null) {
+      if (this == STEP) {
+        return start;
+      }
+      // halves are rounded up, as Math.round does
+      return start + (int) Math.floorDiv(2 * ((long) end - start) * elapsed + span, 2L * span);
+    }
+    int progress = (int) (((long) elapsed << 16) / span);
+    int index = progress >> FRACTION_BITS;
+    int fraction = progress & ((1 << FRACTION_BITS) - 1);
+    long eased = table[index]
+        + (((long) (table[index + 1] - table[index]) * fraction) >> FRACTION_BITS);
+    return start + (int) ((((long) end - start) * eased + (ONE >> 1)) >> 16);
+  }
+
+  /**
+   * Checks whether this curve moves at the same speed all the way.
+   *
+   * @return true for the linear curve
+   */
+  public boolean isLinear() {
+    return this == LINEAR;
+  }
+
+  /**
+   * Checks whether this curve holds the first value until the end.
+   *
+   * @return true for the step curve
+   */
+  public boolean isStep() {
+    return this == STEP;
+  }
+
+  /**
+   * Gets the control points of this curve, as SVG's {@code keySplines} lists them: x1, y1, x2
+   * and y2.
+   *
+   * @return the control points
+   */
+  public double[] getControlPoints() {
+    return new double[]{x1, y1, x2, y2};
+  }
+
+  /**
+   * Gets the name of this curve in the text format.
+   *
+   * @return the name
+   */
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof Easing)) {
+      return false;
+    }
+    return name.equals(((Easing) other).name);
+  }
+
+  @Override
+  public int hashCode() {
+    return name.hashCode();
+  }
+}
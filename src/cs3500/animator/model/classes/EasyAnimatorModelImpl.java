@@ -2,14 +2,18 @@ package cs3500.animator.model.classes;
 
 import cs3500.animator.AnimatorUtils;
 import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.model.interfaces.ModelListener;
 import cs3500.animator.model.interfaces.Shape;
 import cs3500.animator.util.AnimationBuilder;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This is the implementation of {@link EasyAnimatorModel}. It provides a concrete
@@ -17,13 +21,40 @@ import java.util.Map;
  * hold their specific animations. It also contains a field representing the tempo at which
  * the animations would be played. The model holds several methods that allow the client to add and
  * remove shapes or animations.
+ *
+ * <p>
+ * The model can be edited on one thread while other threads read it. Every change made through
+ * the model happens under one lock, and shapes in the model report their own changes to it, so it
+ * always knows whether its latest snapshot is still current. Asking for a snapshot when nothing
+ * has changed hands that one out at once, without the lock. Each new {@link ModelSnapshot} is a
+ * version with its own number, and it never changes afterwards. A reader that works from a
+ * snapshot, such as an export running in the background, sees one consistent version however
+ * long it takes and never holds the lock while it reads. A reader can also pin a version,
+ * so that it can be found again by its number, and should release it when done. Versions that are
+ * neither pinned nor the latest are held by nothing in the model and are reclaimed once their
+ * readers let go of them.
+ * </p>
  */
 public class EasyAnimatorModelImpl implements EasyAnimatorModel {
 
-  private final List<Shape> shapes;
+  private final ShapeRegistry shapes;
   private Bounds boundBox = new Bounds();
-  private final Map<String, Shape> shapesMap;
+  private final TimelineIndex timeline;
   private int tempo;
+  // snapshots handed out so far, reused for as long as what they record stays the same
+  private final Map<Shape, ShapeSnapshot> shapeSnapshots;
+  // shapes changed since the latest snapshot, and shapes that cannot report their changes
+  private final Set<Shape> changed;
+  private final List<Shape> untracked;
+  private volatile boolean allTracked = true;
+  // the latest snapshot and the change count, read without the lock, written only holding it
+  private volatile ModelSnapshot snapshot;
+  private volatile long modCount;
+  private long version;
+  private final Map<Long, PinnedVersion> pinned;
+  // guards every change to the model and the taking of snapshots
+  private final Object lock;
+  private final ModelEventQueue events;
 
   /**
    * Default constructor to create an instance of EasyAnimatorModelImpl with
@@ -31,8 +62,14 @@ public class EasyAnimatorModelImpl implements EasyAnimatorModel {
    */
   public EasyAnimatorModelImpl() {
     this.tempo = 1;
-    this.shapes = new ArrayList<>();
-    this.shapesMap = new HashMap<>();
+    this.shapes = new ShapeRegistry();
+    this.timeline = new TimelineIndex();
+    this.shapeSnapshots = new IdentityHashMap<>();
+    this.changed = Collections.newSetFromMap(new IdentityHashMap<Shape, Boolean>());
+    this.untracked = new ArrayList<>();
+    this.pinned = new HashMap<>();
+    this.lock = new Object();
+    this.events = new ModelEventQueue();
   }
 
   /**
@@ -46,15 +83,17 @@ public class EasyAnimatorModelImpl implements EasyAnimatorModel {
   public EasyAnimatorModelImpl(List<Shape> shapes)
       throws IllegalArgumentException {
     this.tempo = 1;
-    this.shapes = new ArrayList<>();
+    this.shapes = new ShapeRegistry();
+    this.timeline = new TimelineIndex();
+    this.shapeSnapshots = new IdentityHashMap<>();
+    this.changed = Collections.newSetFromMap(new IdentityHashMap<Shape, Boolean>());
+    this.untracked = new ArrayList<>();
+    this.pinned = new HashMap<>();
+    this.lock = new Object();
+    this.events = new ModelEventQueue();
     for (Shape shape : shapes) {
       addShape(shape);
     }
-    // Create a hash map to easily access shapes
-    this.shapesMap = new HashMap<>();
-    for (Shape s : this.shapes) {
-      shapesMap.put(s.getName(), s);
-    }
   }
 
   /**
@@ -66,6 +105,8 @@ public class EasyAnimatorModelImpl implements EasyAnimatorModel {
     // default bounds box
     private Bounds bounds = new Bounds();
     private Map<String, Shape> shapesMap;
+    // keyframes read for each shape, merged into its track once everything has been read
+    private Map<String, KeyframeBatch> staged;
 
     /**
      * Default constructor for the builder of this EasyAnimatorModelImpl.
@@ -74,6 +115,7 @@ public class EasyAnimatorModelImpl implements EasyAnimatorModel {
       shapes = new ArrayList<>();
       // Create a hash map to easily access shapes
       shapesMap = new HashMap<>();
+      staged = new HashMap<>();
     }
 
     @Override
@@ -81,6 +123,12 @@ public class EasyAnimatorModelImpl implements EasyAnimatorModel {
       EasyAnimatorModel output = new EasyAnimatorModelImpl();
       output.setBounds(bounds);
       for (Shape shape : shapes) {
+        KeyframeTrack track = shape.getKeyframeTrack();
+        track.putAll(staged.get(shape.getName()));
+        if (!track.isEmpty()) {
+          shape.setStartTime(track.getTime(0));
+          shape.setEndTime(track.getTime(track.size() - 1));
+        }
         output.addShape(shape);
       }
       return output;
@@ -99,12 +147,14 @@ public class EasyAnimatorModelImpl implements EasyAnimatorModel {
                 0, 0, Color.black);
         shapes.add(e);
         shapesMap.put(e.getName(), e);
+        staged.put(e.getName(), new KeyframeBatch());
       }
       if (type.equalsIgnoreCase("rectangle")) {
         Shape r = new Rectangle(name, 50, 50, 1, 1,
                 0, 0, Color.black);
         shapes.add(r);
         shapesMap.put(r.getName(), r);
+        staged.put(r.getName(), new KeyframeBatch());
       }
       return this;
     }
@@ -113,61 +163,115 @@ public class EasyAnimatorModelImpl implements EasyAnimatorModel {
     public AnimationBuilder<EasyAnimatorModel> addMotion(String name, int t1, int x1, int y1,
         int w1, int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2,
         int g2, int b2) {
-      Shape shape = shapesMap.get(name);
-      // check if motion is move
-      if (x1 != x2 || y1 != y2) {
-        AnimationMove move =
-                new AnimationMove(shape, t1, t2, x2, y2);
-      }
-
-      // check if motion is resize
+      KeyframeBatch batch = stagedFor(name);
+      AnimatorUtils.guardAgainstInvalidStartTime(t1);
+      AnimatorUtils.guardAgainstInvalidEndTime(t1, t2);
+      // a motion that resizes the shape must leave it with an area
       if (w1 != w2 || h1 != h2) {
-        AnimationResize resize =
-                new AnimationResize(shape, t1,t2, w2, h2);
+        AnimatorUtils.guardAgainstNonPositiveDimension(w2);
+        AnimatorUtils.guardAgainstNonPositiveDimension(h2);
       }
 
-      // check if motion is color change
-      if (r1 != r2 || g1 != g2 || b1 != b2) {
-        AnimationColorChange colorChange =
-                new AnimationColorChange(shape, t1, t2, new Color(r2, g2, b2));
-      }
+      // record both ends of the motion, to be merged into the shape's keyframe track
+      batch.add(t1, x1, y1, w1, h1, r1, g1, b1);
+      batch.add(t2, x2, y2, w2, h2, r2, g2, b2);
       return this;
     }
 
     @Override
     public AnimationBuilder<EasyAnimatorModel> addKeyframe(String name, int t, int x, int y,
         int w, int h, int r, int g, int b) {
-      Keyframe current;
-      Shape shape = shapesMap.get(name);
-      if (shape.getKeyframes().isEmpty()) {
-        current = new Keyframe(shape, t, t, x ,y ,w, h, r, g, b);
-        shape.addKeyframe(current);
-        shape.setStartTime(shape.getKeyframes().get(0).getStartTime());
-        shape.setEndTime(shape.getKeyframes().get(shape.getKeyframes().size() - 1).getEndTime());
-      }
-      else {
-        current = new Keyframe(shape, t, t, x, y, w, h, r, g, b);
-        int index = shape.getKeyframes().indexOf(current);
-        current.setStartTime(shape.getKeyframes().get(index - 1).getEndTime());
-      }
+      stagedFor(name).add(t, x, y, w, h, r, g, b);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<EasyAnimatorModel> setEasing(String name, int t, String easing) {
+      stagedFor(name).setEasing(t, Easing.parse(easing));
       return this;
     }
+
+    private KeyframeBatch stagedFor(String name) {
+      KeyframeBatch batch = staged.get(name);
+      if (batch == null) {
+        throw new IllegalArgumentException("No shape named " + name + " has been declared.");
+      }
+      return batch;
+    }
   }
 
   @Override
   public void addShape(Shape shape) throws IllegalArgumentException {
     AnimatorUtils.guardAgainstNullShape(shape);
-    guardAgainstConflictingShape(shape);
-    shapes.add(shape);
+    List<ModelEvent> ready;
+    synchronized (lock) {
+      guardAgainstConflictingShape(shape);
+      shapes.add(shape);
+      timeline.add(shape);
+      if (shape instanceof AShape) {
+        ((AShape) shape).attach(this);
+      } else {
+        untracked.add(shape);
+        allTracked = false;
+      }
+      modCount++;
+      ready = events.record(new ModelEvent(ModelEventType.SHAPE_ADDED, shape.getName(),
+          shape.getStartTime(), shape.getEndTime()));
+    }
+    events.deliver(ready);
   }
 
   @Override
   public void removeShape(Shape shape) throws IllegalArgumentException {
     AnimatorUtils.guardAgainstNullShape(shape);
-    if (!shapes.contains(shape)) {
-      throw new IllegalArgumentException("Trying to remove shape that does not exist.");
+    List<ModelEvent> ready;
+    synchronized (lock) {
+      Shape removed = shapes.remove(shape);
+      if (removed == null) {
+        throw new IllegalArgumentException("Trying to remove shape that does not exist.");
+      }
+      timeline.remove(removed);
+      shapeSnapshots.remove(removed);
+      changed.remove(removed);
+      untracked.remove(removed);
+      allTracked = untracked.isEmpty();
+      if (removed instanceof AShape && ((AShape) removed).model == this) {
+        ((AShape) removed).attach(null);
+      }
+      modCount++;
+      ready = events.record(new ModelEvent(ModelEventType.SHAPE_REMOVED, removed.getName(),
+          removed.getStartTime(), removed.getEndTime()));
+    }
+    events.deliver(ready);
+  }
+
+  @Override
+  public void addListener(ModelListener listener) throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+    events.addListener(listener);
+  }
+
+  @Override
+  public void removeListener(ModelListener listener) {
+    events.removeListener(listener);
+  }
+
+  @Override
+  public void beginBatch() {
+    synchronized (lock) {
+      events.begin();
+    }
+  }
+
+  @Override
+  public void endBatch() throws IllegalStateException {
+    List<ModelEvent> ready;
+    synchronized (lock) {
+      ready = events.end();
     }
-    shapes.remove(shape);
+    events.deliver(ready);
   }
 
   /**
@@ -187,98 +291,354 @@ public class EasyAnimatorModelImpl implements EasyAnimatorModel {
 
   @Override
   public List<Shape> getShapes() {
-    List<Shape> shapesCopy = new ArrayList<Shape>();
-    for (Shape s : this.shapes) {
-      shapesCopy.add(s.copy());
+    synchronized (lock) {
+      List<Shape> shapesCopy = new ArrayList<Shape>(shapes.size());
+      for (Shape s : this.shapes.values()) {
+        shapesCopy.add(s.copy());
+      }
+      return shapesCopy;
+    }
+  }
+
+  @Override
+  public Shape getShape(String name) throws IllegalArgumentException {
+    synchronized (lock) {
+      Shape shape = shapes.get(name);
+      if (shape == null) {
+        throw new IllegalArgumentException("Shape is not in the model");
+      }
+      return shape.copy();
     }
-    return shapesCopy;
   }
 
   @Override
   public Bounds getBounds() {
-    return new Bounds(this.boundBox);
+    synchronized (lock) {
+      return new Bounds(this.boundBox);
+    }
+  }
+
+  @Override
+  public List<Shape> getShapesAt(int tick) {
+    synchronized (lock) {
+      List<Shape> active = new ArrayList<Shape>();
+      for (Shape s : timeline.activeAt(tick)) {
+        active.add(s.copy());
+      }
+      return active;
+    }
+  }
+
+  /**
+   * Gets the latest version of the model. While nothing has changed since it was taken, it is
+   * handed out as it is, without taking the lock or looking at any shape. Otherwise a new version
+   * is taken under the lock, in which only the shapes changed since the last one are recorded
+   * afresh.
+   *
+   * @return the latest snapshot
+   */
+  @Override
+  public ModelSnapshot snapshot() {
+    ModelSnapshot latest = snapshot;
+    if (latest != null && latest.getModCount() == modCount && allTracked) {
+      return latest;
+    }
+    synchronized (lock) {
+      for (Shape s : untracked) {
+        ShapeSnapshot shapeSnapshot = shapeSnapshots.get(s);
+        if (shapeSnapshot == null || !shapeSnapshot.isCurrent(s)) {
+          changed.add(s);
+        }
+      }
+      if (snapshot != null && snapshot.getModCount() == modCount && changed.isEmpty()) {
+        return snapshot;
+      }
+      List<ShapeSnapshot> shapeList = new ArrayList<>(shapes.size());
+      for (Shape s : shapes.values()) {
+        ShapeSnapshot shapeSnapshot = shapeSnapshots.get(s);
+        if (shapeSnapshot == null || changed.contains(s)) {
+          shapeSnapshot = new ShapeSnapshot(s);
+          shapeSnapshots.put(s, shapeSnapshot);
+        }
+        shapeList.add(shapeSnapshot);
+      }
+      changed.clear();
+      version++;
+      snapshot = new ModelSnapshot(version, tempo, boundBox, shapeList, modCount);
+      return snapshot;
+    }
+  }
+
+  /**
+   * Marks a shape in this model as changed, so the next snapshot records it afresh. Shapes call
+   * this themselves whenever they or their keyframe tracks change, however the change is made.
+   *
+   * @param shape the shape that changed
+   */
+  void shapeChanged(Shape shape) {
+    synchronized (lock) {
+      changed.add(shape);
+      modCount++;
+    }
+  }
+
+  @Override
+  public ModelSnapshot pin() {
+    synchronized (lock) {
+      ModelSnapshot current = snapshot();
+      PinnedVersion pin = pinned.get(current.getVersion());
+      if (pin == null) {
+        pin = new PinnedVersion(current);
+        pinned.put(current.getVersion(), pin);
+      }
+      pin.count++;
+      return current;
+    }
+  }
+
+  @Override
+  public ModelSnapshot getPinned(long version) throws IllegalArgumentException {
+    synchronized (lock) {
+      PinnedVersion pin = pinned.get(version);
+      if (pin == null) {
+        throw new IllegalArgumentException("Version " + version + " is not pinned.");
+      }
+      return pin.snapshot;
+    }
+  }
+
+  @Override
+  public void release(ModelSnapshot snapshot) throws IllegalArgumentException {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot cannot be null.");
+    }
+    synchronized (lock) {
+      PinnedVersion pin = pinned.get(snapshot.getVersion());
+      if (pin == null || pin.snapshot != snapshot) {
+        throw new IllegalArgumentException("Snapshot is not pinned.");
+      }
+      pin.count--;
+      if (pin.count == 0) {
+        pinned.remove(snapshot.getVersion());
+      }
+    }
+  }
+
+  /**
+   * A version that readers have pinned, and how many times it is pinned.
+   */
+  private static final class PinnedVersion {
+    private final ModelSnapshot snapshot;
+    private int count;
+
+    PinnedVersion(ModelSnapshot snapshot) {
+      this.snapshot = snapshot;
+    }
+  }
+
+  @Override
+  public ShapeState stateAt(Shape shape, int tick) throws IllegalArgumentException {
+    AnimatorUtils.guardAgainstNullShape(shape);
+    return shape.getKeyframeTrack().stateAt(tick);
   }
 
   @Override
   public void setTempo(int tempo) {
-    this.tempo = tempo;
+    List<ModelEvent> ready;
+    synchronized (lock) {
+      this.tempo = tempo;
+      modCount++;
+      ready = events.record(
+          new ModelEvent(ModelEventType.TEMPO_CHANGED, null, 0, Integer.MAX_VALUE));
+    }
+    events.deliver(ready);
   }
 
   @Override
   public int getTempo() {
-    return this.tempo;
+    synchronized (lock) {
+      return this.tempo;
+    }
   }
 
   /**
-   * Deletes a keyframe from the list of keyframes.
+   * Deletes a keyframe from the list of keyframes. The keyframe after it then starts where the
+   * deleted keyframe started.
    *
    * @param keyframe  keyframe to be removed
    * @throws IllegalArgumentException if Keyframe is null or does not exist
    */
   public void deleteKeyframe(Keyframe keyframe) throws IllegalArgumentException {
     AnimatorUtils.guardAgainstNullKeyframe(keyframe);
-    for (Shape s : this.shapes) {
-      // case 0: keyframe is the only keyframe
-      if (s.getKeyframes().size() == 1) {
-        s.removeKeyframe(keyframe);
-      }
+    List<ModelEvent> ready;
+    synchronized (lock) {
+      Shape shape = getShapeOf(keyframe);
+      KeyframeTrack track = shape.getKeyframeTrack();
+      int index = track.indexOf(keyframe.getEndTime());
+      int start = index > 0 ? track.getTime(index - 1) : keyframe.getEndTime();
+      int end = index >= 0 && index + 1 < track.size() ? track.getTime(index + 1)
+          : keyframe.getEndTime();
+      shape.removeKeyframe(keyframe);
+      updateLifetime(shape);
+      ready = events.record(
+          new ModelEvent(ModelEventType.KEYFRAME_DELETED, shape.getName(), start, end));
+    }
+    events.deliver(ready);
+  }
 
-      // case 1: keyframe is the first keyframe
-      else if (s.getKeyframes().size() > 1 && s.getKeyframes().indexOf(keyframe) == 0) {
-        int current = s.getKeyframes().indexOf(keyframe);
-        Keyframe next = s.getKeyframes().get(current + 1);
-        next.setStartTime(keyframe.getStartTime());
-        s.removeKeyframe(keyframe);
-      }
+  /**
+   * Inserts a keyframe to the list of keyframes. The keyframe after it then starts at the inserted
+   * keyframe's time.
+   *
+   * @param keyframe  keyframe to be added
+   * @throws IllegalArgumentException if Keyframe is null or its shape is not in the model
+   */
+  public void insertKeyframe(Keyframe keyframe) throws IllegalArgumentException {
+    AnimatorUtils.guardAgainstNullKeyframe(keyframe);
+    List<ModelEvent> ready;
+    synchronized (lock) {
+      Shape shape = getShapeOf(keyframe);
+      KeyframeTrack track = shape.getKeyframeTrack();
+      boolean replacing = track.indexOf(keyframe.getEndTime()) >= 0;
+      shape.addKeyframe(keyframe);
+      int index = track.indexOf(keyframe.getEndTime());
+      int start = index > 0 ? track.getTime(index - 1) : keyframe.getEndTime();
+      int end = index + 1 < track.size() ? track.getTime(index + 1) : keyframe.getEndTime();
+      updateLifetime(shape);
+      ready = events.record(new ModelEvent(replacing ? ModelEventType.KEYFRAME_UPDATED
+          : ModelEventType.KEYFRAME_INSERTED, shape.getName(), start, end));
+    }
+    events.deliver(ready);
+  }
 
-      // case 2: keyframe is the last keyframe
-      else if (s.getKeyframes().size() > 1
-              && s.getKeyframes().indexOf(keyframe) == s.getKeyframes().size() - 1) {
-        s.removeKeyframe(keyframe);
+  /**
+   * Changes the keyframe of a shape in this model at one time to the given values and time, the
+   * way a {@link Keyframe} edits itself. The keyframe keeps its curve when it moves. Listeners are
+   * told of one update, covering the ticks around both the old time and the new one. Nothing
+   * happens if the shape has no keyframe at the old time.
+   *
+   * @param shape the shape, as added to this model
+   * @param from  the time of the keyframe
+   * @param to    the new time of the keyframe
+   * @throws IllegalArgumentException if another keyframe is already at the new time, or a value
+   *                                  is invalid
+   */
+  void updateKeyframe(Shape shape, int from, int to, int x, int y, int w, int h, int r, int g,
+      int b) throws IllegalArgumentException {
+    List<ModelEvent> ready;
+    synchronized (lock) {
+      KeyframeTrack track = shape.getKeyframeTrack();
+      int index = track.indexOf(from);
+      if (index < 0) {
+        return;
       }
+      int start = index > 0 ? track.getTime(index - 1) : from;
+      int end = index + 1 < track.size() ? track.getTime(index + 1) : from;
+      index = track.move(index, to);
+      track.set(index, x, y, w, h, r, g, b);
+      start = Math.min(start, index > 0 ? track.getTime(index - 1) : to);
+      end = Math.max(end, index + 1 < track.size() ? track.getTime(index + 1) : to);
+      updateLifetime(shape);
+      ready = events.record(
+          new ModelEvent(ModelEventType.KEYFRAME_UPDATED, shape.getName(), start, end));
+    }
+    events.deliver(ready);
+  }
 
-      // case 3: keyframe is in the middle of other keyframes
-      else {
-        int current = s.getKeyframes().indexOf(keyframe);
-        Keyframe previous = s.getKeyframes().get(current - 1);
-        previous.setEndTime(keyframe.getEndTime());
-        s.removeKeyframe(keyframe);
+  /**
+   * Inserts many keyframes at once, for any number of shapes. Each shape's keyframes are sorted
+   * once and merged with its track in one pass, and listeners are told of one insertion per shape,
+   * covering every tick the new keyframes affect.
+   *
+   * @param keyframes the keyframes to be added
+   * @throws IllegalArgumentException if the list or a keyframe is null, or a keyframe's shape is
+   *                                  not in the model
+   */
+  public void insertKeyframes(List<Keyframe> keyframes) throws IllegalArgumentException {
+    if (keyframes == null) {
+      throw new IllegalArgumentException("Keyframes cannot be null.");
+    }
+    List<ModelEvent> ready;
+    synchronized (lock) {
+      Map<Shape, List<Keyframe>> byShape = new LinkedHashMap<>();
+      for (Keyframe keyframe : keyframes) {
+        AnimatorUtils.guardAgainstNullKeyframe(keyframe);
+        Shape shape = getShapeOf(keyframe);
+        List<Keyframe> forShape = byShape.get(shape);
+        if (forShape == null) {
+          forShape = new ArrayList<>();
+          byShape.put(shape, forShape);
+        }
+        forShape.add(keyframe);
       }
+      events.begin();
+      for (Map.Entry<Shape, List<Keyframe>> entry : byShape.entrySet()) {
+        Shape shape = entry.getKey();
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (Keyframe keyframe : entry.getValue()) {
+          first = Math.min(first, keyframe.getEndTime());
+          last = Math.max(last, keyframe.getEndTime());
+        }
+        shape.addKeyframes(entry.getValue());
+        KeyframeTrack track = shape.getKeyframeTrack();
+        int firstIndex = track.indexOf(first);
+        int lastIndex = track.indexOf(last);
+        int start = firstIndex > 0 ? track.getTime(firstIndex - 1) : first;
+        int end = lastIndex + 1 < track.size() ? track.getTime(lastIndex + 1) : last;
+        updateLifetime(shape);
+        events.record(
+            new ModelEvent(ModelEventType.KEYFRAME_INSERTED, shape.getName(), start, end));
+      }
+      ready = events.end();
     }
+    events.deliver(ready);
   }
 
   /**
-   * Inserts a keyframe to the list of keyframes.
+   * Stretches or shrinks a shape's lifetime to its keyframes, and moves it in the timeline to
+   * match.
+   */
+  private void updateLifetime(Shape shape) {
+    KeyframeTrack track = shape.getKeyframeTrack();
+    if (track.isEmpty()) {
+      return;
+    }
+    int start = track.getTime(0);
+    int end = track.getTime(track.size() - 1);
+    if (start != shape.getStartTime() || end != shape.getEndTime()) {
+      shape.setStartTime(start);
+      shape.setEndTime(end);
+      timeline.update(shape);
+    }
+  }
+
+  /**
+   * Finds the shape in this model that the given keyframe acts on. The keyframe may have been
+   * taken from a copy of the shape, handed out by {@link #getShapes()}.
    *
-   * @param keyframe  keyframe to be added
-   * @throws IllegalArgumentException if Keyframe is null
+   * @param keyframe the keyframe
+   * @return the model's shape
+   * @throws IllegalArgumentException if the keyframe's shape is not in the model
    */
-  public void insertKeyframe(Keyframe keyframe) throws IllegalArgumentException {
-    AnimatorUtils.guardAgainstNullKeyframe(keyframe);
-    Shape s = keyframe.getShape();
-    s.addKeyframe(keyframe);
-    List<Keyframe> keyframes = s.getKeyframes();
-    Collections.sort(keyframes, new KeyframeComparator());
-
-    if (keyframes.size() > 2) {
-      int current = keyframes.indexOf(keyframe);
-      Keyframe previous = keyframes.get(current - 1);
-      Keyframe next = keyframes.get(current + 1);
-      previous.setEndTime(keyframe.getEndTime());
-      next.setStartTime(keyframe.getStartTime());
-    }
-
-    if (keyframes.size() == 2) {
-      if (keyframes.indexOf(keyframes) == 1) {
-        keyframes.get(0).setEndTime(keyframe.getStartTime());
-        keyframes.get(1).setStartTime(keyframe.getEndTime());
-      }
+  private Shape getShapeOf(Keyframe keyframe) throws IllegalArgumentException {
+    Shape shape = shapes.get(keyframe.getShape());
+    if (shape == null) {
+      throw new IllegalArgumentException("Keyframe's shape does not exist.");
     }
+    return shape;
   }
-  
+
   @Override
   public void setBounds(Bounds bounds) {
-    this.boundBox = bounds;
+    List<ModelEvent> ready;
+    synchronized (lock) {
+      this.boundBox = bounds;
+      modCount++;
+      ready = events.record(
+          new ModelEvent(ModelEventType.BOUNDS_CHANGED, null, 0, Integer.MAX_VALUE));
+    }
+    events.deliver(ready);
   }
 
 }
@@ -2,6 +2,7 @@ package cs3500.animator.model.classes;
 
 import cs3500.animator.model.interfaces.EasyAnimatorModel;
 import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
+import cs3500.animator.model.interfaces.ModelListener;
 import cs3500.animator.model.interfaces.Shape;
 import java.util.List;
 
@@ -27,9 +28,54 @@ public class EasyAnimatorModelReadOnlyImpl implements EasyAnimatorModelReadOnly
     return mutableModel.getShapes();
   }
 
+  @Override
+  public Shape getShape(String name) throws IllegalArgumentException {
+    return mutableModel.getShape(name);
+  }
+
+  @Override
+  public List<Shape> getShapesAt(int tick) {
+    return mutableModel.getShapesAt(tick);
+  }
+
+  @Override
+  public ModelSnapshot snapshot() {
+    return mutableModel.snapshot();
+  }
+
+  @Override
+  public ModelSnapshot pin() {
+    return mutableModel.pin();
+  }
+
+  @Override
+  public ModelSnapshot getPinned(long version) throws IllegalArgumentException {
+    return mutableModel.getPinned(version);
+  }
+
+  @Override
+  public void release(ModelSnapshot snapshot) throws IllegalArgumentException {
+    mutableModel.release(snapshot);
+  }
+
+  @Override
+  public void addListener(ModelListener listener) throws IllegalArgumentException {
+    mutableModel.addListener(listener);
+  }
+
+  @Override
+  public void removeListener(ModelListener listener) {
+    mutableModel.removeListener(listener);
+  }
+
   @Override
   public Bounds getBounds() {
     return mutableModel.getBounds();
   }
 
+  @Override
+  public ShapeState stateAt(Shape shape, int tick) throws IllegalArgumentException {
+    return mutableModel.stateAt(shape, tick);
+  }
+
 }
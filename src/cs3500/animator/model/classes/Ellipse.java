@@ -48,7 +48,7 @@ public class Ellipse extends AShape {
     this(shapeToCopy.getName(), shapeToCopy.getFirstDimension(), shapeToCopy.getSecondDimension(),
             shapeToCopy.getX(), shapeToCopy.getY(), shapeToCopy.getStartTime(),
             shapeToCopy.getEndTime(), shapeToCopy.getColor());
-    this.keyframes = shapeToCopy.getKeyframes();
+    this.track = shapeToCopy.getKeyframeTrack().copy();
   }
 
   @Override
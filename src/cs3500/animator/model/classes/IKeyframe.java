@@ -134,9 +134,11 @@ public interface IKeyframe {
   void setStartTime(int time);
 
   /**
-   * Sets the end time of the keyframe.
+   * Sets the end time of the keyframe. The shape's keyframe at the old end time moves to the new
+   * one, keeping its easing curve.
    *
    * @param time  the time
+   * @throws IllegalArgumentException if the shape already has another keyframe at that time
    */
   void setEndTime(int time);
 }
@@ -1,8 +1,6 @@
 package cs3500.animator.model.classes;
 
 import cs3500.animator.AnimatorUtils;
-import java.awt.Color;
-import cs3500.animator.model.interfaces.Animation;
 import cs3500.animator.model.interfaces.Shape;
 
 
@@ -11,19 +9,18 @@ import cs3500.animator.model.interfaces.Shape;
  * end time.
  *
  * <p>
- * INVARIANT: A Keyframe is defined as an array of three distinct {@link Animation} implementations.
- * These are never exposed and are managed internally, and as such should be safe from undesired
- * manipulation. The Animations are held as an Array of size 3, where each slot in the array is a
- * distinct type of Animation. We feel this is appropriate for our design and though brittle and
- * not easily extensible, works for our purposes as of now. If KeyFrames do change and more
- * manipulations and end state manipulation of Shapes, we would have to change how Shapes are
- * defined, add Animation types, and then keyframes, and as such, the internally held
- * details of keyframes would justifiably have to change to incorporate those newly needed elements.
- * Lastly, we realize that we are creating many Animation elements in every operation on Keyframe
- * and that may cause performance issues and memory space issues, but since the only references
- * to any created Animation in the Keyframe class is within the Keyframe class, we manipulate
- * which Animation elements are referenced, and Java's garbage collection should take care of
- * the unreferenced Animation objects.
+ * A shape stores its keyframes in a {@link KeyframeTrack} rather than holding on to Keyframe
+ * objects. Adding a keyframe to a shape copies its values onto the track, and the keyframes a shape
+ * hands out are created from the track. A keyframe and the track entry at its end time stay in
+ * step: changing the keyframe's values or end time changes that entry as well.
+ * </p>
+ *
+ * <p>
+ * A keyframe is only a set of values. Editing one changes those values, and the shape's track, in
+ * place: nothing is allocated and nothing is added to the shape, however often it is edited. The
+ * checks animations used to make on a keyframe's times, size and color are made directly. When
+ * the shape is in a model, the track is edited through the model, under its lock, and the model's
+ * listeners are told of the change.
  * </p>
  */
 public class Keyframe implements IKeyframe {
@@ -37,10 +34,9 @@ public class Keyframe implements IKeyframe {
   private int r;
   private int g;
   private int b;
-  private Animation[] animations;
 
   /**
-   * Constructs a keyframe.
+   * Constructs a keyframe and adds it to the shape it acts on.
    *
    * @param name  the name of the shape the keyframe acts on
    * @param timeStart     the time of the keyframe
@@ -53,11 +49,28 @@ public class Keyframe implements IKeyframe {
    * @param r     the red color-value of the shape
    * @param g     the green color-value of the shape
    * @param b     the blue color-value of the shape
-   * @throws      IllegalArgumentException if the shape is null
+   * @throws      IllegalArgumentException if the shape is null, a time is negative, the end time
+   *              is before the start time, a dimension is not positive or a color-value is
+   *              outside 0 to 255
    */
   public Keyframe(Shape name, int timeStart, int timeEnd, int x, int y, int w, int h, int r,
       int g, int b) {
+    this(name, timeStart, timeEnd, x, y, w, h, r, g, b, true);
+    name.addKeyframe(this);
+  }
+
+  /**
+   * Constructs a keyframe without adding it to its shape, checking its values if asked to.
+   */
+  private Keyframe(Shape name, int timeStart, int timeEnd, int x, int y, int w, int h, int r,
+      int g, int b, boolean check) {
     AnimatorUtils.guardAgainstNullShape(name);
+    if (check) {
+      guardAgainstInvalidTimes(timeStart, timeEnd);
+      AnimatorUtils.guardAgainstNonPositiveDimension(w);
+      AnimatorUtils.guardAgainstNonPositiveDimension(h);
+      KeyframeTrack.pack(r, g, b);
+    }
     this.name = name;
     this.timeStart = timeStart;
     this.timeEnd = timeEnd;
@@ -68,55 +81,76 @@ public class Keyframe implements IKeyframe {
     this.r = r;
     this.g = g;
     this.b = b;
-    this.animations = new Animation[3];
-    animations[0] = new AnimationColorChange(name, timeStart, timeEnd, new Color(r,g,b));
-    animations[1] = new AnimationMove(name, timeStart, timeEnd, x, y);
-    animations[2] = new AnimationResize(name, timeStart, timeEnd, w, h);
-    name.addKeyframe(this);
+  }
+
+  /**
+   * Creates a keyframe that only records the state of a shape at its end time. Unlike the public
+   * constructor, it is not added to the shape, and its values are taken as they are, since they
+   * come from the shape's own track.
+   *
+   * @param shape     the shape the keyframe acts on
+   * @param timeStart the start time of the keyframe
+   * @param timeEnd   the time the keyframe fully describes the shape
+   * @param x         the x-position of the shape
+   * @param y         the y-position of the shape
+   * @param w         the first dimension of the shape
+   * @param h         the second dimension of the shape
+   * @param r         the red color-value of the shape
+   * @param g         the green color-value of the shape
+   * @param b         the blue color-value of the shape
+   * @return the new keyframe
+   * @throws IllegalArgumentException if the shape is null
+   */
+  static Keyframe recordState(Shape shape, int timeStart, int timeEnd, int x, int y, int w,
+      int h, int r, int g, int b) {
+    return new Keyframe(shape, timeStart, timeEnd, x, y, w, h, r, g, b, false);
   }
 
   @Override
   public void setX(int x) {
+    store(timeEnd, x, y, w, h, r, g, b);
     this.x = x;
-    animations[1] = new AnimationMove(name, timeStart, timeEnd, x, this.y);
   }
 
   @Override
   public void setY(int y) {
+    store(timeEnd, x, y, w, h, r, g, b);
     this.y = y;
-    animations[1] = new AnimationMove(name, timeStart, timeEnd, x, y);
   }
 
   @Override
   public void setWidth(int width) {
+    AnimatorUtils.guardAgainstNonPositiveDimension(width);
+    store(timeEnd, x, y, width, h, r, g, b);
     this.w = width;
-    animations[2] = new AnimationResize(name, timeStart, timeEnd, width, h);
   }
 
   @Override
   public void setHeight(int height) {
+    AnimatorUtils.guardAgainstNonPositiveDimension(height);
+    store(timeEnd, x, y, w, height, r, g, b);
     this.h = height;
-    animations[2] = new AnimationResize(name, timeStart, timeEnd, w, height);
-
   }
 
   @Override
   public void setRed(int value) {
+    KeyframeTrack.pack(value, g, b);
+    store(timeEnd, x, y, w, h, value, g, b);
     this.r = value;
-    animations[3] = new AnimationColorChange(name, timeStart, timeEnd, new Color(value, g, b));
   }
 
   @Override
   public void setGreen(int value) {
+    KeyframeTrack.pack(r, value, b);
+    store(timeEnd, x, y, w, h, r, value, b);
     this.g = value;
-    animations[3] = new AnimationColorChange(name, timeStart, timeEnd, new Color(r, value, b));
-
   }
 
   @Override
   public void setBlue(int value) {
+    KeyframeTrack.pack(r, g, value);
+    store(timeEnd, x, y, w, h, r, g, value);
     this.b = value;
-    animations[3] = new AnimationColorChange(name, timeStart, timeEnd, new Color(r, g, value));
   }
 
   @Override
@@ -171,23 +205,39 @@ public class Keyframe implements IKeyframe {
 
   @Override
   public void setStartTime(int time) {
+    guardAgainstInvalidTimes(time, timeEnd);
     this.timeStart = time;
-    animations[0] = new AnimationColorChange(this.getShape(), this.getStartTime(),
-            this.getEndTime(), new Color(this.getRed(), this.getBlue(), this.getGreen()));
-    animations[1] = new AnimationMove(this.getShape(), this.getStartTime(),
-            this.getEndTime(), this.getX(), this.getY());
-    animations[2] = new AnimationResize(this.getShape(), this.getStartTime(),
-            this.getEndTime(), this.getWidth(), this.getHeight());
   }
 
   @Override
   public void setEndTime(int time) {
+    guardAgainstInvalidTimes(timeStart, time);
+    store(time, x, y, w, h, r, g, b);
     this.timeEnd = time;
-    animations[0] = new AnimationColorChange(this.getShape(), this.getStartTime(),
-            this.getEndTime(), new Color(this.getRed(), this.getBlue(), this.getGreen()));
-    animations[1] = new AnimationMove(this.getShape(), this.getStartTime(),
-            this.getEndTime(), this.getX(), this.getY());
-    animations[2] = new AnimationResize(this.getShape(), this.getStartTime(),
-            this.getEndTime(), this.getWidth(), this.getHeight());
+  }
+
+  private static void guardAgainstInvalidTimes(int timeStart, int timeEnd) {
+    AnimatorUtils.guardAgainstInvalidStartTime(timeStart);
+    AnimatorUtils.guardAgainstInvalidEndTime(timeStart, timeEnd);
+  }
+
+  /**
+   * Writes the given values and time into the track of this keyframe's shape, if the track has a
+   * keyframe at this keyframe's end time. Keyframes are identified on a track by their time, so
+   * editing any keyframe of a shape edits the shape's keyframe at that time. This keyframe's own
+   * fields are left for the caller to change once the track has taken the values.
+   */
+  private void store(int time, int x, int y, int w, int h, int r, int g, int b) {
+    EasyAnimatorModelImpl model = name instanceof AShape ? ((AShape) name).model : null;
+    if (model != null) {
+      model.updateKeyframe(name, timeEnd, time, x, y, w, h, r, g, b);
+      return;
+    }
+    KeyframeTrack track = name.getKeyframeTrack();
+    int index = track.indexOf(timeEnd);
+    if (index >= 0) {
+      index = track.move(index, time);
+      track.set(index, x, y, w, h, r, g, b);
+    }
   }
 }
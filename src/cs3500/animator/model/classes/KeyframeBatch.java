@@ -0,0 +1,171 @@
+package cs3500.animator.model.classes;
+
+import java.util.Arrays;
+
+/**
+ * Keyframes gathered in any order, to be added to a {@link KeyframeTrack} all at once. The batch is
+ * sorted once, however many keyframes it holds, and then merged into the track in a single pass,
+ * rather than each keyframe being put in its place on its own. Where the batch holds more than one
+ * keyframe at a time, the one added last is kept, just as if they had been put one by one. Its
+ * curve is the last one set for that time, so that a motion that begins where another ends does
+ * not undo the curve of the one before.
+ */
+final class KeyframeBatch {
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  // parallel columns, as in a track, read directly by the track when merging
+  int[] t;
+  int[] x;
+  int[] y;
+  int[] w;
+  int[] h;
+  int[] rgb;
+  // the curve into each keyframe, null meaning the track's own, or null while none is set
+  Easing[] ease;
+  int size;
+
+  /**
+   * Constructs an empty batch.
+   */
+  KeyframeBatch() {
+    this(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Constructs an empty batch with room for the given number of keyframes.
+   *
+   * @param capacity the number of keyframes to make room for
+   */
+  KeyframeBatch(int capacity) {
+    capacity = Math.max(capacity, 1);
+    this.t = new int[capacity];
+    this.x = new int[capacity];
+    this.y = new int[capacity];
+    this.w = new int[capacity];
+    this.h = new int[capacity];
+    this.rgb = new int[capacity];
+  }
+
+  /**
+   * Adds a keyframe to the batch.
+   *
+   * @param time the time the keyframe fully describes the shape
+   * @param x    the x-position of the shape
+   * @param y    the y-position of the shape
+   * @param w    the width of the shape
+   * @param h    the height of the shape
+   * @param r    the red color-value of the shape
+   * @param g    the green color-value of the shape
+   * @param b    the blue color-value of the shape
+   * @throws IllegalArgumentException if a color-value is outside 0 to 255
+   */
+  void add(int time, int x, int y, int w, int h, int r, int g, int b) {
+    int color = KeyframeTrack.pack(r, g, b);
+    if (size == t.length) {
+      int length = t.length + (t.length >> 1) + 1;
+      this.t = Arrays.copyOf(this.t, length);
+      this.x = Arrays.copyOf(this.x, length);
+      this.y = Arrays.copyOf(this.y, length);
+      this.w = Arrays.copyOf(this.w, length);
+      this.h = Arrays.copyOf(this.h, length);
+      this.rgb = Arrays.copyOf(this.rgb, length);
+      if (ease != null) {
+        this.ease = Arrays.copyOf(this.ease, length);
+      }
+    }
+    this.t[size] = time;
+    this.x[size] = x;
+    this.y[size] = y;
+    this.w[size] = w;
+    this.h[size] = h;
+    this.rgb[size] = color;
+    size++;
+  }
+
+  /**
+   * Sets the curve into the keyframe added last at the given time.
+   *
+   * @param time   the time of the keyframe
+   * @param easing the curve into it
+   * @throws IllegalArgumentException if the batch has no keyframe at the time, or the curve is
+   *                                  null
+   */
+  void setEasing(int time, Easing easing) {
+    if (easing == null) {
+      throw new IllegalArgumentException("Easing cannot be null.");
+    }
+    // usually the keyframe just added, so look from the end
+    for (int i = size - 1; i >= 0; i--) {
+      if (t[i] == time) {
+        if (ease == null) {
+          ease = new Easing[t.length];
+        }
+        ease[i] = easing;
+        return;
+      }
+    }
+    throw new IllegalArgumentException("No keyframe at time " + time + ".");
+  }
+
+  /**
+   * Gets the number of keyframes in the batch.
+   *
+   * @return the number of keyframes
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Sorts the batch by time, keeping only the keyframe added last at each time. Batches that are
+   * already in order, as an animation read from a file usually is, are only checked.
+   */
+  void sort() {
+    boolean sorted = true;
+    for (int i = 1; i < size && sorted; i++) {
+      sorted = t[i - 1] < t[i];
+    }
+    if (sorted) {
+      return;
+    }
+
+    // the time in the high half and the position in the low half, so equal times keep their order
+    long[] keys = new long[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = ((long) t[i] << 32) | i;
+    }
+    Arrays.sort(keys);
+    int[] st = new int[size];
+    int[] sx = new int[size];
+    int[] sy = new int[size];
+    int[] sw = new int[size];
+    int[] sh = new int[size];
+    int[] srgb = new int[size];
+    Easing[] sease = ease == null ? null : new Easing[size];
+    int count = 0;
+    for (long key : keys) {
+      int i = (int) key;
+      if (count == 0 || st[count - 1] != t[i]) {
+        count++;
+      }
+      st[count - 1] = t[i];
+      sx[count - 1] = x[i];
+      sy[count - 1] = y[i];
+      sw[count - 1] = w[i];
+      sh[count - 1] = h[i];
+      srgb[count - 1] = rgb[i];
+      if (ease != null && ease[i] != null) {
+        sease[count - 1] = ease[i];
+      }
+    }
+    this.t = st;
+    this.x = sx;
+    this.y = sy;
+    this.w = sw;
+    this.h = sh;
+    this.rgb = srgb;
+    this.ease = sease;
+    this.size = count;
+  }
+}
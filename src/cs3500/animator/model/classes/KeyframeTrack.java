@@ -0,0 +1,686 @@
+package cs3500.animator.model.classes;
+
+import java.util.Arrays;
+
+/**
+ * The keyframes of a single shape, stored column by column. The times and values of every keyframe
+ * sit in parallel arrays of primitives, sorted by time, with the color packed into one int per
+ * keyframe. A track has at most one keyframe per time, and the start time of a keyframe is the
+ * time of the keyframe before it (or its own time, for the first keyframe).
+ *
+ * <p>
+ * Each keyframe also carries the {@link Easing} curve its values follow on the way to it from the
+ * keyframe before. Curves are linear unless set otherwise, and a track that only has linear curves
+ * keeps no column for them.
+ * </p>
+ *
+ * <p>
+ * Copying a track is cheap: the copy shares its arrays with the original until either of them is
+ * changed, at which point the one being changed takes its own copy of the arrays. A frozen copy
+ * can never be changed, so it can be handed to readers, on any thread, while the original goes on
+ * being edited.
+ * </p>
+ */
+public final class KeyframeTrack {
+
+  private static final int INITIAL_CAPACITY = 4;
+  private static final int[] EMPTY = new int[0];
+
+  private int[] t;
+  private int[] x;
+  private int[] y;
+  private int[] w;
+  private int[] h;
+  private int[] rgb;
+  // the curve into each keyframe, null meaning linear, or null while every curve is linear
+  private Easing[] ease;
+  private int size;
+  // true while the arrays may be shared with a copy of this track
+  private boolean shared;
+  private boolean frozen;
+  // counts changes, so a copy can tell whether it is still the same as the original
+  private int modCount;
+  // the shape this track belongs to while the shape is in a model, told of every change, or null
+  AShape owner;
+
+  /**
+   * Constructs an empty track.
+   */
+  public KeyframeTrack() {
+    this.t = EMPTY;
+    this.x = EMPTY;
+    this.y = EMPTY;
+    this.w = EMPTY;
+    this.h = EMPTY;
+    this.rgb = EMPTY;
+    this.size = 0;
+  }
+
+  /**
+   * Copy constructor. The copy shares the given track's arrays until one of them changes.
+   *
+   * @param other the track to copy
+   */
+  private KeyframeTrack(KeyframeTrack other) {
+    this.t = other.t;
+    this.x = other.x;
+    this.y = other.y;
+    this.w = other.w;
+    this.h = other.h;
+    this.rgb = other.rgb;
+    this.ease = other.ease;
+    this.size = other.size;
+    this.shared = true;
+    other.shared = true;
+  }
+
+  /**
+   * Creates a copy of this track, holding the same keyframes.
+   *
+   * @return the copy
+   */
+  public KeyframeTrack copy() {
+    return new KeyframeTrack(this);
+  }
+
+  /**
+   * Creates a copy of this track that can never be changed. Copying a frozen track gives a track
+   * that can be changed again.
+   *
+   * @return the frozen copy
+   */
+  public KeyframeTrack frozenCopy() {
+    KeyframeTrack copy = new KeyframeTrack(this);
+    copy.frozen = true;
+    return copy;
+  }
+
+  /**
+   * Checks whether this track can never be changed.
+   *
+   * @return true if the track is frozen
+   */
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  /**
+   * Gets the number of changes made to this track so far.
+   *
+   * @return the number of changes
+   */
+  int getModCount() {
+    return modCount;
+  }
+
+  /**
+   * Gets the number of keyframes on the track.
+   *
+   * @return the number of keyframes
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether the track has no keyframes.
+   *
+   * @return true if the track is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Gets the time of the keyframe at the given index.
+   *
+   * @param index the index of the keyframe
+   * @return the time the keyframe fully describes the shape
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getTime(int index) {
+    checkIndex(index);
+    return t[index];
+  }
+
+  /**
+   * Gets the start time of the keyframe at the given index, which is the time of the keyframe
+   * before it, or its own time if it is the first keyframe.
+   *
+   * @param index the index of the keyframe
+   * @return the start time of the keyframe
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getStartTime(int index) {
+    checkIndex(index);
+    return index == 0 ? t[0] : t[index - 1];
+  }
+
+  /**
+   * Gets the x-position of the keyframe at the given index.
+   *
+   * @param index the index of the keyframe
+   * @return the x-position
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getX(int index) {
+    checkIndex(index);
+    return x[index];
+  }
+
+  /**
+   * Gets the y-position of the keyframe at the given index.
+   *
+   * @param index the index of the keyframe
+   * @return the y-position
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getY(int index) {
+    checkIndex(index);
+    return y[index];
+  }
+
+  /**
+   * Gets the width of the keyframe at the given index.
+   *
+   * @param index the index of the keyframe
+   * @return the width
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getWidth(int index) {
+    checkIndex(index);
+    return w[index];
+  }
+
+  /**
+   * Gets the height of the keyframe at the given index.
+   *
+   * @param index the index of the keyframe
+   * @return the height
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getHeight(int index) {
+    checkIndex(index);
+    return h[index];
+  }
+
+  /**
+   * Gets the color of the keyframe at the given index, packed as {@code 0xRRGGBB}.
+   *
+   * @param index the index of the keyframe
+   * @return the packed color
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getRGB(int index) {
+    checkIndex(index);
+    return rgb[index];
+  }
+
+  /**
+   * Gets the red color-value of the keyframe at the given index.
+   *
+   * @param index the index of the keyframe
+   * @return the red value
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getRed(int index) {
+    return (getRGB(index) >> 16) & 0xFF;
+  }
+
+  /**
+   * Gets the green color-value of the keyframe at the given index.
+   *
+   * @param index the index of the keyframe
+   * @return the green value
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getGreen(int index) {
+    return (getRGB(index) >> 8) & 0xFF;
+  }
+
+  /**
+   * Gets the blue color-value of the keyframe at the given index.
+   *
+   * @param index the index of the keyframe
+   * @return the blue value
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public int getBlue(int index) {
+    return getRGB(index) & 0xFF;
+  }
+
+  /**
+   * Finds the keyframe at the given time.
+   *
+   * @param time the time to look for
+   * @return the index of the keyframe at that time if there is one, otherwise
+   *         {@code (-(insertion point) - 1)}, as with {@link Arrays#binarySearch(int[], int)}
+   */
+  public int indexOf(int time) {
+    return Arrays.binarySearch(t, 0, size, time);
+  }
+
+  /**
+   * Works out the state of the shape at the given tick without changing anything. The keyframes
+   * either side of the tick are found by binary search and every value is eased between them
+   * along the curve into the later one, rounding to the nearest integer.
+   *
+   * @param tick the tick to find the state at
+   * @return the state at that tick, or null if the tick is before the first keyframe or after the
+   *         last one
+   */
+  public ShapeState stateAt(int tick) {
+    if (size == 0 || tick < t[0] || tick > t[size - 1]) {
+      return null;
+    }
+    int index = indexOf(tick);
+    if (index >= 0) {
+      return new ShapeState(x[index], y[index], w[index], h[index], rgb[index]);
+    }
+    int next = -index - 1;
+    int prev = next - 1;
+    Easing curve = getEasing(next);
+    int elapsed = tick - t[prev];
+    int span = t[next] - t[prev];
+    return new ShapeState(curve.tween(x[prev], x[next], elapsed, span),
+        curve.tween(y[prev], y[next], elapsed, span),
+        curve.tween(w[prev], w[next], elapsed, span),
+        curve.tween(h[prev], h[next], elapsed, span),
+        tweenColor(curve, rgb[prev], rgb[next], elapsed, span));
+  }
+
+  /**
+   * Finds how long the state at the given tick holds: the last tick from this one on through which
+   * the shape stays in that same state. Segments between keyframes with the same values hold, and
+   * so does a step segment until the tick before its end. Any other segment is taken to change the
+   * state at once.
+   *
+   * @param tick the tick to start from
+   * @return the last tick the state holds through, at least the tick itself, or {@code tick - 1}
+   *         if the tick is before the first keyframe or after the last one
+   */
+  public int holdsUntil(int tick) {
+    if (size == 0 || tick < t[0] || tick > t[size - 1]) {
+      return tick - 1;
+    }
+    int index = indexOf(tick);
+    int until = tick;
+    for (int next = index >= 0 ? index + 1 : -index - 1; next < size; next++) {
+      int prev = next - 1;
+      if (x[prev] == x[next] && y[prev] == y[next] && w[prev] == w[next] && h[prev] == h[next]
+          && rgb[prev] == rgb[next]) {
+        until = t[next];
+      } else {
+        if (getEasing(next).isStep()) {
+          until = Math.max(until, t[next] - 1);
+        }
+        break;
+      }
+    }
+    return until;
+  }
+
+  /**
+   * Writes the state at every tick from the first keyframe to the last into the given array, five
+   * values per tick: x, y, width, height and packed color. The values are those {@link #stateAt}
+   * gives, worked out segment by segment rather than by a search per tick.
+   *
+   * @param out the array to write to, with room for five values per tick
+   */
+  void sample(int[] out) {
+    if (size == 0) {
+      return;
+    }
+    int k = 0;
+    for (int i = 0; i < size - 1; i++) {
+      Easing curve = getEasing(i + 1);
+      int span = t[i + 1] - t[i];
+      for (int elapsed = 0; elapsed < span; elapsed++) {
+        out[k++] = curve.tween(x[i], x[i + 1], elapsed, span);
+        out[k++] = curve.tween(y[i], y[i + 1], elapsed, span);
+        out[k++] = curve.tween(w[i], w[i + 1], elapsed, span);
+        out[k++] = curve.tween(h[i], h[i + 1], elapsed, span);
+        out[k++] = tweenColor(curve, rgb[i], rgb[i + 1], elapsed, span);
+      }
+    }
+    int last = size - 1;
+    out[k++] = x[last];
+    out[k++] = y[last];
+    out[k++] = w[last];
+    out[k++] = h[last];
+    out[k] = rgb[last];
+  }
+
+  private static int tweenColor(Easing curve, int from, int to, int elapsed, int span) {
+    if (from == to) {
+      return from;
+    }
+    return (curve.tween((from >> 16) & 0xFF, (to >> 16) & 0xFF, elapsed, span) << 16)
+        | (curve.tween((from >> 8) & 0xFF, (to >> 8) & 0xFF, elapsed, span) << 8)
+        | curve.tween(from & 0xFF, to & 0xFF, elapsed, span);
+  }
+
+  /**
+   * Gets the curve the values follow on the way to the keyframe at the given index from the one
+   * before it.
+   *
+   * @param index the index of the keyframe
+   * @return the curve, linear unless set otherwise
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   */
+  public Easing getEasing(int index) {
+    checkIndex(index);
+    return ease == null || ease[index] == null ? Easing.LINEAR : ease[index];
+  }
+
+  /**
+   * Sets the curve the values follow on the way to the keyframe at the given index from the one
+   * before it. The curve into the first keyframe is kept, but has no effect until a keyframe is
+   * put before it.
+   *
+   * @param index  the index of the keyframe
+   * @param easing the curve
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   * @throws IllegalArgumentException  if the curve is null
+   * @throws IllegalStateException     if the track is frozen
+   */
+  public void setEasing(int index, Easing easing) {
+    checkNotFrozen();
+    checkIndex(index);
+    if (easing == null) {
+      throw new IllegalArgumentException("Easing cannot be null.");
+    }
+    if (ease == null && easing.isLinear()) {
+      return;
+    }
+    ensureWritable(size);
+    if (ease == null) {
+      ease = new Easing[t.length];
+    }
+    ease[index] = easing.isLinear() ? null : easing;
+  }
+
+  /**
+   * Adds a keyframe at the given time, or replaces the values of the keyframe already there. A new
+   * keyframe is reached linearly, and a replaced one keeps its curve. Adding after the last
+   * keyframe, the usual case when reading an animation, is constant time.
+   *
+   * @param time the time the keyframe fully describes the shape
+   * @param x    the x-position of the shape
+   * @param y    the y-position of the shape
+   * @param w    the width of the shape
+   * @param h    the height of the shape
+   * @param r    the red color-value of the shape
+   * @param g    the green color-value of the shape
+   * @param b    the blue color-value of the shape
+   * @return the index of the keyframe
+   * @throws IllegalArgumentException if a color-value is outside 0 to 255
+   * @throws IllegalStateException    if the track is frozen
+   */
+  public int put(int time, int x, int y, int w, int h, int r, int g, int b) {
+    checkNotFrozen();
+    int color = pack(r, g, b);
+    int index = size == 0 || time > t[size - 1] ? -size - 1 : indexOf(time);
+    if (index < 0) {
+      index = -index - 1;
+      ensureWritable(size + 1);
+      int moved = size - index;
+      if (moved > 0) {
+        System.arraycopy(t, index, t, index + 1, moved);
+        System.arraycopy(this.x, index, this.x, index + 1, moved);
+        System.arraycopy(this.y, index, this.y, index + 1, moved);
+        System.arraycopy(this.w, index, this.w, index + 1, moved);
+        System.arraycopy(this.h, index, this.h, index + 1, moved);
+        System.arraycopy(rgb, index, rgb, index + 1, moved);
+        if (ease != null) {
+          System.arraycopy(ease, index, ease, index + 1, moved);
+        }
+      }
+      if (ease != null) {
+        ease[index] = null;
+      }
+      size++;
+    } else {
+      ensureWritable(size);
+    }
+    t[index] = time;
+    this.x[index] = x;
+    this.y[index] = y;
+    this.w[index] = w;
+    this.h[index] = h;
+    rgb[index] = color;
+    return index;
+  }
+
+  /**
+   * Adds every keyframe of a batch, replacing the values of keyframes already at the same times.
+   * The batch is sorted once and then merged with the track in one pass, so adding n keyframes to
+   * a track of m takes time in proportion to n log n + m, rather than n times m.
+   *
+   * @param batch the keyframes to add
+   * @throws IllegalStateException if the track is frozen
+   */
+  void putAll(KeyframeBatch batch) {
+    checkNotFrozen();
+    batch.sort();
+    int added = batch.size();
+    if (added == 0) {
+      return;
+    }
+    if (size == 0 || batch.t[0] > t[size - 1]) {
+      ensureWritable(size + added);
+      System.arraycopy(batch.t, 0, t, size, added);
+      System.arraycopy(batch.x, 0, x, size, added);
+      System.arraycopy(batch.y, 0, y, size, added);
+      System.arraycopy(batch.w, 0, w, size, added);
+      System.arraycopy(batch.h, 0, h, size, added);
+      System.arraycopy(batch.rgb, 0, rgb, size, added);
+      if (batch.ease != null) {
+        if (ease == null) {
+          ease = new Easing[t.length];
+        }
+        System.arraycopy(batch.ease, 0, ease, size, added);
+      } else if (ease != null) {
+        Arrays.fill(ease, size, size + added, null);
+      }
+      size += added;
+      return;
+    }
+
+    int length = Math.max(INITIAL_CAPACITY, size + added);
+    int[] mt = new int[length];
+    int[] mx = new int[length];
+    int[] my = new int[length];
+    int[] mw = new int[length];
+    int[] mh = new int[length];
+    int[] mrgb = new int[length];
+    Easing[] mease = ease == null && batch.ease == null ? null : new Easing[length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < size || j < added) {
+      if (j == added || (i < size && t[i] < batch.t[j])) {
+        mt[k] = t[i];
+        mx[k] = x[i];
+        my[k] = y[i];
+        mw[k] = w[i];
+        mh[k] = h[i];
+        mrgb[k] = rgb[i];
+        if (ease != null) {
+          mease[k] = ease[i];
+        }
+        i++;
+      } else {
+        if (i < size && t[i] == batch.t[j]) {
+          // replaced by the batch's keyframe, keeping its curve unless the batch sets one
+          if (ease != null) {
+            mease[k] = ease[i];
+          }
+          i++;
+        }
+        if (batch.ease != null && batch.ease[j] != null) {
+          mease[k] = batch.ease[j];
+        }
+        mt[k] = batch.t[j];
+        mx[k] = batch.x[j];
+        my[k] = batch.y[j];
+        mw[k] = batch.w[j];
+        mh[k] = batch.h[j];
+        mrgb[k] = batch.rgb[j];
+        j++;
+      }
+      k++;
+    }
+    this.t = mt;
+    this.x = mx;
+    this.y = my;
+    this.w = mw;
+    this.h = mh;
+    this.rgb = mrgb;
+    this.ease = mease;
+    this.size = k;
+    this.shared = false;
+    changed();
+  }
+
+  /**
+   * Replaces the values of the keyframe at the given index, keeping its time.
+   *
+   * @param index the index of the keyframe
+   * @param x     the x-position of the shape
+   * @param y     the y-position of the shape
+   * @param w     the width of the shape
+   * @param h     the height of the shape
+   * @param r     the red color-value of the shape
+   * @param g     the green color-value of the shape
+   * @param b     the blue color-value of the shape
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   * @throws IllegalArgumentException  if a color-value is outside 0 to 255
+   * @throws IllegalStateException     if the track is frozen
+   */
+  public void set(int index, int x, int y, int w, int h, int r, int g, int b) {
+    checkNotFrozen();
+    checkIndex(index);
+    int color = pack(r, g, b);
+    ensureWritable(size);
+    this.x[index] = x;
+    this.y[index] = y;
+    this.w[index] = w;
+    this.h[index] = h;
+    rgb[index] = color;
+  }
+
+  /**
+   * Moves the keyframe at the given index to another time, keeping its values and its curve.
+   *
+   * @param index the index of the keyframe
+   * @param time  the new time of the keyframe
+   * @return the new index of the keyframe
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   * @throws IllegalArgumentException  if another keyframe is already at the new time
+   * @throws IllegalStateException     if the track is frozen
+   */
+  public int move(int index, int time) {
+    checkNotFrozen();
+    checkIndex(index);
+    if (t[index] == time) {
+      return index;
+    }
+    if (indexOf(time) >= 0) {
+      throw new IllegalArgumentException("A keyframe already exists at time " + time + ".");
+    }
+    int x = this.x[index];
+    int y = this.y[index];
+    int w = this.w[index];
+    int h = this.h[index];
+    int color = rgb[index];
+    Easing curve = getEasing(index);
+    remove(index);
+    int moved = put(time, x, y, w, h, (color >> 16) & 0xFF, (color >> 8) & 0xFF, color & 0xFF);
+    setEasing(moved, curve);
+    return moved;
+  }
+
+  /**
+   * Removes the keyframe at the given index.
+   *
+   * @param index the index of the keyframe
+   * @throws IndexOutOfBoundsException if there is no keyframe at the index
+   * @throws IllegalStateException     if the track is frozen
+   */
+  public void remove(int index) {
+    checkNotFrozen();
+    checkIndex(index);
+    ensureWritable(size);
+    int moved = size - index - 1;
+    if (moved > 0) {
+      System.arraycopy(t, index + 1, t, index, moved);
+      System.arraycopy(x, index + 1, x, index, moved);
+      System.arraycopy(y, index + 1, y, index, moved);
+      System.arraycopy(w, index + 1, w, index, moved);
+      System.arraycopy(h, index + 1, h, index, moved);
+      System.arraycopy(rgb, index + 1, rgb, index, moved);
+      if (ease != null) {
+        System.arraycopy(ease, index + 1, ease, index, moved);
+      }
+    }
+    size--;
+    if (ease != null) {
+      ease[size] = null;
+    }
+  }
+
+  /**
+   * Counts a change, and tells the shape that owns this track, if there is one.
+   */
+  private void changed() {
+    modCount++;
+    if (owner != null) {
+      owner.changed();
+    }
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new IllegalStateException("A frozen keyframe track cannot be changed.");
+    }
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("No keyframe at index " + index);
+    }
+  }
+
+  /**
+   * Makes sure the arrays belong to this track alone and can hold the given number of keyframes,
+   * counting the change about to be made to them.
+   */
+  private void ensureWritable(int capacity) {
+    changed();
+    if (!shared && capacity <= t.length) {
+      return;
+    }
+    int length = t.length;
+    if (capacity > length) {
+      length = Math.max(Math.max(INITIAL_CAPACITY, capacity), length + (length >> 1));
+    }
+    t = Arrays.copyOf(t, length);
+    x = Arrays.copyOf(x, length);
+    y = Arrays.copyOf(y, length);
+    w = Arrays.copyOf(w, length);
+    h = Arrays.copyOf(h, length);
+    rgb = Arrays.copyOf(rgb, length);
+    if (ease != null) {
+      ease = Arrays.copyOf(ease, length);
+    }
+    shared = false;
+  }
+
+  static int pack(int r, int g, int b) {
+    if ((r | g | b) < 0 || r > 255 || g > 255 || b > 255) {
+      throw new IllegalArgumentException("Color values must be between 0 and 255.");
+    }
+    return (r << 16) | (g << 8) | b;
+  }
+}
@@ -0,0 +1,92 @@
+package cs3500.animator.model.classes;
+
+import java.util.Objects;
+
+/**
+ * Describes one change to a model: what kind of change it was, the name of the shape it was made
+ * to, if any, and the ticks whose frames it may have changed. For a shape that was added or
+ * removed these are the shape's lifetime. For a keyframe they run from the keyframe before it to
+ * the keyframe after it, the span over which the shape is interpolated differently. A change to the
+ * bounds or tempo affects every tick.
+ */
+public final class ModelEvent {
+
+  private final ModelEventType type;
+  private final String shapeName;
+  private final int startTick;
+  private final int endTick;
+
+  /**
+   * Constructs an event.
+   *
+   * @param type      the kind of change
+   * @param shapeName the name of the shape changed, or null if the change was not to a shape
+   * @param startTick the first tick affected
+   * @param endTick   the last tick affected
+   * @throws IllegalArgumentException if the type is null or the ticks are out of order
+   */
+  public ModelEvent(ModelEventType type, String shapeName, int startTick, int endTick)
+      throws IllegalArgumentException {
+    if (type == null) {
+      throw new IllegalArgumentException("Event type cannot be null.");
+    }
+    if (endTick < startTick) {
+      throw new IllegalArgumentException("End tick cannot be before start tick.");
+    }
+    this.type = type;
+    this.shapeName = shapeName;
+    this.startTick = startTick;
+    this.endTick = endTick;
+  }
+
+  public ModelEventType getType() {
+    return type;
+  }
+
+  public String getShapeName() {
+    return shapeName;
+  }
+
+  public int getStartTick() {
+    return startTick;
+  }
+
+  public int getEndTick() {
+    return endTick;
+  }
+
+  /**
+   * Combines this event with a later one of the same kind to the same shape, covering the ticks
+   * of both.
+   *
+   * @param later the later event
+   * @return the combined event
+   */
+  ModelEvent mergeWith(ModelEvent later) {
+    return new ModelEvent(type, shapeName, Math.min(startTick, later.startTick),
+        Math.max(endTick, later.endTick));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ModelEvent)) {
+      return false;
+    }
+    ModelEvent other = (ModelEvent) o;
+    return type == other.type && Objects.equals(shapeName, other.shapeName)
+        && startTick == other.startTick && endTick == other.endTick;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, shapeName, startTick, endTick);
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + shapeName + " " + startTick + "-" + endTick;
+  }
+}
@@ -0,0 +1,123 @@
+package cs3500.animator.model.classes;
+
+import cs3500.animator.model.interfaces.ModelListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects a model's change events and hands them to its listeners. Outside a batch every event is
+ * handed over on its own. Inside a batch events are held until the outermost batch ends, and
+ * events of the same kind to the same shape are combined into one covering all of their ticks, so
+ * that a burst of edits reaches listeners as a few events rather than many.
+ *
+ * <p>
+ * The model records events while holding its lock, and delivers the batches that are ready once it
+ * has let go of it, so listeners can read the model.
+ * </p>
+ */
+final class ModelEventQueue {
+
+  private final List<ModelListener> listeners;
+  private final List<ModelEvent> pending;
+  // where in pending the open event of each kind is, by shape, to combine later ones into
+  private final Map<String, Map<ModelEventType, Integer>> open;
+  private int depth;
+
+  /**
+   * Constructs a queue with no listeners.
+   */
+  ModelEventQueue() {
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.pending = new ArrayList<>();
+    this.open = new HashMap<>();
+  }
+
+  void addListener(ModelListener listener) {
+    listeners.add(listener);
+  }
+
+  void removeListener(ModelListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Starts a batch, or a batch within the current one.
+   */
+  void begin() {
+    depth++;
+  }
+
+  /**
+   * Ends the innermost batch.
+   *
+   * @return the events to deliver, if the outermost batch ended, otherwise an empty list
+   * @throws IllegalStateException if no batch was started
+   */
+  List<ModelEvent> end() throws IllegalStateException {
+    if (depth == 0) {
+      throw new IllegalStateException("No batch has been started.");
+    }
+    depth--;
+    return depth == 0 ? drain() : Collections.<ModelEvent>emptyList();
+  }
+
+  /**
+   * Records an event.
+   *
+   * @param event the event
+   * @return the events to deliver now, which is none inside a batch
+   */
+  List<ModelEvent> record(ModelEvent event) {
+    if (listeners.isEmpty()) {
+      return Collections.emptyList();
+    }
+    String name = event.getShapeName();
+    if (event.getType() == ModelEventType.SHAPE_ADDED
+        || event.getType() == ModelEventType.SHAPE_REMOVED) {
+      // later edits to the shape are not combined with ones made before it came or went
+      open.remove(name);
+    }
+    Map<ModelEventType, Integer> openForShape = open.get(name);
+    if (openForShape == null) {
+      openForShape = new EnumMap<>(ModelEventType.class);
+      open.put(name, openForShape);
+    }
+    Integer index = openForShape.get(event.getType());
+    if (index != null) {
+      pending.set(index, pending.get(index).mergeWith(event));
+    } else {
+      openForShape.put(event.getType(), pending.size());
+      pending.add(event);
+    }
+    return depth == 0 ? drain() : Collections.<ModelEvent>emptyList();
+  }
+
+  /**
+   * Hands the given events to every listener.
+   *
+   * @param events the events, which may be empty
+   */
+  void deliver(List<ModelEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    for (ModelListener listener : listeners) {
+      listener.modelChanged(events);
+    }
+  }
+
+  private List<ModelEvent> drain() {
+    if (pending.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<ModelEvent> ready = Collections.unmodifiableList(new ArrayList<>(pending));
+    pending.clear();
+    open.clear();
+    return ready;
+  }
+}
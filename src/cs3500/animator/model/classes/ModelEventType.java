@@ -0,0 +1,9 @@
+package cs3500.animator.model.classes;
+
+/**
+ * Holds the enumerations that represent the kinds of change a model reports to its listeners.
+ */
+public enum ModelEventType {
+  SHAPE_ADDED, SHAPE_REMOVED, KEYFRAME_INSERTED, KEYFRAME_UPDATED, KEYFRAME_DELETED,
+  BOUNDS_CHANGED, TEMPO_CHANGED;
+}
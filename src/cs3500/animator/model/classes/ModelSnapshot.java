@@ -0,0 +1,82 @@
+package cs3500.animator.model.classes;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An unchangeable record of a whole model at one moment: its tempo, its bounds and a
+ * {@link ShapeSnapshot} of each of its shapes, in the order they were added. A snapshot can be
+ * held on to and read as often as needed, from any thread, while the model goes on being edited.
+ * Asking the model again gives back the same snapshot if nothing has changed, and a new snapshot
+ * reuses the snapshots of the shapes that have not changed. Each new snapshot is a version of the
+ * model, numbered in the order they were taken.
+ */
+public final class ModelSnapshot {
+
+  private final long version;
+  private final int tempo;
+  private final Bounds bounds;
+  private final List<ShapeSnapshot> shapes;
+  // the change count of the model's shapes and settings when this was taken
+  private final long modCount;
+
+  /**
+   * Constructs a snapshot. The list of shapes is kept, not copied, so it must not be changed
+   * afterwards.
+   *
+   * @param version  the number of this version of the model
+   * @param tempo    the tempo of the model
+   * @param bounds   the bounds of the model
+   * @param shapes   the snapshots of the model's shapes
+   * @param modCount the model's change count
+   */
+  ModelSnapshot(long version, int tempo, Bounds bounds, List<ShapeSnapshot> shapes,
+      long modCount) {
+    this.version = version;
+    this.tempo = tempo;
+    this.bounds = bounds;
+    this.shapes = Collections.unmodifiableList(shapes);
+    this.modCount = modCount;
+  }
+
+  /**
+   * Gets the number of the version of the model this records. Later versions have larger numbers.
+   *
+   * @return the version number
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the tempo of the model.
+   *
+   * @return the tempo
+   */
+  public int getTempo() {
+    return tempo;
+  }
+
+  /**
+   * Gets the bounds of the model.
+   *
+   * @return the bounds
+   */
+  public Bounds getBounds() {
+    return bounds;
+  }
+
+  /**
+   * Gets the shapes of the model, in the order they were added. The list cannot be changed, and is
+   * the same list every time.
+   *
+   * @return the shapes
+   */
+  public List<ShapeSnapshot> getShapes() {
+    return shapes;
+  }
+
+  long getModCount() {
+    return modCount;
+  }
+}
@@ -0,0 +1,135 @@
+package cs3500.animator.model.classes;
+
+import cs3500.animator.model.interfaces.Shape;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A list of the entries an index keeps in one place, such as one bucket of a {@link TimelineIndex}
+ * or one cell of a {@link SpatialIndex}, sorted by the order their shapes were first added to the
+ * index. That is the order shapes are drawn in, so a query reading one bucket gets its shapes in
+ * drawing order for free, and a query reading several sorts what it found with {@link #BY_ORDER}.
+ *
+ * <p>
+ * An entry is found in its bucket by a binary search on its order. Removing or moving a shape
+ * therefore never walks a whole bucket, and a new shape, which always comes last, is appended.
+ * </p>
+ *
+ * @param <E> the kind of entry the index keeps
+ */
+final class OrderedBucket<E extends OrderedBucket.Entry> implements Iterable<E> {
+
+  /**
+   * Compares entries by the order their shapes were first added to the index.
+   */
+  static final Comparator<Entry> BY_ORDER = new Comparator<Entry>() {
+    @Override
+    public int compare(Entry a, Entry b) {
+      return Long.compare(a.order, b.order);
+    }
+  };
+
+  /**
+   * A shape in an index, with the order it was first added in. Indexes extend this with whatever
+   * they read from the shape.
+   */
+  static class Entry {
+    Shape shape;
+    final long order;
+
+    Entry(Shape shape, long order) {
+      this.shape = shape;
+      this.order = order;
+    }
+  }
+
+  private final List<E> entries;
+
+  /**
+   * Constructs an empty bucket.
+   */
+  OrderedBucket() {
+    this.entries = new ArrayList<>();
+  }
+
+  /**
+   * Adds an entry in its place in the order. Does nothing if the entry is already here.
+   *
+   * @param entry the entry to add
+   */
+  void insert(E entry) {
+    int size = entries.size();
+    if (size == 0 || entries.get(size - 1).order < entry.order) {
+      entries.add(entry);
+      return;
+    }
+    int index = search(entry.order);
+    if (index < 0) {
+      entries.add(-index - 1, entry);
+    }
+  }
+
+  /**
+   * Removes an entry.
+   *
+   * @param entry the entry to remove
+   * @return whether the entry was here
+   */
+  boolean remove(E entry) {
+    int index = search(entry.order);
+    if (index < 0 || entries.get(index) != entry) {
+      return false;
+    }
+    entries.remove(index);
+    return true;
+  }
+
+  boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return entries.iterator();
+  }
+
+  /**
+   * Finds the entry with the given order, like {@link java.util.Collections#binarySearch}.
+   */
+  private int search(long order) {
+    int low = 0;
+    int high = entries.size() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long found = entries.get(middle).order;
+      if (found < order) {
+        low = middle + 1;
+      } else if (found > order) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -(low + 1);
+  }
+
+  /**
+   * Lists the shapes of the given entries, in the same order.
+   *
+   * @param found the entries
+   * @return their shapes
+   */
+  static List<Shape> shapesOf(List<? extends Entry> found) {
+    List<Shape> shapes = new ArrayList<>(found.size());
+    for (Entry entry : found) {
+      shapes.add(entry.shape);
+    }
+    return shapes;
+  }
+}
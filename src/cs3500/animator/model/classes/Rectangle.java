@@ -46,7 +46,7 @@ public class Rectangle extends AShape {
     this(shapeToCopy.getName(), shapeToCopy.getFirstDimension(), shapeToCopy.getSecondDimension(),
             shapeToCopy.getX(), shapeToCopy.getY(), shapeToCopy.getStartTime(),
             shapeToCopy.getEndTime(), shapeToCopy.getColor());
-    this.keyframes = shapeToCopy.getKeyframes();
+    this.track = shapeToCopy.getKeyframeTrack().copy();
   }
 
   @Override
@@ -0,0 +1,131 @@
+package cs3500.animator.model.classes;
+
+import cs3500.animator.model.interfaces.Shape;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The shapes of a model, kept in the order they were added and hashed so that adding, finding and
+ * removing a shape, whether by the shape or by its name, take the same time however many shapes
+ * there are. Shapes are told apart the way they are compared, by type and name, so a rectangle and
+ * an ellipse may share a name; looking up that name finds whichever of them was added first.
+ */
+final class ShapeRegistry {
+
+  private final Map<Shape, Shape> shapes;
+  private final Map<String, Shape> byName;
+  // names held by more than one shape, the only ones that need a search when removed
+  private final Set<String> sharedNames;
+
+  /**
+   * Constructs an empty registry.
+   */
+  ShapeRegistry() {
+    this.shapes = new LinkedHashMap<>();
+    this.byName = new HashMap<>();
+    this.sharedNames = new HashSet<>();
+  }
+
+  /**
+   * Adds a shape, unless a shape equal to it is already here.
+   *
+   * @param shape the shape to add
+   * @return true if the shape was added
+   */
+  boolean add(Shape shape) {
+    if (shapes.containsKey(shape)) {
+      return false;
+    }
+    shapes.put(shape, shape);
+    if (byName.putIfAbsent(shape.getName(), shape) != null) {
+      sharedNames.add(shape.getName());
+    }
+    return true;
+  }
+
+  /**
+   * Removes the shape equal to the given one.
+   *
+   * @param shape the shape to remove
+   * @return the shape that was removed, or null if there was none
+   */
+  Shape remove(Shape shape) {
+    Shape removed = shapes.remove(shape);
+    if (removed == null) {
+      return null;
+    }
+    String name = removed.getName();
+    if (!sharedNames.contains(name)) {
+      byName.remove(name);
+      return removed;
+    }
+
+    Shape first = null;
+    int count = 0;
+    for (Shape s : shapes.values()) {
+      if (s.getName().equals(name)) {
+        if (first == null) {
+          first = s;
+        }
+        count++;
+      }
+    }
+    byName.put(name, first);
+    if (count < 2) {
+      sharedNames.remove(name);
+    }
+    return removed;
+  }
+
+  /**
+   * Gets the shape here that is equal to the given one.
+   *
+   * @param shape the shape to look for
+   * @return the shape here, or null if there is none
+   */
+  Shape get(Shape shape) {
+    return shapes.get(shape);
+  }
+
+  /**
+   * Gets the first shape added with the given name.
+   *
+   * @param name the name to look for
+   * @return the shape, or null if no shape has that name
+   */
+  Shape get(String name) {
+    return byName.get(name);
+  }
+
+  /**
+   * Checks whether a shape equal to the given one is here.
+   *
+   * @param shape the shape to look for
+   * @return true if it is here
+   */
+  boolean contains(Shape shape) {
+    return shapes.containsKey(shape);
+  }
+
+  /**
+   * Gets the number of shapes here.
+   *
+   * @return the number of shapes
+   */
+  int size() {
+    return shapes.size();
+  }
+
+  /**
+   * Gets the shapes, in the order they were added. The collection is a live view.
+   *
+   * @return the shapes
+   */
+  Collection<Shape> values() {
+    return shapes.values();
+  }
+}
@@ -0,0 +1,150 @@
+package cs3500.animator.model.classes;
+
+import cs3500.animator.model.interfaces.Shape;
+import java.awt.Color;
+
+/**
+ * An unchangeable record of one shape as it was when a {@link ModelSnapshot} was taken: its name,
+ * type, lifetime, the state it was constructed in and a frozen copy of its keyframe track. The
+ * track's arrays are shared with the shape's own track, which takes its own copy the next time it
+ * is changed, so taking a snapshot of a shape does not copy its keyframes.
+ */
+public final class ShapeSnapshot {
+
+  private final String name;
+  private final ShapeType type;
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+  private final Color color;
+  private final int startTime;
+  private final int endTime;
+  private final KeyframeTrack track;
+  // the shape's own track and its change count when this was taken, to tell if it still matches
+  private final KeyframeTrack source;
+  private final int sourceModCount;
+  // a private copy of the shape, for its text and SVG, never handed out
+  private final Shape shape;
+
+  /**
+   * Takes a snapshot of the given shape.
+   *
+   * @param shape the shape
+   */
+  ShapeSnapshot(Shape shape) {
+    this.name = shape.getName();
+    this.type = shape.getType();
+    this.x = shape.getX();
+    this.y = shape.getY();
+    this.width = shape.getFirstDimension();
+    this.height = shape.getSecondDimension();
+    this.color = shape.getColor();
+    this.startTime = shape.getStartTime();
+    this.endTime = shape.getEndTime();
+    this.source = shape.getKeyframeTrack();
+    this.sourceModCount = source.getModCount();
+    this.track = source.frozenCopy();
+    this.shape = shape.copy();
+  }
+
+  /**
+   * Checks whether the given shape is still exactly as this snapshot records it.
+   *
+   * @param shape the shape this is a snapshot of
+   * @return true if nothing about the shape has changed since
+   */
+  boolean isCurrent(Shape shape) {
+    return shape.getKeyframeTrack() == source && source.getModCount() == sourceModCount
+        && shape.getX() == x && shape.getY() == y && shape.getFirstDimension() == width
+        && shape.getSecondDimension() == height && shape.getColor().equals(color)
+        && shape.getStartTime() == startTime && shape.getEndTime() == endTime
+        && shape.getName().equals(name) && shape.getType() == type;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public ShapeType getType() {
+    return type;
+  }
+
+  public int getX() {
+    return x;
+  }
+
+  public int getY() {
+    return y;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public Color getColor() {
+    return color;
+  }
+
+  public int getStartTime() {
+    return startTime;
+  }
+
+  public int getEndTime() {
+    return endTime;
+  }
+
+  /**
+   * Gets the shape's keyframes. The track is frozen, so trying to change it throws an
+   * {@link IllegalStateException}.
+   *
+   * @return the frozen track
+   */
+  public KeyframeTrack getKeyframeTrack() {
+    return track;
+  }
+
+  /**
+   * Gets the state of the shape at the given tick, worked out from its keyframes.
+   *
+   * @param tick the tick
+   * @return the state, or null if the shape has no keyframes around that tick
+   */
+  public ShapeState stateAt(int tick) {
+    return track.stateAt(tick);
+  }
+
+  /**
+   * Creates a shape from this snapshot that can be changed freely, such as to be stepped through
+   * an animation and drawn.
+   *
+   * @return a new copy of the shape
+   */
+  public Shape toShape() {
+    return shape.copy();
+  }
+
+  /**
+   * Gets the SVG of the shape, as {@link Shape#toSVG(int, boolean)} gives it.
+   *
+   * @param tempo the number of ticks per second
+   * @return the SVG of the shape
+   */
+  public String toSVG(int tempo) {
+    return shape.toSVG(tempo, false);
+  }
+
+  /**
+   * Gets the text of the shape and its motions, as the shape's own toString gives it.
+   *
+   * @return the text of the shape
+   */
+  @Override
+  public String toString() {
+    return shape.toString();
+  }
+}
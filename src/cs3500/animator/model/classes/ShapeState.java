@@ -0,0 +1,110 @@
+package cs3500.animator.model.classes;
+
+import java.awt.Color;
+import java.util.Objects;
+
+/**
+ * The state of a shape at a single tick: its position, dimensions and color. A state is
+ * immutable, and is worked out from the shape's keyframes without changing the shape, so states can
+ * be asked for at any tick, in any order and from any thread.
+ */
+public final class ShapeState {
+
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+  private final int rgb;
+
+  /**
+   * Constructs a shape state.
+   *
+   * @param x      the x-position of the shape
+   * @param y      the y-position of the shape
+   * @param width  the first dimension of the shape
+   * @param height the second dimension of the shape
+   * @param rgb    the color of the shape, packed as {@code 0xRRGGBB}
+   */
+  public ShapeState(int x, int y, int width, int height, int rgb) {
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.rgb = rgb & 0xFFFFFF;
+  }
+
+  /**
+   * Gets the x-position of the shape.
+   *
+   * @return the x-position
+   */
+  public int getX() {
+    return x;
+  }
+
+  /**
+   * Gets the y-position of the shape.
+   *
+   * @return the y-position
+   */
+  public int getY() {
+    return y;
+  }
+
+  /**
+   * Gets the first dimension of the shape.
+   *
+   * @return the width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the second dimension of the shape.
+   *
+   * @return the height
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the color of the shape, packed as {@code 0xRRGGBB}.
+   *
+   * @return the packed color
+   */
+  public int getRGB() {
+    return rgb;
+  }
+
+  /**
+   * Gets the color of the shape.
+   *
+   * @return the color
+   */
+  public Color getColor() {
+    return new Color(rgb);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof ShapeState)) {
+      return false;
+    }
+    ShapeState that = (ShapeState) other;
+    return x == that.x && y == that.y && width == that.width && height == that.height
+        && rgb == that.rgb;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(x, y, width, height, rgb);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d %d %d %d %d %d %d", x, y, width, height,
+        (rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+  }
+}
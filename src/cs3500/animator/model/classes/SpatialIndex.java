@@ -0,0 +1,267 @@
+package cs3500.animator.model.classes;
+
+import cs3500.animator.AnimatorUtils;
+import cs3500.animator.model.interfaces.Shape;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid over the canvas, answering which shapes lie in a given area, such as the part of
+ * a panel being repainted. The grid's square cells are only made once a shape is placed in them,
+ * so a sparse canvas of any size costs no more than the shapes on it. A query reads the cells the
+ * area touches, or every shape when the area spans more cells than there are shapes.
+ *
+ * <p>
+ * A shape whose bounding box spans more than {@code MAX_CELLS_PER_SHAPE} cells, such as a
+ * backdrop, is kept aside with the other large shapes, and every query tests it directly.
+ * </p>
+ *
+ * <p>
+ * Shapes move often, so updating one is cheap: a shape still within the cells it was listed in
+ * only has its box replaced, and one that has crossed into other cells is taken out of the old
+ * cells and put into the new ones. Cells are {@link OrderedBucket}s, so a shape found in several
+ * cells is listed once, in drawing order.
+ * </p>
+ */
+public final class SpatialIndex {
+
+  private static final int DEFAULT_CELL_SIZE = 256;
+  private static final int MAX_CELLS_PER_SHAPE = 64;
+
+  private final int cellSize;
+  private final Map<Long, OrderedBucket<Entry>> cells;
+  private final OrderedBucket<Entry> large;
+  private final Map<Shape, Entry> entries;
+  private long nextOrder;
+  // marks the entries a query has already found, so a shape in several cells is listed once
+  private int queryCount;
+
+  /**
+   * A shape, with the bounding box and cells it was indexed under.
+   */
+  private static final class Entry extends OrderedBucket.Entry {
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+    private int firstColumn;
+    private int lastColumn;
+    private int firstRow;
+    private int lastRow;
+    private int foundBy;
+
+    private Entry(Shape shape, long order) {
+      super(shape, order);
+    }
+
+    private boolean isLarge() {
+      return (long) (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1)
+          > MAX_CELLS_PER_SHAPE;
+    }
+
+    private boolean intersects(int x, int y, int width, int height) {
+      return this.width > 0 && this.height > 0
+          && (long) this.x < (long) x + width && (long) x < (long) this.x + this.width
+          && (long) this.y < (long) y + height && (long) y < (long) this.y + this.height;
+    }
+  }
+
+  /**
+   * Constructs an empty index with the default cell size.
+   */
+  public SpatialIndex() {
+    this(DEFAULT_CELL_SIZE);
+  }
+
+  /**
+   * Constructs an empty index.
+   *
+   * @param cellSize the width and height of each cell
+   * @throws IllegalArgumentException if the size is not positive
+   */
+  public SpatialIndex(int cellSize) throws IllegalArgumentException {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("Cell size must be positive.");
+    }
+    this.cellSize = cellSize;
+    this.cells = new HashMap<>();
+    this.large = new OrderedBucket<>();
+    this.entries = new HashMap<>();
+  }
+
+  /**
+   * Adds a shape to the index, under its current bounding box. Adding a shape that is already in
+   * the index, or another shape equal to it, updates its box and keeps its place in the order; the
+   * index then lists the shape given here.
+   *
+   * @param shape the shape to add
+   * @throws IllegalArgumentException if the shape is null
+   */
+  public void add(Shape shape) throws IllegalArgumentException {
+    AnimatorUtils.guardAgainstNullShape(shape);
+    Entry entry = entries.remove(shape);
+    if (entry != null) {
+      unlink(entry);
+      entry.shape = shape;
+    } else {
+      entry = new Entry(shape, nextOrder++);
+    }
+    entries.put(shape, entry);
+    link(entry);
+  }
+
+  /**
+   * Re-reads the bounding box of a shape already in the index, after it moved or was resized.
+   *
+   * @param shape the shape to update
+   * @throws IllegalArgumentException if the shape is null or not in the index
+   */
+  public void update(Shape shape) throws IllegalArgumentException {
+    AnimatorUtils.guardAgainstNullShape(shape);
+    Entry entry = entries.get(shape);
+    if (entry == null) {
+      throw new IllegalArgumentException("Shape is not in the index.");
+    }
+    int x = shape.getX();
+    int y = shape.getY();
+    int width = shape.getFirstDimension();
+    int height = shape.getSecondDimension();
+    if (cellOf(x) == entry.firstColumn && cellOf(y) == entry.firstRow
+        && cellOf(x + Math.max(width, 1) - 1) == entry.lastColumn
+        && cellOf(y + Math.max(height, 1) - 1) == entry.lastRow) {
+      entry.shape = shape;
+      entry.x = x;
+      entry.y = y;
+      entry.width = width;
+      entry.height = height;
+      return;
+    }
+    add(shape);
+  }
+
+  /**
+   * Removes a shape from the index.
+   *
+   * @param shape the shape to remove
+   * @throws IllegalArgumentException if the shape is null or not in the index
+   */
+  public void remove(Shape shape) throws IllegalArgumentException {
+    AnimatorUtils.guardAgainstNullShape(shape);
+    Entry entry = entries.remove(shape);
+    if (entry == null) {
+      throw new IllegalArgumentException("Shape is not in the index.");
+    }
+    unlink(entry);
+  }
+
+  /**
+   * Gets the number of shapes in the index.
+   *
+   * @return the number of shapes
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Gets the shapes whose bounding box overlaps the given area, in the order they were added.
+   * Shapes with no area are never listed.
+   *
+   * @param x      the left edge of the area
+   * @param y      the top edge of the area
+   * @param width  the width of the area
+   * @param height the height of the area
+   * @return the shapes in that area
+   */
+  public List<Shape> within(int x, int y, int width, int height) {
+    if (width <= 0 || height <= 0) {
+      return new ArrayList<>();
+    }
+    List<Entry> found = new ArrayList<>();
+    queryCount++;
+    int firstColumn = cellOf(x);
+    int lastColumn = cellOf((int) Math.min(Integer.MAX_VALUE, (long) x + width - 1));
+    int firstRow = cellOf(y);
+    int lastRow = cellOf((int) Math.min(Integer.MAX_VALUE, (long) y + height - 1));
+    if ((long) (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1) > entries.size()) {
+      // the area covers more cells than there are shapes, so every shape is looked at instead
+      collect(entries.values(), x, y, width, height, found);
+    } else {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        for (int row = firstRow; row <= lastRow; row++) {
+          OrderedBucket<Entry> cell = cells.get(key(column, row));
+          if (cell != null) {
+            collect(cell, x, y, width, height, found);
+          }
+        }
+      }
+      collect(large, x, y, width, height, found);
+    }
+    Collections.sort(found, OrderedBucket.BY_ORDER);
+    return OrderedBucket.shapesOf(found);
+  }
+
+  private void collect(Iterable<Entry> candidates, int x, int y, int width, int height,
+      List<Entry> found) {
+    for (Entry entry : candidates) {
+      if (entry.foundBy != queryCount && entry.intersects(x, y, width, height)) {
+        entry.foundBy = queryCount;
+        found.add(entry);
+      }
+    }
+  }
+
+  private void link(Entry entry) {
+    entry.x = entry.shape.getX();
+    entry.y = entry.shape.getY();
+    entry.width = entry.shape.getFirstDimension();
+    entry.height = entry.shape.getSecondDimension();
+    entry.firstColumn = cellOf(entry.x);
+    entry.lastColumn = cellOf(entry.x + Math.max(entry.width, 1) - 1);
+    entry.firstRow = cellOf(entry.y);
+    entry.lastRow = cellOf(entry.y + Math.max(entry.height, 1) - 1);
+    if (entry.isLarge()) {
+      large.insert(entry);
+      return;
+    }
+    for (int column = entry.firstColumn; column <= entry.lastColumn; column++) {
+      for (int row = entry.firstRow; row <= entry.lastRow; row++) {
+        Long key = key(column, row);
+        OrderedBucket<Entry> cell = cells.get(key);
+        if (cell == null) {
+          cell = new OrderedBucket<>();
+          cells.put(key, cell);
+        }
+        cell.insert(entry);
+      }
+    }
+  }
+
+  private void unlink(Entry entry) {
+    if (entry.isLarge()) {
+      large.remove(entry);
+      return;
+    }
+    for (int column = entry.firstColumn; column <= entry.lastColumn; column++) {
+      for (int row = entry.firstRow; row <= entry.lastRow; row++) {
+        Long key = key(column, row);
+        OrderedBucket<Entry> cell = cells.get(key);
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+          cells.remove(key);
+        }
+      }
+    }
+  }
+
+  private int cellOf(int coordinate) {
+    return Math.floorDiv(coordinate, cellSize);
+  }
+
+  private static long key(int column, int row) {
+    return ((long) column << 32) | (row & 0xffffffffL);
+  }
+}
@@ -0,0 +1,202 @@
+package cs3500.animator.model.classes;
+
+import cs3500.animator.AnimatorUtils;
+import cs3500.animator.model.interfaces.Shape;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index over the lifetimes of shapes, answering which shapes are visible at a given tick. Time
+ * is cut into buckets of a fixed number of ticks, and each shape is listed in every bucket its
+ * lifetime overlaps, so a query at a tick only reads the one bucket holding that tick. A shape
+ * living longer than {@code MAX_BUCKETS_PER_SHAPE} buckets, such as a background present for the
+ * whole animation, is listed once among the long lived shapes instead, which every query reads.
+ *
+ * <p>
+ * A shape's lifetime is read from its start and end time when it is added. If those change
+ * afterwards, the shape must be updated in the index. Buckets are {@link OrderedBucket}s, so a
+ * query lists shapes in drawing order.
+ * </p>
+ */
+public final class TimelineIndex {
+
+  private static final int DEFAULT_BUCKET_WIDTH = 64;
+  private static final int MAX_BUCKETS_PER_SHAPE = 64;
+
+  private final int bucketWidth;
+  private final List<OrderedBucket<Entry>> buckets;
+  private final OrderedBucket<Entry> longLived;
+  private final Map<Shape, Entry> entries;
+  private long nextOrder;
+
+  /**
+   * A shape, with the lifetime it was indexed under.
+   */
+  private static final class Entry extends OrderedBucket.Entry {
+    private int start;
+    private int end;
+
+    private Entry(Shape shape, long order) {
+      super(shape, order);
+    }
+  }
+
+  /**
+   * Constructs an empty index with the default bucket width.
+   */
+  public TimelineIndex() {
+    this(DEFAULT_BUCKET_WIDTH);
+  }
+
+  /**
+   * Constructs an empty index.
+   *
+   * @param bucketWidth the number of ticks covered by each bucket
+   * @throws IllegalArgumentException if the width is not positive
+   */
+  public TimelineIndex(int bucketWidth) throws IllegalArgumentException {
+    if (bucketWidth <= 0) {
+      throw new IllegalArgumentException("Bucket width must be positive.");
+    }
+    this.bucketWidth = bucketWidth;
+    this.buckets = new ArrayList<>();
+    this.longLived = new OrderedBucket<>();
+    this.entries = new HashMap<>();
+  }
+
+  /**
+   * Adds a shape to the index, under its current lifetime. Adding a shape that is already in the
+   * index, or another shape equal to it, updates its lifetime and keeps its place in the order; the
+   * index then lists the shape given here.
+   *
+   * @param shape the shape to add
+   * @throws IllegalArgumentException if the shape is null
+   */
+  public void add(Shape shape) throws IllegalArgumentException {
+    AnimatorUtils.guardAgainstNullShape(shape);
+    Entry entry = entries.remove(shape);
+    if (entry != null) {
+      unlink(entry);
+      entry.shape = shape;
+      entries.put(shape, entry);
+    } else {
+      entry = new Entry(shape, nextOrder++);
+      entries.put(shape, entry);
+    }
+    link(entry);
+  }
+
+  /**
+   * Re-reads the lifetime of a shape already in the index, after its start or end time changed.
+   *
+   * @param shape the shape to update
+   * @throws IllegalArgumentException if the shape is null or not in the index
+   */
+  public void update(Shape shape) throws IllegalArgumentException {
+    AnimatorUtils.guardAgainstNullShape(shape);
+    if (!entries.containsKey(shape)) {
+      throw new IllegalArgumentException("Shape is not in the timeline.");
+    }
+    add(shape);
+  }
+
+  /**
+   * Removes a shape from the index.
+   *
+   * @param shape the shape to remove
+   * @throws IllegalArgumentException if the shape is null or not in the index
+   */
+  public void remove(Shape shape) throws IllegalArgumentException {
+    AnimatorUtils.guardAgainstNullShape(shape);
+    Entry entry = entries.remove(shape);
+    if (entry == null) {
+      throw new IllegalArgumentException("Shape is not in the timeline.");
+    }
+    unlink(entry);
+  }
+
+  /**
+   * Gets the number of shapes in the index.
+   *
+   * @return the number of shapes
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Gets the shapes whose lifetime includes the given tick, in the order they were added.
+   *
+   * @param tick the tick
+   * @return the shapes visible at that tick
+   */
+  public List<Shape> activeAt(int tick) {
+    List<Entry> found = new ArrayList<>();
+    int bucket = bucketOf(tick);
+    if (bucket >= 0 && bucket < buckets.size()) {
+      collect(buckets.get(bucket), tick, found);
+    }
+    int fromBuckets = found.size();
+    collect(longLived, tick, found);
+    if (fromBuckets > 0 && found.size() > fromBuckets) {
+      Collections.sort(found, OrderedBucket.BY_ORDER);
+    }
+    return OrderedBucket.shapesOf(found);
+  }
+
+  private static void collect(OrderedBucket<Entry> candidates, int tick, List<Entry> found) {
+    for (Entry entry : candidates) {
+      if (entry.start <= tick && tick <= entry.end) {
+        found.add(entry);
+      }
+    }
+  }
+
+  private void link(Entry entry) {
+    entry.start = entry.shape.getStartTime();
+    entry.end = entry.shape.getEndTime();
+    if (entry.end < entry.start) {
+      return;
+    }
+    int first = Math.max(0, bucketOf(entry.start));
+    int last = bucketOf(entry.end);
+    if (last < 0) {
+      return;
+    }
+    if (last - first >= MAX_BUCKETS_PER_SHAPE) {
+      longLived.insert(entry);
+      return;
+    }
+    while (buckets.size() <= last) {
+      buckets.add(new OrderedBucket<Entry>());
+    }
+    for (int i = first; i <= last; i++) {
+      buckets.get(i).insert(entry);
+    }
+  }
+
+  private void unlink(Entry entry) {
+    if (entry.end < entry.start) {
+      return;
+    }
+    int first = Math.max(0, bucketOf(entry.start));
+    int last = bucketOf(entry.end);
+    if (last < 0) {
+      return;
+    }
+    if (last - first >= MAX_BUCKETS_PER_SHAPE) {
+      longLived.remove(entry);
+      return;
+    }
+    for (int i = first; i <= last; i++) {
+      buckets.get(i).remove(entry);
+    }
+  }
+
+  private int bucketOf(int tick) {
+    return Math.floorDiv(tick, bucketWidth);
+  }
+}
@@ -44,4 +44,18 @@ public interface EasyAnimatorModel extends EasyAnimatorModelReadOnly {
    */
   void setBounds(Bounds bounds);
 
+  /**
+   * Starts a batch of changes. Listeners are told about the changes made in a batch all at once
+   * when it ends, with changes of the same kind to the same shape combined. Batches can be nested,
+   * in which case the changes are reported when the outermost one ends.
+   */
+  void beginBatch();
+
+  /**
+   * Ends the innermost batch of changes started by {@link #beginBatch()}.
+   *
+   * @throws IllegalStateException if no batch was started
+   */
+  void endBatch() throws IllegalStateException;
+
 }
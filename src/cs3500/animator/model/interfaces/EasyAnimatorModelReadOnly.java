@@ -1,6 +1,8 @@
 package cs3500.animator.model.interfaces;
 
 import cs3500.animator.model.classes.Bounds;
+import cs3500.animator.model.classes.ModelSnapshot;
+import cs3500.animator.model.classes.ShapeState;
 import java.util.List;
 
 /**
@@ -22,6 +24,61 @@ public interface EasyAnimatorModelReadOnly {
    */
   List<Shape> getShapes();
 
+  /**
+   * Gets the shape with the given name. If a rectangle and an ellipse share the name, this is the
+   * one that was added first.
+   *
+   * @param name the name of the shape
+   * @return a copy of the shape
+   * @throws IllegalArgumentException if no shape has that name
+   */
+  Shape getShape(String name) throws IllegalArgumentException;
+
+  /**
+   * Gets the shapes that are visible at the given tick, meaning the tick is between their start
+   * and end time. This only looks at the shapes around that tick, so it stays cheap however many
+   * shapes the animation has in total.
+   *
+   * @param tick the tick
+   * @return copies of the shapes visible at that tick, in the order they were added
+   */
+  List<Shape> getShapesAt(int tick);
+
+  /**
+   * Gets an unchangeable snapshot of the animation as it is now. Unlike {@link #getShapes()}, this
+   * copies nothing that has not changed since the last snapshot, and the snapshot can be read for
+   * as long as needed while the animation goes on being edited.
+   *
+   * @return the snapshot
+   */
+  ModelSnapshot snapshot();
+
+  /**
+   * Takes a snapshot of the animation as it is now and pins its version, so that it can be found
+   * again by its version number until it is released.
+   *
+   * @return the pinned snapshot
+   */
+  ModelSnapshot pin();
+
+  /**
+   * Gets a pinned version of the animation by its number.
+   *
+   * @param version the version number
+   * @return the snapshot of that version
+   * @throws IllegalArgumentException if the version is not pinned
+   */
+  ModelSnapshot getPinned(long version) throws IllegalArgumentException;
+
+  /**
+   * Releases a snapshot pinned by {@link #pin()}. Once it has been released as many times as it
+   * was pinned, its version can no longer be found by number.
+   *
+   * @param snapshot the snapshot to release
+   * @throws IllegalArgumentException if the snapshot is null or not pinned
+   */
+  void release(ModelSnapshot snapshot) throws IllegalArgumentException;
+
   /**
    * Gets the bounding box to be used for animations. This states our "view box" or from what we
    * window of sight we are seeing animations.
@@ -30,4 +87,30 @@ public interface EasyAnimatorModelReadOnly {
    */
   Bounds getBounds();
 
+  /**
+   * Adds a listener to be told about every later change to the animation.
+   *
+   * @param listener the listener
+   * @throws IllegalArgumentException if the listener is null
+   */
+  void addListener(ModelListener listener) throws IllegalArgumentException;
+
+  /**
+   * Removes a listener, if it was added.
+   *
+   * @param listener the listener
+   */
+  void removeListener(ModelListener listener);
+
+  /**
+   * Gets the state of the given shape at the given tick, interpolated between the keyframes either
+   * side of it. Nothing is changed by asking, so states can be asked for at any tick in any order.
+   *
+   * @param shape the shape to find the state of
+   * @param tick  the tick to find the state at
+   * @return the state of the shape, or null if the shape has no keyframes around that tick
+   * @throws IllegalArgumentException if the shape is null
+   */
+  ShapeState stateAt(Shape shape, int tick) throws IllegalArgumentException;
+
 }
@@ -0,0 +1,19 @@
+package cs3500.animator.model.interfaces;
+
+import cs3500.animator.model.classes.ModelEvent;
+import java.util.List;
+
+/**
+ * Listens for changes to a model. Changes are reported in batches, on the thread that made them,
+ * after the model has finished making them.
+ */
+public interface ModelListener {
+
+  /**
+   * Called after the model has changed.
+   *
+   * @param events the changes made, in the order they were made, with changes of the same kind
+   *               to the same shape combined into one
+   */
+  void modelChanged(List<ModelEvent> events);
+}
@@ -1,6 +1,7 @@
 package cs3500.animator.model.interfaces;
 
 import cs3500.animator.model.classes.Keyframe;
+import cs3500.animator.model.classes.KeyframeTrack;
 import cs3500.animator.model.classes.ShapeType;
 import cs3500.animator.view.interfaces.IViewPanel;
 import java.awt.Color;
@@ -172,6 +173,16 @@ public interface Shape {
    */
   void addKeyframe(Keyframe kf) throws IllegalArgumentException;
 
+  /**
+   * Adds many Keyframes to this Shape at once, in any order. They are sorted once and merged with
+   * the shape's keyframes in one pass, which is much faster than adding them one at a time. A
+   * keyframe at the same time as one already there, or as an earlier one in the list, replaces it.
+   *
+   * @param keyframes the keyframes to be added
+   * @throws IllegalArgumentException if the list or any keyframe in it is null
+   */
+  void addKeyframes(List<Keyframe> keyframes) throws IllegalArgumentException;
+
   /**
    * Removes a Keyframe from this Shape's list of Keyframes.
    *
@@ -181,9 +192,19 @@ public interface Shape {
   void removeKeyframe(Keyframe kf) throws IllegalArgumentException;
 
   /**
-   * Gets the list of Keyframes associated with this shape.
+   * Gets the list of Keyframes associated with this shape. The list and its keyframes are created
+   * from the shape's keyframe track on every call.
    *
    * @return the list of keyframes
    */
   List<Keyframe> getKeyframes();
+
+  /**
+   * Gets the keyframe track of this shape, which stores its keyframes column by column. This is
+   * the shape's own track rather than a copy, so callers reading many keyframes can do so without
+   * creating a Keyframe for each one.
+   *
+   * @return the keyframe track
+   */
+  KeyframeTrack getKeyframeTrack();
 }
\ No newline at end of file
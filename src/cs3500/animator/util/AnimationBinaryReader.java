@@ -0,0 +1,211 @@
+package cs3500.animator.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A helper to read animations stored in the compact binary format, and construct an animation
+ * from them. The binary format holds the same information as the text format read by
+ * {@link AnimationReader}, but takes far less space and needs no tokenizing.
+ *
+ * <p>
+ * Version 2 of the format is laid out as follows. Signed numbers are zigzag encoded and every
+ * number is written as a variable length integer, seven bits per byte, low bits first.
+ * <ul>
+ * <li>The four bytes {@code EZAN}, followed by one byte giving the version.</li>
+ * <li>The canvas: its left, top, width and height.</li>
+ * <li>The string table: the number of strings, then each string as its length in bytes followed
+ * by its UTF-8 encoding. Shape names, shape types and easing curves refer to their index in this
+ * table.</li>
+ * <li>The number of shapes, then for each shape: the index of its name, the index of its type,
+ * the number of keyframes on its track, and the keyframes in time order. A keyframe is eight
+ * signed numbers giving the time, x, y, width, height, red, green and blue values, each written
+ * as its difference from the same value in the previous keyframe of the track (or from zero, for
+ * the first keyframe), followed by the easing curve the shape follows on its way to the keyframe:
+ * zero for linear, or one more than the index of the curve's name in the text format. The first
+ * keyframe's curve is always zero.</li>
+ * </ul>
+ * Version 1 had no easing curves, and is no longer read: an animation cached in it must be
+ * written again from its text.
+ * </p>
+ */
+public class AnimationBinaryReader {
+
+  /**
+   * The bytes every binary animation starts with.
+   */
+  public static final byte[] MAGIC = {'E', 'Z', 'A', 'N'};
+
+  /**
+   * The version of the format written by this version of the program.
+   */
+  public static final int VERSION = 2;
+
+  /**
+   * Checks whether the given file starts like a binary animation.
+   *
+   * @param file the file to check
+   * @return true if the file begins with the binary format's magic bytes
+   * @throws IOException if the file cannot be read
+   */
+  public static boolean isBinaryFile(Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file)) {
+      for (byte expected : MAGIC) {
+        if (in.read() != expected) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Reads a binary animation and hands its contents to the given builder. Each shape's keyframe
+   * track is handed over as the motions between consecutive keyframes, as if it had been read from
+   * the text format, each followed by its easing curve when that is not linear. A track with a
+   * single keyframe becomes one motion that starts and ends there.
+   *
+   * @param in      The source of the binary animation
+   * @param builder A builder for helping to construct a new animation
+   * @param <Doc>   The main model interface type describing animations
+   * @return the animation built from the input
+   * @throws IllegalStateException if the input is not a binary animation this version can read,
+   *                               or if it ends early or cannot be read
+   */
+  public static <Doc> Doc parseFile(InputStream in, AnimationBuilder<Doc> builder) {
+    Objects.requireNonNull(in, "Must have non-null input stream");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    ByteSource source = new ByteSource(in);
+    for (byte expected : MAGIC) {
+      if (source.readByte() != expected) {
+        throw new IllegalStateException("Binary animation: not a binary animation file");
+      }
+    }
+    int version = source.readByte();
+    if (version != VERSION) {
+      throw new IllegalStateException("Binary animation: unsupported version " + version);
+    }
+
+    builder.setBounds(source.readSigned(), source.readSigned(), source.readSigned(),
+        source.readSigned());
+
+    String[] strings = new String[source.readCount()];
+    for (int i = 0; i < strings.length; i++) {
+      byte[] utf8 = new byte[source.readCount()];
+      source.readFully(utf8);
+      strings[i] = new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    int shapeCount = source.readCount();
+    int[] prev = new int[8];
+    int[] curr = new int[8];
+    for (int s = 0; s < shapeCount; s++) {
+      String name = stringAt(strings, source.readCount());
+      builder.declareShape(name, stringAt(strings, source.readCount()));
+      int keyframeCount = source.readCount();
+      for (int i = 0; i < 8; i++) {
+        prev[i] = 0;
+      }
+      for (int k = 0; k < keyframeCount; k++) {
+        for (int i = 0; i < 8; i++) {
+          curr[i] = prev[i] + source.readSigned();
+        }
+        int curve = source.readCount();
+        if (k > 0 || keyframeCount == 1) {
+          int[] start = k > 0 ? prev : curr;
+          builder.addMotion(name,
+              start[0], start[1], start[2], start[3], start[4], start[5], start[6], start[7],
+              curr[0], curr[1], curr[2], curr[3], curr[4], curr[5], curr[6], curr[7]);
+        }
+        if (k > 0 && curve != 0) {
+          builder.setEasing(name, curr[0], stringAt(strings, curve - 1));
+        }
+        int[] swap = prev;
+        prev = curr;
+        curr = swap;
+      }
+    }
+    return builder.build();
+  }
+
+  private static String stringAt(String[] strings, int index) {
+    if (index >= strings.length) {
+      throw new IllegalStateException("Binary animation: string index out of range " + index);
+    }
+    return strings[index];
+  }
+
+  /**
+   * Reads bytes and variable length integers from a stream through a reusable buffer.
+   */
+  private static final class ByteSource {
+    private final InputStream in;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+
+    ByteSource(InputStream in) {
+      this.in = in;
+    }
+
+    int readByte() {
+      if (position == limit) {
+        try {
+          limit = in.read(buffer, 0, buffer.length);
+        } catch (IOException e) {
+          throw new IllegalStateException("Could not read animation input: " + e.getMessage());
+        }
+        position = 0;
+        if (limit <= 0) {
+          limit = 0;
+          throw new IllegalStateException("Binary animation: unexpected end of input");
+        }
+      }
+      return buffer[position++] & 0xFF;
+    }
+
+    void readFully(byte[] into) {
+      for (int i = 0; i < into.length; i++) {
+        into[i] = (byte) readByte();
+      }
+    }
+
+    /**
+     * Reads an unsigned variable length integer.
+     */
+    int readUnsigned() {
+      int value = 0;
+      for (int shift = 0; shift < 35; shift += 7) {
+        int b = readByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalStateException("Binary animation: malformed number");
+    }
+
+    /**
+     * Reads a zigzag encoded signed variable length integer.
+     */
+    int readSigned() {
+      int zigzag = readUnsigned();
+      return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * Reads a count or length, which can never be negative.
+     */
+    int readCount() {
+      int count = readUnsigned();
+      if (count < 0) {
+        throw new IllegalStateException("Binary animation: malformed count");
+      }
+      return count;
+    }
+  }
+}
@@ -71,4 +71,17 @@ public interface AnimationBuilder<Doc> {
    */
   AnimationBuilder<Doc> addKeyframe(String name,
       int t, int x, int y, int w, int h, int r, int g, int b);
+
+  /**
+   * Sets the easing curve a shape follows on its way to the keyframe at the given time, as given
+   * by the optional last word of a motion line. A builder that has no curves may ignore it, and
+   * play every motion linearly.
+   * @param name   The name of the shape (added with {@link AnimationBuilder#declareShape})
+   * @param t      The time of the keyframe the curve leads to
+   * @param easing The curve, such as "ease-in" or "cubic-bezier(0.25,0.1,0.25,1)"
+   * @return This {@link AnimationBuilder}
+   */
+  default AnimationBuilder<Doc> setEasing(String name, int t, String easing) {
+    return this;
+  }
 }
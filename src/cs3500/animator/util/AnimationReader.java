@@ -1,13 +1,46 @@
 package cs3500.animator.util;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
-import java.util.Scanner;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * A helper to read animation data and construct an animation from it.
  */
 public class AnimationReader {
+
+  private static final String[] CANVAS_FIELD_NAMES = {"left", "top", "width", "height"};
+
+  private static final String[] MOTION_FIELD_NAMES = new String[]{
+      "initial time",
+      "initial x-coordinate", "initial y-coordinate",
+      "initial width", "initial height",
+      "initial red value", "initial green value", "initial blue value",
+      "final time",
+      "final x-coordinate", "final y-coordinate",
+      "final width", "final height",
+      "final red value", "final green value", "final blue value",
+  };
+
+  private static final String[] EASING_NAMES = {
+      "linear", "ease-in", "ease-out", "ease-in-out", "step"};
+
+  // bounds on how much of a file one worker tokenizes at a time in parseMappedFile
+  private static final long MIN_CHUNK_SIZE = 1L << 20;
+  private static final long MAX_CHUNK_SIZE = 64L << 20;
+
   /**
    * A factory for producing new animations, given a source of shapes and a
    * builder for constructing animations.
@@ -22,7 +55,10 @@ public class AnimationReader {
    * of the shape to move, and 16 integers giving the initial and final conditions of the motion:
    * eight numbers giving the time, the x and y coordinates, the width and height,
    * and the red, green and blue color values at the start of the motion; followed by 
-   * eight numbers for the end of the motion.  See {@link AnimationBuilder#addMotion}</li>
+   * eight numbers for the end of the motion.  See {@link AnimationBuilder#addMotion}
+   * The numbers may be followed by the easing curve of the motion: one of the words linear,
+   * ease-in, ease-out, ease-in-out and step, or cubic-bezier(x1,y1,x2,y2) with no spaces.
+   * See {@link AnimationBuilder#setEasing}</li>
    * </ul>
    * </p>
    *
@@ -34,38 +70,140 @@ public class AnimationReader {
   public static <Doc> Doc parseFile(Readable readable, AnimationBuilder<Doc> builder) {
     Objects.requireNonNull(readable, "Must have non-null readable source");
     Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
-    Scanner s = new Scanner(readable);
     // Split at whitespace, and ignore # comment lines
-    s.useDelimiter(Pattern.compile("(\\p{Space}+|#.*)+")); 
+    readAll(new AnimationTokenizer(readable), builder);
+    return builder.build();
+  }
+
+  /**
+   * Reads an animation file the same way as {@link #parseFile(Readable, AnimationBuilder)}, but
+   * memory maps it and tokenizes it in parallel. The file is split into chunks at line boundaries
+   * and each chunk is read on its own fork-join worker. The lines every chunk contains are then
+   * handed to the builder on the calling thread, in the order they appear in the file, so the
+   * builder sees exactly the calls a sequential read would make and need not be thread safe.
+   * The file must be UTF-8 encoded.
+   *
+   * @param file    The animation file to read
+   * @param builder A builder for helping to construct a new animation
+   * @param <Doc>   The main model interface type describing animations
+   * @return the animation built from the file
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public static <Doc> Doc parseMappedFile(Path file, AnimationBuilder<Doc> builder)
+      throws IOException {
+    return parseMappedFile(file, builder, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Reads an animation file the same way as {@link #parseMappedFile(Path, AnimationBuilder)},
+   * tokenizing its chunks on the workers of the given pool.
+   *
+   * @param file    The animation file to read
+   * @param builder A builder for helping to construct a new animation
+   * @param pool    The pool whose workers tokenize the file
+   * @param <Doc>   The main model interface type describing animations
+   * @return the animation built from the file
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  public static <Doc> Doc parseMappedFile(Path file, AnimationBuilder<Doc> builder,
+      ForkJoinPool pool) throws IOException {
+    Objects.requireNonNull(file, "Must have non-null file");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    Objects.requireNonNull(pool, "Must provide a non-null pool");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long[] bounds = splitAtLines(channel, pool.getParallelism());
+      // only keep a few chunks per worker in flight, so their records do not pile up in memory
+      int window = pool.getParallelism() * 2;
+      Deque<ForkJoinTask<ChunkRecord>> inFlight = new ArrayDeque<>();
+      int next = 0;
+      while (next < bounds.length - 1 || !inFlight.isEmpty()) {
+        while (next < bounds.length - 1 && inFlight.size() < window) {
+          inFlight.addLast(pool.submit(new ChunkTask(channel, bounds[next], bounds[next + 1])));
+          next++;
+        }
+        inFlight.removeFirst().join().replay(builder);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Reads every line available from the tokenizer and hands it to the builder.
+   */
+  private static <Doc> void readAll(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
+    int[] motionValues = new int[16];
     while (s.hasNext()) {
-      String word = s.next();
-      switch (word) {
-        case "canvas":
-          readCanvas(s, builder);
-          break;
-        case "shape":
-          readShape(s, builder);
-          break;
-        case "motion":
-          readMotion(s, builder);
+      // motions vastly outnumber the other lines, so check for them first
+      if (s.skipIf("motion")) {
+        readMotion(s, builder, motionValues);
+      } else if (s.skipIf("shape")) {
+        readShape(s, builder);
+      } else if (s.skipIf("canvas")) {
+        readCanvas(s, builder);
+      } else {
+        String word = s.next();
+        throw new IllegalStateException("Unexpected keyword: " + word + s.nextLine());
+      }
+    }
+  }
+
+  /**
+   * Splits the file into chunks that each end just after a line break, or at the end of the file.
+   *
+   * @return the offsets where chunks begin, followed by the size of the file
+   */
+  private static long[] splitAtLines(FileChannel channel, int workers) throws IOException {
+    long size = channel.size();
+    long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size / (workers * 4L)));
+    List<Long> bounds = new ArrayList<>();
+    bounds.add(0L);
+    ByteBuffer probe = ByteBuffer.allocate(4096);
+    long start = 0;
+    while (size - start > chunkSize) {
+      long end = start + chunkSize;
+      // move the split forward to just past the next line break
+      boolean found = false;
+      while (!found && end < size) {
+        probe.clear();
+        int read = channel.read(probe, end);
+        if (read <= 0) {
+          end = size;
           break;
-        default:
-          throw new IllegalStateException("Unexpected keyword: " + word + s.nextLine());
+        }
+        for (int i = 0; i < read; i++) {
+          if (probe.get(i) == '\n') {
+            end += i + 1;
+            found = true;
+            break;
+          }
+        }
+        if (!found) {
+          end += read;
+        }
       }
+      if (end >= size) {
+        break;
+      }
+      bounds.add(end);
+      start = end;
     }
-    return builder.build();
+    bounds.add(size);
+    long[] result = new long[bounds.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = bounds.get(i);
+    }
+    return result;
   }
 
-  private static <Doc> void readCanvas(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readCanvas(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     int[] vals = new int[4];
-    String[] fieldNames = {"left", "top", "width", "height"};
     for (int i = 0; i < 4; i++) {
-      vals[i] = getInt(s, "Canvas", fieldNames[i]);
+      vals[i] = getInt(s, "Canvas", CANVAS_FIELD_NAMES[i]);
     }
     builder.setBounds(vals[0], vals[1], vals[2], vals[3]);
   }
 
-  private static <Doc> void readShape(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readShape(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     String name;
     String type;
     if (s.hasNext()) {
@@ -81,18 +219,8 @@ public class AnimationReader {
     builder.declareShape(name, type);
   }
 
-  private static <Doc> void readMotion(Scanner s, AnimationBuilder<Doc> builder) {
-    String[] fieldNames = new String[]{
-      "initial time",
-      "initial x-coordinate", "initial y-coordinate",
-      "initial width", "initial height",
-      "initial red value", "initial green value", "initial blue value",
-      "final time",
-      "final x-coordinate", "final y-coordinate",
-      "final width", "final height",
-      "final red value", "final green value", "final blue value",
-    };
-    int[] vals = new int[16];
+  private static <Doc> void readMotion(AnimationTokenizer s, AnimationBuilder<Doc> builder,
+                                       int[] vals) {
     String name;
     if (s.hasNext()) {
       name = s.next();
@@ -100,14 +228,32 @@ public class AnimationReader {
       throw new IllegalStateException("Motion: Expected a shape name, but no more input available");
     }
     for (int i = 0; i < 16; i++) {
-      vals[i] = getInt(s, "Motion", fieldNames[i]);
+      vals[i] = getInt(s, "Motion", MOTION_FIELD_NAMES[i]);
     }
     builder.addMotion(name,
             vals[0], vals[1], vals[2 ], vals[3 ], vals[4 ], vals[5 ], vals[6 ], vals[7 ],
             vals[8], vals[9], vals[10], vals[11], vals[12], vals[13], vals[14], vals[15]);
+    if (isEasingNext(s)) {
+      builder.setEasing(name, vals[8], s.next());
+    }
   }
-  
-  private static int getInt(Scanner s, String label, String fieldName) {
+
+  /**
+   * Checks whether the next token is the optional easing curve at the end of a motion line.
+   */
+  private static boolean isEasingNext(AnimationTokenizer s) {
+    if (s.peekStartsWith("cubic-bezier(")) {
+      return true;
+    }
+    for (String easing : EASING_NAMES) {
+      if (s.peekEquals(easing)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int getInt(AnimationTokenizer s, String label, String fieldName) {
     if (s.hasNextInt()) {
       return s.nextInt();
     } else if (s.hasNext()) {
@@ -120,4 +266,194 @@ public class AnimationReader {
     }
   }
 
+  /**
+   * Tokenizes one memory mapped chunk of an animation file into a {@link ChunkRecord}.
+   */
+  private static final class ChunkTask extends RecursiveTask<ChunkRecord> {
+    private static final long serialVersionUID = 1L;
+
+    private final FileChannel channel;
+    private final long start;
+    private final long end;
+
+    ChunkTask(FileChannel channel, long start, long end) {
+      this.channel = channel;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected ChunkRecord compute() {
+      ChunkRecord record = new ChunkRecord();
+      try {
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        readAll(new AnimationTokenizer(bytes), record);
+      } catch (IOException e) {
+        record.failure = new IllegalStateException(
+            "Could not read animation input: " + e.getMessage());
+      } catch (RuntimeException e) {
+        // kept until the chunk is replayed, so that earlier lines still reach the builder first
+        record.failure = e;
+      }
+      return record;
+    }
+  }
+
+  /**
+   * Writes down the lines read from one chunk of a file in compact arrays, so they can be handed
+   * to the real builder later, in file order.
+   */
+  private static final class ChunkRecord implements AnimationBuilder<Void> {
+    private static final byte CANVAS = 0;
+    private static final byte SHAPE = 1;
+    private static final byte MOTION = 2;
+    private static final byte EASING = 3;
+    private static final byte KEYFRAME = 4;
+
+    private byte[] ops = new byte[256];
+    private int opCount;
+    private int[] ints = new int[4096];
+    private int intCount;
+    private String[] strings = new String[256];
+    private int stringCount;
+    private RuntimeException failure;
+
+    @Override
+    public Void build() {
+      return null;
+    }
+
+    @Override
+    public AnimationBuilder<Void> setBounds(int x, int y, int width, int height) {
+      addOp(CANVAS);
+      addInts(4);
+      ints[intCount++] = x;
+      ints[intCount++] = y;
+      ints[intCount++] = width;
+      ints[intCount++] = height;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Void> declareShape(String name, String type) {
+      addOp(SHAPE);
+      addString(name);
+      addString(type);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Void> addMotion(String name, int t1, int x1, int y1, int w1, int h1,
+        int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2) {
+      addOp(MOTION);
+      addString(name);
+      addInts(16);
+      ints[intCount++] = t1;
+      ints[intCount++] = x1;
+      ints[intCount++] = y1;
+      ints[intCount++] = w1;
+      ints[intCount++] = h1;
+      ints[intCount++] = r1;
+      ints[intCount++] = g1;
+      ints[intCount++] = b1;
+      ints[intCount++] = t2;
+      ints[intCount++] = x2;
+      ints[intCount++] = y2;
+      ints[intCount++] = w2;
+      ints[intCount++] = h2;
+      ints[intCount++] = r2;
+      ints[intCount++] = g2;
+      ints[intCount++] = b2;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Void> addKeyframe(String name, int t, int x, int y, int w, int h,
+        int r, int g, int b) {
+      addOp(KEYFRAME);
+      addString(name);
+      addInts(8);
+      ints[intCount++] = t;
+      ints[intCount++] = x;
+      ints[intCount++] = y;
+      ints[intCount++] = w;
+      ints[intCount++] = h;
+      ints[intCount++] = r;
+      ints[intCount++] = g;
+      ints[intCount++] = b;
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<Void> setEasing(String name, int t, String easing) {
+      addOp(EASING);
+      addString(name);
+      addString(easing);
+      addInts(1);
+      ints[intCount++] = t;
+      return this;
+    }
+
+    /**
+     * Makes the recorded calls on the given builder, in the order they were recorded, then
+     * rethrows whatever stopped this chunk from being read to the end.
+     */
+    <Doc> void replay(AnimationBuilder<Doc> builder) {
+      int i = 0;
+      int s = 0;
+      for (int op = 0; op < opCount; op++) {
+        switch (ops[op]) {
+          case CANVAS:
+            builder.setBounds(ints[i], ints[i + 1], ints[i + 2], ints[i + 3]);
+            i += 4;
+            break;
+          case SHAPE:
+            builder.declareShape(strings[s], strings[s + 1]);
+            s += 2;
+            break;
+          case EASING:
+            builder.setEasing(strings[s], ints[i], strings[s + 1]);
+            s += 2;
+            i += 1;
+            break;
+          case KEYFRAME:
+            builder.addKeyframe(strings[s++], ints[i], ints[i + 1], ints[i + 2], ints[i + 3],
+                ints[i + 4], ints[i + 5], ints[i + 6], ints[i + 7]);
+            i += 8;
+            break;
+          default:
+            builder.addMotion(strings[s++],
+                ints[i], ints[i + 1], ints[i + 2], ints[i + 3],
+                ints[i + 4], ints[i + 5], ints[i + 6], ints[i + 7],
+                ints[i + 8], ints[i + 9], ints[i + 10], ints[i + 11],
+                ints[i + 12], ints[i + 13], ints[i + 14], ints[i + 15]);
+            i += 16;
+            break;
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+    private void addOp(byte op) {
+      if (opCount == ops.length) {
+        ops = Arrays.copyOf(ops, ops.length * 2);
+      }
+      ops[opCount++] = op;
+    }
+
+    private void addInts(int count) {
+      if (intCount + count > ints.length) {
+        ints = Arrays.copyOf(ints, Math.max(ints.length * 2, intCount + count));
+      }
+    }
+
+    private void addString(String value) {
+      if (stringCount == strings.length) {
+        strings = Arrays.copyOf(strings, strings.length * 2);
+      }
+      strings[stringCount++] = value;
+    }
+  }
 }
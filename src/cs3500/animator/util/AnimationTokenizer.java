@@ -0,0 +1,341 @@
+package cs3500.animator.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A character level tokenizer for the animation file format. It splits its input at whitespace and
+ * drops everything from a {@code #} to the end of the line, exactly like the delimiter
+ * {@code (\p{Space}+|#.*)+} that {@link AnimationReader} used to give a {@link java.util.Scanner}.
+ *
+ * <p>
+ * Input is read in blocks into one reusable character buffer, and the current token is copied
+ * into a second reusable buffer. Keywords can be matched and integers parsed straight out of that
+ * buffer, so the only objects created while reading are the strings handed out by {@link #next()}.
+ * </p>
+ *
+ * <p>
+ * The characters can come either from a {@link Readable} or from a block of UTF-8 encoded bytes,
+ * such as a memory mapped region of a file, which is decoded into the same buffer as it is read.
+ * </p>
+ */
+final class AnimationTokenizer {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Readable source;
+  private final Reader reader;
+  private final ByteBuffer bytes;
+  private final CharsetDecoder decoder;
+  private final char[] buffer;
+  private final CharBuffer bufferView;
+  private int position;
+  private int limit;
+  private boolean exhausted;
+
+  private char[] token;
+  private int tokenLength;
+  private boolean hasToken;
+  private boolean parsedInt;
+  private boolean isInt;
+  private int intValue;
+
+  /**
+   * Constructs a tokenizer over the given source of characters.
+   *
+   * @param source the source of the animation text
+   * @throws NullPointerException if the source is null
+   */
+  AnimationTokenizer(Readable source) {
+    this.source = Objects.requireNonNull(source, "Must have non-null readable source");
+    this.reader = source instanceof Reader ? (Reader) source : null;
+    this.bytes = null;
+    this.decoder = null;
+    this.buffer = new char[BUFFER_SIZE];
+    this.bufferView = CharBuffer.wrap(buffer);
+    this.token = new char[64];
+  }
+
+  /**
+   * Constructs a tokenizer over the remaining UTF-8 encoded bytes of the given buffer. Malformed
+   * input is replaced rather than rejected, the same way a {@link java.io.InputStreamReader} would.
+   *
+   * @param bytes the encoded animation text
+   * @throws NullPointerException if the buffer is null
+   */
+  AnimationTokenizer(ByteBuffer bytes) {
+    this.source = null;
+    this.reader = null;
+    this.bytes = Objects.requireNonNull(bytes, "Must have non-null bytes to read");
+    this.decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.buffer = new char[BUFFER_SIZE];
+    this.bufferView = CharBuffer.wrap(buffer);
+    this.token = new char[64];
+  }
+
+  /**
+   * Checks whether there is another token in the input.
+   *
+   * @return true if another token is available
+   */
+  boolean hasNext() {
+    if (hasToken) {
+      return true;
+    }
+    if (!skipDelimiters()) {
+      return false;
+    }
+    tokenLength = 0;
+    parsedInt = false;
+    while (true) {
+      if (position == limit && !fill()) {
+        break;
+      }
+      char c = buffer[position];
+      if (isSpace(c) || c == '#') {
+        break;
+      }
+      if (tokenLength == token.length) {
+        char[] grown = new char[token.length * 2];
+        System.arraycopy(token, 0, grown, 0, tokenLength);
+        token = grown;
+      }
+      token[tokenLength++] = c;
+      position++;
+    }
+    hasToken = true;
+    return true;
+  }
+
+  /**
+   * Checks whether the next token in the input is a base ten integer that fits in an int.
+   *
+   * @return true if {@link #nextInt()} would succeed
+   */
+  boolean hasNextInt() {
+    if (!hasNext()) {
+      return false;
+    }
+    if (!parsedInt) {
+      parseInt();
+    }
+    return isInt;
+  }
+
+  /**
+   * Consumes the next token as an integer.
+   *
+   * @return the value of the token
+   * @throws IllegalStateException if the next token is missing or is not an integer
+   */
+  int nextInt() {
+    if (!hasNextInt()) {
+      throw new IllegalStateException("Expected an integer");
+    }
+    hasToken = false;
+    return intValue;
+  }
+
+  /**
+   * Consumes the next token.
+   *
+   * @return the next token
+   * @throws IllegalStateException if there are no more tokens
+   */
+  String next() {
+    if (!hasNext()) {
+      throw new IllegalStateException("No more input available");
+    }
+    hasToken = false;
+    return new String(token, 0, tokenLength);
+  }
+
+  /**
+   * Checks whether the next token is exactly the given word, without consuming it.
+   *
+   * @param word the word to compare against
+   * @return true if the next token spells out the given word
+   */
+  boolean peekEquals(String word) {
+    if (!hasNext() || tokenLength != word.length()) {
+      return false;
+    }
+    for (int i = 0; i < tokenLength; i++) {
+      if (token[i] != word.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether the next token begins with the given prefix, without consuming it.
+   *
+   * @param prefix the prefix to compare against
+   * @return true if the next token begins with the prefix
+   */
+  boolean peekStartsWith(String prefix) {
+    if (!hasNext() || tokenLength < prefix.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (token[i] != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Consumes the next token if it is exactly the given word.
+   *
+   * @param word the word to look for
+   * @return true if the word was found and consumed
+   */
+  boolean skipIf(String word) {
+    if (peekEquals(word)) {
+      hasToken = false;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Consumes the rest of the current line, comments included, and returns it without the line
+   * terminator. Only meant for building error messages.
+   *
+   * @return the remainder of the current line
+   */
+  String nextLine() {
+    StringBuilder line = new StringBuilder();
+    if (hasToken) {
+      line.append(token, 0, tokenLength);
+      hasToken = false;
+    }
+    while (position < limit || fill()) {
+      char c = buffer[position++];
+      if (c == '\n') {
+        break;
+      }
+      if (c != '\r') {
+        line.append(c);
+      }
+    }
+    return line.toString();
+  }
+
+  /**
+   * Skips whitespace and comments.
+   *
+   * @return true if a token starts at the current position, false at the end of the input
+   */
+  private boolean skipDelimiters() {
+    while (true) {
+      if (position == limit && !fill()) {
+        return false;
+      }
+      char c = buffer[position];
+      if (c == '#') {
+        skipComment();
+      } else if (isSpace(c)) {
+        position++;
+      } else {
+        return true;
+      }
+    }
+  }
+
+  private void skipComment() {
+    while (position < limit || fill()) {
+      char c = buffer[position];
+      if (c == '\n' || c == '\r') {
+        return;
+      }
+      position++;
+    }
+  }
+
+  /**
+   * Parses the current token as a signed decimal integer, accepting what
+   * {@link java.util.Scanner#nextInt()} accepts for plain digits.
+   */
+  private void parseInt() {
+    parsedInt = true;
+    isInt = false;
+    int i = 0;
+    boolean negative = false;
+    if (tokenLength > 0 && (token[0] == '-' || token[0] == '+')) {
+      negative = token[0] == '-';
+      i = 1;
+    }
+    if (i == tokenLength) {
+      return;
+    }
+    long value = 0;
+    for (; i < tokenLength; i++) {
+      int digit = token[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return;
+      }
+      value = value * 10 + digit;
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        return;
+      }
+    }
+    value = negative ? -value : value;
+    if (value > Integer.MAX_VALUE) {
+      return;
+    }
+    intValue = (int) value;
+    isInt = true;
+  }
+
+  /**
+   * Refills the character buffer from the source or the encoded bytes.
+   *
+   * @return true if at least one more character is available
+   * @throws IllegalStateException if the source fails to read
+   */
+  private boolean fill() {
+    if (exhausted) {
+      return false;
+    }
+    try {
+      int read;
+      do {
+        if (bytes != null) {
+          bufferView.clear();
+          decoder.decode(bytes, bufferView, true);
+          read = bufferView.position() == 0 ? -1 : bufferView.position();
+        } else if (reader != null) {
+          read = reader.read(buffer, 0, buffer.length);
+        } else {
+          bufferView.clear();
+          read = source.read(bufferView);
+        }
+      }
+      while (read == 0);
+      if (read < 0) {
+        exhausted = true;
+        return false;
+      }
+      position = 0;
+      limit = read;
+      return true;
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read animation input: " + e.getMessage());
+    }
+  }
+
+  private static boolean isSpace(char c) {
+    return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f' || c == '\u000B';
+  }
+}
@@ -0,0 +1,205 @@
+package cs3500.animator.view.classes;
+
+import cs3500.animator.model.classes.Bounds;
+import cs3500.animator.model.classes.Easing;
+import cs3500.animator.model.classes.KeyframeTrack;
+import cs3500.animator.model.classes.ModelSnapshot;
+import cs3500.animator.model.classes.ShapeSnapshot;
+import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
+import cs3500.animator.util.AnimationBinaryReader;
+import cs3500.animator.view.interfaces.ExportView;
+import cs3500.animator.view.interfaces.View;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a binary view of the animation model. Writes the canvas, the shapes and each shape's
+ * keyframe track, with the easing curve of every keyframe, in the compact format read by
+ * {@link AnimationBinaryReader}, so an animation can be cached and loaded again without parsing
+ * its text.
+ */
+public class BinaryView implements View, ExportView {
+
+  private EasyAnimatorModelReadOnly model;
+  private OutputStream out;
+  private int tempo;
+
+  /**
+   * Constructs a binary view.
+   *
+   * @param model the model to construct the view from.
+   * @param out   the destination stream to write to.
+   * @throws IllegalArgumentException if the model or stream is null
+   */
+  public BinaryView(EasyAnimatorModelReadOnly model, OutputStream out) {
+    if (model == null || out == null) {
+      throw new IllegalArgumentException("null model or out");
+    }
+    this.model = model;
+    this.out = out;
+    this.tempo = 1;
+  }
+
+  @Override
+  public void display() throws IOException {
+    write(out);
+    out.flush();
+  }
+
+  @Override
+  public void refresh() throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Cannot refresh a binary view");
+  }
+
+  @Override
+  public void setTempo(int tempo) {
+    // the binary format stores ticks, so it does not depend on the tempo
+    this.tempo = tempo;
+  }
+
+  @Override
+  public void export(String fileToExportTo) throws IOException {
+    try (OutputStream file = new BufferedOutputStream(new FileOutputStream(fileToExportTo))) {
+      write(file);
+    }
+  }
+
+  /**
+   * Encodes the model onto the given stream.
+   *
+   * @param dest the stream to write to
+   * @throws IOException if the stream cannot be written to
+   */
+  private void write(OutputStream dest) throws IOException {
+    Encoder encoder = new Encoder(dest);
+    ModelSnapshot snapshot = model.snapshot();
+    List<ShapeSnapshot> shapes = snapshot.getShapes();
+
+    encoder.writeBytes(AnimationBinaryReader.MAGIC, AnimationBinaryReader.MAGIC.length);
+    encoder.writeByte(AnimationBinaryReader.VERSION);
+
+    Bounds bounds = snapshot.getBounds();
+    encoder.writeSigned(bounds.getX());
+    encoder.writeSigned(bounds.getY());
+    encoder.writeSigned(bounds.getWidth());
+    encoder.writeSigned(bounds.getHeight());
+
+    // string table of every shape name and type and every curve other than linear, each written
+    // once
+    Map<String, Integer> indices = new HashMap<>();
+    List<String> strings = new ArrayList<>();
+    int[] nameIndex = new int[shapes.size()];
+    int[] typeIndex = new int[shapes.size()];
+    for (int i = 0; i < shapes.size(); i++) {
+      ShapeSnapshot shape = shapes.get(i);
+      nameIndex[i] = indexOf(shape.getName(), indices, strings);
+      typeIndex[i] = indexOf(shape.getType().name().toLowerCase(), indices, strings);
+      KeyframeTrack track = shape.getKeyframeTrack();
+      for (int j = 1; j < track.size(); j++) {
+        if (!track.getEasing(j).isLinear()) {
+          indexOf(track.getEasing(j).toString(), indices, strings);
+        }
+      }
+    }
+    encoder.writeUnsigned(strings.size());
+    for (String string : strings) {
+      byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+      encoder.writeUnsigned(utf8.length);
+      encoder.writeBytes(utf8, utf8.length);
+    }
+
+    encoder.writeUnsigned(shapes.size());
+    int[] prev = new int[8];
+    int[] curr = new int[8];
+    for (int i = 0; i < shapes.size(); i++) {
+      KeyframeTrack track = shapes.get(i).getKeyframeTrack();
+      encoder.writeUnsigned(nameIndex[i]);
+      encoder.writeUnsigned(typeIndex[i]);
+      encoder.writeUnsigned(track.size());
+      for (int k = 0; k < 8; k++) {
+        prev[k] = 0;
+      }
+      for (int j = 0; j < track.size(); j++) {
+        curr[0] = track.getTime(j);
+        curr[1] = track.getX(j);
+        curr[2] = track.getY(j);
+        curr[3] = track.getWidth(j);
+        curr[4] = track.getHeight(j);
+        curr[5] = track.getRed(j);
+        curr[6] = track.getGreen(j);
+        curr[7] = track.getBlue(j);
+        for (int k = 0; k < 8; k++) {
+          encoder.writeSigned(curr[k] - prev[k]);
+        }
+        // nothing leads to the first keyframe, so its curve is always written as linear
+        Easing curve = track.getEasing(j);
+        encoder.writeUnsigned(j == 0 || curve.isLinear()
+            ? 0 : indices.get(curve.toString()) + 1);
+        int[] swap = prev;
+        prev = curr;
+        curr = swap;
+      }
+    }
+    encoder.flush();
+  }
+
+  private static int indexOf(String string, Map<String, Integer> indices, List<String> strings) {
+    Integer index = indices.get(string);
+    if (index == null) {
+      index = strings.size();
+      strings.add(string);
+      indices.put(string, index);
+    }
+    return index;
+  }
+
+  /**
+   * Writes bytes and variable length integers to a stream through a reusable buffer.
+   */
+  private static final class Encoder {
+    private final OutputStream out;
+    private final byte[] buffer = new byte[8192];
+    private int position;
+
+    Encoder(OutputStream out) {
+      this.out = out;
+    }
+
+    void writeByte(int b) throws IOException {
+      if (position == buffer.length) {
+        flush();
+      }
+      buffer[position++] = (byte) b;
+    }
+
+    void writeBytes(byte[] bytes, int length) throws IOException {
+      for (int i = 0; i < length; i++) {
+        writeByte(bytes[i]);
+      }
+    }
+
+    void writeUnsigned(int value) throws IOException {
+      while ((value & ~0x7F) != 0) {
+        writeByte((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      writeByte(value);
+    }
+
+    void writeSigned(int value) throws IOException {
+      writeUnsigned((value << 1) ^ (value >> 31));
+    }
+
+    void flush() throws IOException {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+}
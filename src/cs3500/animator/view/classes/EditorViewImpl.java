@@ -2,7 +2,9 @@ package cs3500.animator.view.classes;
 
 import cs3500.animator.controller.classes.CommandType;
 import cs3500.animator.controller.interfaces.Controller;
+import cs3500.animator.model.classes.ModelEvent;
 import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
+import cs3500.animator.model.interfaces.ModelListener;
 import cs3500.animator.view.interfaces.EditorView;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
@@ -11,6 +13,7 @@ import java.awt.event.ActionListener;
 import java.awt.event.ItemListener;
 import java.awt.event.KeyListener;
 import java.io.IOException;
+import java.util.List;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JFrame;
@@ -18,7 +21,7 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSlider;
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
 import javax.swing.event.ChangeListener;
 
 /**
@@ -28,6 +31,11 @@ import javax.swing.event.ChangeListener;
  */
 public class EditorViewImpl extends JFrame implements EditorView, ActionListener {
 
+  // the memory the states of a looping animation may be baked into, unless set otherwise
+  private static final long DEFAULT_BAKE_BUDGET = 64L * 1024 * 1024;
+  // the memory drawn frames may be kept in, so replaying them does not draw them again
+  private static final long FRAME_CACHE_BUDGET = 256L * 1024 * 1024;
+
   private EasyAnimatorModelReadOnly model;
   private Controller controller;
   private Appendable out;
@@ -35,9 +43,11 @@ public class EditorViewImpl extends JFrame implements EditorView, ActionListener
 
   private boolean isInMotion;
   private boolean isLooping;
+  private long bakeBudget;
 
   private ViewPanel panel;
-  private Timer timer;
+  private FrameCache frameCache;
+  private PlaybackClock clock;
 
   // buttons and checkboxes to the right of the main animation
   private JButton playPauseButton;
@@ -63,9 +73,15 @@ public class EditorViewImpl extends JFrame implements EditorView, ActionListener
     this.controller = null;
     this.out = out;
     this.tempo = tempo;
-    this.timer = new Timer((1000 * (1 / tempo)), this);
+    this.clock = new PlaybackClock(tempo > 0 ? tempo : 1, new PlaybackClock.Listener() {
+      @Override
+      public void ticked(int ticks) {
+        advance(ticks);
+      }
+    });
     this.tempo = 1;
     this.isLooping = false;
+    this.bakeBudget = DEFAULT_BAKE_BUDGET;
     
     JPanel controlPanel;
     JPanel sliderPanel;
@@ -117,19 +133,67 @@ public class EditorViewImpl extends JFrame implements EditorView, ActionListener
     controlPanel.add(toggleLoopCheckBox, BorderLayout.EAST);
 
     panel = new ViewPanel(model.getShapes());
-    panel.setPreferredSize(new Dimension(750, 750));
+    panel.setCanvas(model.getBounds());
+    frameCache = new FrameCache(FRAME_CACHE_BUDGET);
+    panel.setFrameCache(frameCache);
+    panel.setLayerCompositor(new LayerCompositor());
+    model.addListener(new ModelListener() {
+      @Override
+      public void modelChanged(final List<ModelEvent> events) {
+        SwingUtilities.invokeLater(new Runnable() {
+          @Override
+          public void run() {
+            showChanges(events);
+          }
+        });
+      }
+    });
     JScrollPane scroll = new JScrollPane(panel);
+    scroll.setPreferredSize(new Dimension(750, 750));
     this.add(scroll, BorderLayout.SOUTH);
 
     this.add(controlPanel, BorderLayout.NORTH);
 
     this.isInMotion = true;
-    timer.start();
+    clock.start();
 
     this.pack();
   }
 
 
+  /**
+   * Brings the panel's copies of the changed shapes up to date, leaving the other shapes alone,
+   * and drops the cached frames of the ticks the changes affect.
+   *
+   * @param events the changes made to the model
+   */
+  private void showChanges(List<ModelEvent> events) {
+    for (ModelEvent event : events) {
+      frameCache.invalidate(event.getStartTick(), event.getEndTick());
+      switch (event.getType()) {
+        case SHAPE_REMOVED:
+          panel.removeShape(event.getShapeName());
+          break;
+        case SHAPE_ADDED:
+        case KEYFRAME_INSERTED:
+        case KEYFRAME_UPDATED:
+        case KEYFRAME_DELETED:
+          try {
+            panel.updateShape(model.getShape(event.getShapeName()));
+          } catch (IllegalArgumentException e) {
+            // removed again since, which a later event reports
+          }
+          break;
+        case BOUNDS_CHANGED:
+          panel.setCanvas(model.getBounds());
+          break;
+        default:
+          break;
+      }
+    }
+    panel.repaint();
+  }
+
   @Override
   public void display() throws IOException {
     this.setVisible(true);
@@ -152,22 +216,27 @@ public class EditorViewImpl extends JFrame implements EditorView, ActionListener
       case PLAY_PAUSE:
         this.isInMotion = !isInMotion;
         if (isInMotion) {
-          timer.start();
+          clock.start();
         } else {
-          timer.stop();
+          clock.stop();
         }
         break;
       case LOOP:
         this.isLooping = !isLooping;
         if (isLooping) {
+          // the same ticks are played over and over, so their states are only worked out once
+          panel.startBaking(bakeBudget);
           panel.restart();
+        } else {
+          panel.stopBaking();
         }
         break;
       case SET_SPEED:
-        timer.stop();
         this.tempo = tempo;
-        timer.setDelay(1000 * (1 / tempo));
-        timer.start();
+        // the button sends no tempo, only the slider does
+        if (tempo > 0) {
+          clock.setTempo(tempo);
+        }
         break;
       case EXPORT:
         // TODO add option for looping
@@ -197,12 +266,53 @@ public class EditorViewImpl extends JFrame implements EditorView, ActionListener
 
   @Override
   public void actionPerformed(ActionEvent e) {
-    if (isLooping && panel.getMaxTick() == panel.getTick()) {
-      panel.restart();
+    advance(1);
+  }
+
+  /**
+   * Plays the given number of ticks and draws the frame at the last of them. A looping animation
+   * starts over each time it passes its last tick.
+   *
+   * @param ticks the number of ticks to play
+   */
+  private void advance(int ticks) {
+    while (ticks > 0) {
+      if (isLooping && panel.getTick() >= panel.getMaxTick()) {
+        panel.restart();
+      }
+      int step = ticks;
+      if (isLooping) {
+        step = Math.min(step, Math.max(1, panel.getMaxTick() - panel.getTick()));
+      }
+      panel.advance(step);
+      ticks -= step;
     }
-    panel.animateShapes();
-    panel.repaint();
-    panel.revalidate();
+    panel.repaintChanges();
+  }
+
+  /**
+   * Sets the most memory the states of the animation may be baked into while it loops. Shapes
+   * that do not fit are worked out frame by frame instead. Takes effect the next time looping is
+   * turned on.
+   *
+   * @param bytes the budget in bytes
+   * @throws IllegalArgumentException if the budget is negative
+   */
+  public void setBakeBudget(long bytes) throws IllegalArgumentException {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Budget cannot be negative.");
+    }
+    this.bakeBudget = bytes;
+  }
+
+  /**
+   * Gets the cache of the frames this view has drawn, which counts how often a frame was found in
+   * it.
+   *
+   * @return the frame cache
+   */
+  public FrameCache getFrameCache() {
+    return frameCache;
   }
 
   /**
@@ -0,0 +1,188 @@
+package cs3500.animator.view.classes;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Frames already drawn, kept so that drawing the same tick again at the same size, as restarting,
+ * looping or seeking does, only copies the finished image. Frames are kept within a budget of
+ * bytes, and once it is used up the frame used longest ago is dropped first. The cache counts how
+ * many lookups found a frame and how many did not.
+ *
+ * <p>
+ * A cached frame is only right for as long as the shapes drawn in it do not change, so the ticks a
+ * change to the model affects must be dropped with {@link #invalidate}.
+ * </p>
+ */
+public final class FrameCache {
+
+  private final long budget;
+  private final LinkedHashMap<Key, BufferedImage> frames;
+  private long bytesUsed;
+  private long hits;
+  private long misses;
+
+  /**
+   * The tick and size a frame was drawn at.
+   */
+  private static final class Key {
+    private final int tick;
+    private final int width;
+    private final int height;
+
+    private Key(int tick, int width, int height) {
+      this.tick = tick;
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) other;
+      return tick == that.tick && width == that.width && height == that.height;
+    }
+
+    @Override
+    public int hashCode() {
+      return (tick * 31 + width) * 31 + height;
+    }
+  }
+
+  /**
+   * Constructs an empty cache.
+   *
+   * @param budget the most bytes the cached frames may take up together
+   * @throws IllegalArgumentException if the budget is negative
+   */
+  public FrameCache(long budget) throws IllegalArgumentException {
+    if (budget < 0) {
+      throw new IllegalArgumentException("Budget cannot be negative.");
+    }
+    this.budget = budget;
+    // kept in the order frames were last used in, the least recently used first
+    this.frames = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Gets the frame drawn at the given tick and size, if it is still cached.
+   *
+   * @param tick   the tick
+   * @param width  the width of the frame
+   * @param height the height of the frame
+   * @return the frame, or null if it is not cached
+   */
+  public BufferedImage get(int tick, int width, int height) {
+    BufferedImage frame = frames.get(new Key(tick, width, height));
+    if (frame == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return frame;
+  }
+
+  /**
+   * Caches a frame drawn at the given tick, replacing any frame already cached at that tick and
+   * size. Frames used longest ago are dropped until the new one fits. A frame bigger than the
+   * whole budget is not cached. The cache then owns the image, which must not be drawn into again.
+   *
+   * @param tick  the tick the frame was drawn at
+   * @param frame the frame
+   * @return whether the frame was cached
+   * @throws IllegalArgumentException if the frame is null
+   */
+  public boolean put(int tick, BufferedImage frame) throws IllegalArgumentException {
+    if (frame == null) {
+      throw new IllegalArgumentException("Frame cannot be null.");
+    }
+    Key key = new Key(tick, frame.getWidth(), frame.getHeight());
+    BufferedImage old = frames.remove(key);
+    if (old != null) {
+      bytesUsed -= bytes(old);
+    }
+    long size = bytes(frame);
+    if (size > budget) {
+      return false;
+    }
+    Iterator<BufferedImage> eldest = frames.values().iterator();
+    while (bytesUsed + size > budget) {
+      bytesUsed -= bytes(eldest.next());
+      eldest.remove();
+    }
+    frames.put(key, frame);
+    bytesUsed += size;
+    return true;
+  }
+
+  /**
+   * Drops the frames of every tick from first to last, inclusive, at any size.
+   *
+   * @param first the first tick to drop
+   * @param last  the last tick to drop
+   */
+  public void invalidate(int first, int last) {
+    Iterator<Map.Entry<Key, BufferedImage>> it = frames.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Key, BufferedImage> entry = it.next();
+      int tick = entry.getKey().tick;
+      if (first <= tick && tick <= last) {
+        bytesUsed -= bytes(entry.getValue());
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Drops every cached frame. The hit and miss counts are kept.
+   */
+  public void clear() {
+    frames.clear();
+    bytesUsed = 0;
+  }
+
+  /**
+   * Gets the number of lookups that found a frame.
+   *
+   * @return the hits
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of lookups that did not find a frame.
+   *
+   * @return the misses
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Gets the number of bytes the cached frames take up.
+   *
+   * @return the bytes used
+   */
+  public long getBytesUsed() {
+    return bytesUsed;
+  }
+
+  /**
+   * Gets the number of frames cached.
+   *
+   * @return the number of frames
+   */
+  public int size() {
+    return frames.size();
+  }
+
+  private static long bytes(BufferedImage frame) {
+    // every image type drawn here keeps a pixel in at most four bytes
+    return 4L * frame.getWidth() * frame.getHeight();
+  }
+}
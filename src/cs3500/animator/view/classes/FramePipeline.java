@@ -0,0 +1,141 @@
+package cs3500.animator.view.classes;
+
+import cs3500.animator.model.classes.ModelSnapshot;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Renders a range of ticks and hands every frame, once encoded, to a sink in tick order. With more
+ * than one thread the ticks are split into short runs that are rendered and encoded on a
+ * {@link ForkJoinPool}, each worker drawing into the image of its own {@link FrameRenderer}, while
+ * the calling thread passes the finished runs to the sink in order. Only a few runs are in flight
+ * at once, so the memory used does not grow with the length of the animation.
+ */
+final class FramePipeline {
+
+  // ticks rendered by one task, long enough to keep the overhead of a task small
+  private static final int TICKS_PER_TASK = 8;
+
+  /**
+   * Turns a rendered frame into whatever the sink needs. The frame's image is reused as soon as
+   * this returns, so the result must not refer to it.
+   *
+   * @param <T> the type of an encoded frame
+   */
+  interface Encoder<T> {
+    T encode(BufferedImage frame, int tick) throws IOException;
+  }
+
+  /**
+   * Receives encoded frames, in tick order, on the thread that started the pipeline.
+   *
+   * @param <T> the type of an encoded frame
+   */
+  interface Sink<T> {
+    void accept(int tick, T encoded) throws IOException;
+  }
+
+  private FramePipeline() {
+  }
+
+  /**
+   * Renders the ticks from first to last, inclusive, and passes the encoded frames to the sink.
+   *
+   * @param model   the version of the model to render
+   * @param first   the first tick to render
+   * @param last    the last tick to render
+   * @param threads the number of threads to render on
+   * @param encoder encodes each frame
+   * @param sink    receives the encoded frames in order
+   * @param <T>     the type of an encoded frame
+   * @throws IOException if encoding or the sink fails
+   */
+  static <T> void run(ModelSnapshot model, int first, int last, int threads,
+      Encoder<T> encoder, Sink<T> sink) throws IOException {
+    if (threads <= 1 || last - first < TICKS_PER_TASK) {
+      FrameRenderer renderer = new FrameRenderer(model);
+      for (int tick = first; tick <= last; tick++) {
+        sink.accept(tick, encoder.encode(renderer.render(tick), tick));
+      }
+      return;
+    }
+
+    // one renderer per worker, each with its own shapes to step and draw
+    ConcurrentLinkedQueue<FrameRenderer> renderers = new ConcurrentLinkedQueue<>();
+    for (int i = 0; i < threads; i++) {
+      renderers.add(new FrameRenderer(model));
+    }
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      Deque<ForkJoinTask<List<T>>> inFlight = new ArrayDeque<>();
+      int next = first;
+      int written = first;
+      while (written <= last) {
+        while (next <= last && inFlight.size() < threads * 2) {
+          int end = Math.min(last, next + TICKS_PER_TASK - 1);
+          inFlight.add(pool.submit(new RenderTask<T>(renderers, encoder, next, end)));
+          next = end + 1;
+        }
+        List<T> frames = join(inFlight.poll());
+        for (T frame : frames) {
+          sink.accept(written++, frame);
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private static <T> List<T> join(ForkJoinTask<List<T>> task) throws IOException {
+    try {
+      return task.join();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Renders and encodes a run of consecutive ticks with a renderer borrowed from the pool.
+   */
+  private static final class RenderTask<T> extends RecursiveTask<List<T>> {
+    private static final long serialVersionUID = 1L;
+
+    private final ConcurrentLinkedQueue<FrameRenderer> renderers;
+    private final Encoder<T> encoder;
+    private final int first;
+    private final int last;
+
+    RenderTask(ConcurrentLinkedQueue<FrameRenderer> renderers, Encoder<T> encoder, int first,
+        int last) {
+      this.renderers = renderers;
+      this.encoder = encoder;
+      this.first = first;
+      this.last = last;
+    }
+
+    @Override
+    protected List<T> compute() {
+      FrameRenderer renderer = renderers.poll();
+      try {
+        List<T> frames = new ArrayList<>(last - first + 1);
+        for (int tick = first; tick <= last; tick++) {
+          frames.add(encoder.encode(renderer.render(tick), tick));
+        }
+        return frames;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        renderers.add(renderer);
+      }
+    }
+  }
+}
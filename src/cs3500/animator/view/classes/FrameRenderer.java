@@ -0,0 +1,185 @@
+package cs3500.animator.view.classes;
+
+import cs3500.animator.model.classes.Bounds;
+import cs3500.animator.model.classes.ModelSnapshot;
+import cs3500.animator.model.classes.ShapeSnapshot;
+import cs3500.animator.model.classes.ShapeState;
+import cs3500.animator.model.classes.ShapeType;
+import cs3500.animator.model.classes.TimelineIndex;
+import cs3500.animator.model.interfaces.Animation;
+import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
+import cs3500.animator.model.interfaces.Shape;
+import cs3500.animator.view.interfaces.IViewPanel;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws single frames of an animation into an image held in memory, without a window. The frame
+ * covers the model's canvas, and shapes are drawn the same way the visual view's panel draws them.
+ * One image is reused for every frame, so a frame must be used (written out, copied) before the
+ * next one is rendered.
+ *
+ * <p>
+ * Shapes with keyframes are set straight to their state at the tick being rendered, so frames can
+ * be rendered in any order. Shapes without keyframes can only be stepped through their animations,
+ * so rendering an earlier tick than the last one replays those shapes from the start.
+ * </p>
+ */
+public class FrameRenderer implements IViewPanel {
+
+  private final List<Shape> shapes;
+  private final List<Shape> steppedShapes;
+  private final List<Shape> steppedInitialStates;
+  private final TimelineIndex timeline;
+  private final Bounds bounds;
+  private final BufferedImage image;
+  private final Graphics2D graphics;
+  private final int lastTick;
+  private int steppedTick;
+
+  /**
+   * Constructs a renderer for the given model. The renderer works on its own copies of the
+   * model's shapes.
+   *
+   * @param model the model to render
+   * @throws IllegalArgumentException if the model is null, or its canvas has no area
+   */
+  public FrameRenderer(EasyAnimatorModelReadOnly model) throws IllegalArgumentException {
+    this(snapshotOf(model));
+  }
+
+  /**
+   * Constructs a renderer for the version of a model recorded by the given snapshot.
+   *
+   * @param snapshot the snapshot to render
+   * @throws IllegalArgumentException if the snapshot is null, or its canvas has no area
+   */
+  public FrameRenderer(ModelSnapshot snapshot) throws IllegalArgumentException {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot cannot be null.");
+    }
+    this.bounds = snapshot.getBounds();
+    if (bounds.getWidth() <= 0 || bounds.getHeight() <= 0) {
+      throw new IllegalArgumentException("Canvas must have a positive width and height.");
+    }
+    this.shapes = new ArrayList<>(snapshot.getShapes().size());
+    for (ShapeSnapshot s : snapshot.getShapes()) {
+      shapes.add(s.toShape());
+    }
+    this.steppedShapes = new ArrayList<>();
+    this.steppedInitialStates = new ArrayList<>();
+    this.timeline = new TimelineIndex();
+    int last = 0;
+    for (Shape s : shapes) {
+      timeline.add(s);
+      if (s.getKeyframeTrack().isEmpty()) {
+        steppedShapes.add(s);
+        steppedInitialStates.add(s.copy());
+      }
+      last = Math.max(last, s.getEndTime());
+    }
+    this.lastTick = last;
+    this.image = new BufferedImage(bounds.getWidth(), bounds.getHeight(),
+        BufferedImage.TYPE_INT_RGB);
+    this.graphics = image.createGraphics();
+    this.graphics.translate(-bounds.getX(), -bounds.getY());
+  }
+
+  private static ModelSnapshot snapshotOf(EasyAnimatorModelReadOnly model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null.");
+    }
+    return model.snapshot();
+  }
+
+  /**
+   * Renders the frame at the given tick.
+   *
+   * @param tick the tick to render
+   * @return the image holding the frame, which is reused by the next call
+   * @throws IllegalArgumentException if the tick is negative
+   */
+  public BufferedImage render(int tick) throws IllegalArgumentException {
+    if (tick < 0) {
+      throw new IllegalArgumentException("Cannot render a negative tick.");
+    }
+    stepTo(tick);
+    List<Shape> active = timeline.activeAt(tick);
+    for (Shape s : active) {
+      if (!s.getKeyframeTrack().isEmpty()) {
+        ShapeState state = s.getKeyframeTrack().stateAt(tick);
+        if (state != null) {
+          s.setX(state.getX());
+          s.setY(state.getY());
+          s.setDimensions(state.getWidth(), state.getHeight());
+          s.setColor(state.getColor());
+        }
+      }
+    }
+
+    graphics.setColor(Color.WHITE);
+    graphics.fillRect(bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight());
+    for (Shape s : active) {
+      graphics.setColor(s.getColor());
+      s.drawShape(this, graphics);
+    }
+    return image;
+  }
+
+  /**
+   * Gets the last tick of the animation, the latest end time of any shape.
+   *
+   * @return the last tick
+   */
+  public int getLastTick() {
+    return lastTick;
+  }
+
+  @Override
+  public void drawShape(Shape shape, Graphics2D graphics2D) throws IllegalArgumentException {
+    if ((shape == null) || (graphics2D == null)) {
+      throw new IllegalArgumentException("Null input");
+    }
+    if (shape.getType() == ShapeType.ELLIPSE) {
+      graphics2D.fillOval(shape.getX(), shape.getY(), shape.getFirstDimension(),
+          shape.getSecondDimension());
+    }
+    if (shape.getType() == ShapeType.RECTANGLE) {
+      graphics2D.fillRect(shape.getX(), shape.getY(), shape.getFirstDimension(),
+          shape.getSecondDimension());
+    }
+  }
+
+  /**
+   * Steps the shapes without keyframes through their animations up to and including the given
+   * tick, starting again from their initial state if the tick has already been passed.
+   */
+  private void stepTo(int tick) {
+    if (steppedShapes.isEmpty()) {
+      return;
+    }
+    if (tick < steppedTick) {
+      for (int i = 0; i < steppedShapes.size(); i++) {
+        Shape shape = steppedShapes.get(i);
+        Shape initial = steppedInitialStates.get(i);
+        shape.setX(initial.getX());
+        shape.setY(initial.getY());
+        shape.setDimensions(initial.getFirstDimension(), initial.getSecondDimension());
+        shape.setColor(initial.getColor());
+      }
+      steppedTick = 0;
+    }
+    for (; steppedTick <= tick; steppedTick++) {
+      for (Shape s : steppedShapes) {
+        for (Animation a : s.getAnimations()) {
+          if (a.getStartTime() <= steppedTick && steppedTick <= a.getEndTime()) {
+            a.apply(steppedTick);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package cs3500.animator.view.classes;
+
+import cs3500.animator.model.classes.ModelSnapshot;
+import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
+import cs3500.animator.view.interfaces.View;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import javax.imageio.ImageIO;
+
+/**
+ * Represents a view that renders every tick of the animation to a numbered PNG image in a
+ * directory, from tick 0 to the last tick of the animation. Frames are drawn offscreen, so this
+ * view works without a display, and can be rendered and encoded on several threads at once.
+ */
+public class FramesView implements View {
+
+  private EasyAnimatorModelReadOnly model;
+  private File directory;
+  private int tempo;
+  private int threads;
+
+  /**
+   * Constructs a frames view.
+   *
+   * @param model     the model to render
+   * @param directory the directory to write the frames to, created if it does not exist
+   * @throws IllegalArgumentException if the model or directory is null
+   */
+  public FramesView(EasyAnimatorModelReadOnly model, String directory)
+      throws IllegalArgumentException {
+    if (model == null || directory == null) {
+      throw new IllegalArgumentException("null model or directory");
+    }
+    this.model = model;
+    this.directory = new File(directory);
+    this.tempo = 1;
+    this.threads = 1;
+  }
+
+  @Override
+  public void display() throws IOException {
+    Files.createDirectories(directory.toPath());
+    // one version of the model is rendered throughout, however it is edited meanwhile
+    ModelSnapshot snapshot = model.pin();
+    try {
+      write(snapshot);
+    } finally {
+      model.release(snapshot);
+    }
+  }
+
+  private void write(ModelSnapshot snapshot) throws IOException {
+    int lastTick = new FrameRenderer(snapshot).getLastTick();
+    FramePipeline.run(snapshot, 0, lastTick, threads,
+        new FramePipeline.Encoder<byte[]>() {
+          @Override
+          public byte[] encode(BufferedImage frame, int tick) throws IOException {
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            if (!ImageIO.write(frame, "png", png)) {
+              throw new IOException("No PNG writer available");
+            }
+            return png.toByteArray();
+          }
+        },
+        new FramePipeline.Sink<byte[]>() {
+          @Override
+          public void accept(int tick, byte[] png) throws IOException {
+            Files.write(new File(directory, frameName(tick)).toPath(), png);
+          }
+        });
+  }
+
+  /**
+   * Sets the number of threads frames are rendered and encoded on.
+   *
+   * @param threads the number of threads
+   * @throws IllegalArgumentException if the number is not positive
+   */
+  public void setThreads(int threads) throws IllegalArgumentException {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Must render on at least one thread.");
+    }
+    this.threads = threads;
+  }
+
+  @Override
+  public void refresh() throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Cannot refresh a frames view");
+  }
+
+  @Override
+  public void setTempo(int tempo) {
+    // frames are numbered by tick, so the tempo only matters to whatever plays them back
+    this.tempo = tempo;
+  }
+
+  /**
+   * Gets the file name of the frame at the given tick.
+   *
+   * @param tick the tick
+   * @return the name of the frame's file
+   */
+  static String frameName(int tick) {
+    return String.format("frame%06d.png", tick);
+  }
+}
@@ -0,0 +1,452 @@
+package cs3500.animator.view.classes;
+
+import cs3500.animator.model.classes.Bounds;
+import cs3500.animator.model.classes.KeyframeTrack;
+import cs3500.animator.model.classes.ModelSnapshot;
+import cs3500.animator.model.classes.ShapeSnapshot;
+import cs3500.animator.model.classes.ShapeState;
+import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
+import cs3500.animator.view.interfaces.View;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Represents a view that writes the animation as an animated GIF, from tick 0 to the last tick of
+ * the animation, with the GIF writer that comes with the JDK. Frames are drawn offscreen, so this
+ * view works without a display, and can be rendered on several threads at once.
+ *
+ * <p>
+ * Every frame uses one palette, worked out once from the colours of the shapes and the colours
+ * they fade through between keyframes. Each frame after the first only holds the smallest
+ * rectangle around the pixels that changed, drawn over the frame before it. Ticks that change
+ * nothing are not written; the frame before them is shown for longer instead. A frame is shown for
+ * as long as its ticks last at the view's tempo, to the hundredth of a second a GIF counts in, and
+ * a frame that would be shown for less than that is left out.
+ * </p>
+ */
+public class GifView implements View {
+
+  private static final int MAX_COLORS = 256;
+  // the colours taken along each fade between keyframes, besides its ends
+  private static final int FADE_SAMPLES = 16;
+  private static final int WHITE = 0xFFFFFF;
+  private static final String IMAGE_FORMAT = "javax_imageio_gif_image_1.0";
+  private static final String STREAM_FORMAT = "javax_imageio_gif_stream_1.0";
+
+  private EasyAnimatorModelReadOnly model;
+  private OutputStream out;
+  private int tempo;
+  private int threads;
+  private boolean looping;
+
+  /**
+   * Constructs a GIF view that loops forever.
+   *
+   * @param model the model to render
+   * @param out   the stream to write the GIF to
+   * @param tempo the number of ticks per second
+   * @throws IllegalArgumentException if the model or stream is null, or the tempo not positive
+   */
+  public GifView(EasyAnimatorModelReadOnly model, OutputStream out, int tempo)
+      throws IllegalArgumentException {
+    if (model == null || out == null) {
+      throw new IllegalArgumentException("null model or out");
+    }
+    setTempo(tempo);
+    this.model = model;
+    this.out = out;
+    this.threads = 1;
+    this.looping = true;
+  }
+
+  @Override
+  public void display() throws IOException {
+    // one version of the model is rendered throughout, however it is edited meanwhile
+    ModelSnapshot snapshot = model.pin();
+    try {
+      write(snapshot);
+    } finally {
+      model.release(snapshot);
+    }
+    out.flush();
+  }
+
+  private void write(ModelSnapshot snapshot) throws IOException {
+    Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("gif");
+    if (!writers.hasNext()) {
+      throw new IOException("No GIF writer available");
+    }
+    final ImageWriter writer = writers.next();
+    final Palette palette = new Palette(snapshot);
+    final int lastTick = new FrameRenderer(snapshot).getLastTick();
+    Bounds bounds = snapshot.getBounds();
+    ImageOutputStream stream = ImageIO.createImageOutputStream(out);
+    try {
+      writer.setOutput(stream);
+      final Sequence sequence = new Sequence(writer, palette, bounds.getWidth(),
+          bounds.getHeight());
+      writer.prepareWriteSequence(sequence.streamMetadata());
+      FramePipeline.run(snapshot, 0, lastTick, threads,
+          new FramePipeline.Encoder<byte[]>() {
+            @Override
+            public byte[] encode(BufferedImage frame, int tick) {
+              return palette.index(frame);
+            }
+          },
+          new FramePipeline.Sink<byte[]>() {
+            @Override
+            public void accept(int tick, byte[] pixels) throws IOException {
+              sequence.add(tick, pixels);
+            }
+          });
+      sequence.finish(lastTick + 1);
+      writer.endWriteSequence();
+    } finally {
+      writer.dispose();
+      stream.close();
+    }
+  }
+
+  @Override
+  public void refresh() throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Cannot refresh a GIF view");
+  }
+
+  /**
+   * Sets the number of ticks per second, which the time each frame is shown for follows.
+   *
+   * @param tempo the number of ticks per second
+   * @throws IllegalArgumentException if the tempo is not positive
+   */
+  @Override
+  public void setTempo(int tempo) throws IllegalArgumentException {
+    if (tempo <= 0) {
+      throw new IllegalArgumentException("Tempo must be positive.");
+    }
+    this.tempo = tempo;
+  }
+
+  /**
+   * Sets the number of threads frames are rendered on.
+   *
+   * @param threads the number of threads
+   * @throws IllegalArgumentException if the number is not positive
+   */
+  public void setThreads(int threads) throws IllegalArgumentException {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Must render on at least one thread.");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Sets whether the GIF plays over and over, or stops at its last frame.
+   *
+   * @param looping true to loop forever
+   */
+  public void setLooping(boolean looping) {
+    this.looping = looping;
+  }
+
+  /**
+   * Gets the time from the start at which the given tick is shown, in hundredths of a second.
+   */
+  private long centiseconds(int tick) {
+    return (200L * tick + tempo) / (2L * tempo);
+  }
+
+  /**
+   * The colours every frame is drawn in, and the index in the palette of each colour drawn.
+   */
+  private static final class Palette {
+    private final int[] colors;
+    private final IndexColorModel colorModel;
+    // the palette index of each colour seen so far, nearest colour for those not in the palette
+    private final ConcurrentMap<Integer, Byte> indices;
+
+    private Palette(ModelSnapshot snapshot) {
+      Set<Integer> found = new LinkedHashSet<>();
+      found.add(WHITE);
+      // the colours shapes hold come first, then those they only pass through
+      for (ShapeSnapshot shape : snapshot.getShapes()) {
+        found.add(shape.getColor().getRGB() & WHITE);
+        KeyframeTrack track = shape.getKeyframeTrack();
+        for (int i = 0; i < track.size(); i++) {
+          found.add(track.getRGB(i));
+        }
+      }
+      for (ShapeSnapshot shape : snapshot.getShapes()) {
+        KeyframeTrack track = shape.getKeyframeTrack();
+        for (int i = 1; i < track.size() && found.size() < MAX_COLORS; i++) {
+          if (track.getRGB(i - 1) == track.getRGB(i)) {
+            continue;
+          }
+          int start = track.getTime(i - 1);
+          int span = track.getTime(i) - start;
+          for (int k = 1; k < FADE_SAMPLES && k < span; k++) {
+            ShapeState state = track.stateAt(start + (int) ((long) span * k / FADE_SAMPLES));
+            found.add(state.getColor().getRGB() & WHITE);
+          }
+        }
+      }
+
+      this.colors = new int[Math.min(MAX_COLORS, found.size())];
+      this.indices = new ConcurrentHashMap<>();
+      byte[] r = new byte[colors.length];
+      byte[] g = new byte[colors.length];
+      byte[] b = new byte[colors.length];
+      int i = 0;
+      for (int color : found) {
+        if (i == colors.length) {
+          break;
+        }
+        colors[i] = color;
+        indices.put(color, (byte) i);
+        r[i] = (byte) (color >> 16);
+        g[i] = (byte) (color >> 8);
+        b[i] = (byte) color;
+        i++;
+      }
+      this.colorModel = new IndexColorModel(8, colors.length, r, g, b);
+    }
+
+    /**
+     * Turns a rendered frame into the palette indices of its pixels.
+     */
+    private byte[] index(BufferedImage frame) {
+      int[] pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+      byte[] result = new byte[pixels.length];
+      int last = -1;
+      byte index = 0;
+      for (int p = 0; p < pixels.length; p++) {
+        int color = pixels[p] & WHITE;
+        if (color != last) {
+          index = indexOf(color);
+          last = color;
+        }
+        result[p] = index;
+      }
+      return result;
+    }
+
+    private byte indexOf(int color) {
+      Byte index = indices.get(color);
+      if (index == null) {
+        index = (byte) nearest(color);
+        indices.put(color, index);
+      }
+      return index;
+    }
+
+    private int nearest(int color) {
+      int best = 0;
+      long bestDistance = Long.MAX_VALUE;
+      for (int i = 0; i < colors.length; i++) {
+        long dr = ((color >> 16) & 0xFF) - ((colors[i] >> 16) & 0xFF);
+        long dg = ((color >> 8) & 0xFF) - ((colors[i] >> 8) & 0xFF);
+        long db = (color & 0xFF) - (colors[i] & 0xFF);
+        long distance = dr * dr + dg * dg + db * db;
+        if (distance < bestDistance) {
+          best = i;
+          bestDistance = distance;
+        }
+      }
+      return best;
+    }
+  }
+
+  /**
+   * Writes frames to the GIF as they arrive in tick order. A frame is held back until the next
+   * frame that differs from it arrives, which is when the time it is shown for is known.
+   */
+  private final class Sequence {
+    private final ImageWriter writer;
+    private final Palette palette;
+    private final int width;
+    private final int height;
+    // the picture as the frames written so far leave it, or null before the first
+    private byte[] shown;
+    // the frame held back, and the tick it is first shown at
+    private byte[] pending;
+    private int pendingTick;
+    private boolean first;
+
+    private Sequence(ImageWriter writer, Palette palette, int width, int height) {
+      this.writer = writer;
+      this.palette = palette;
+      this.width = width;
+      this.height = height;
+      this.first = true;
+    }
+
+    /**
+     * Makes the metadata of the whole GIF: the size of the canvas and the palette.
+     */
+    private IIOMetadata streamMetadata() throws IOException {
+      IIOMetadata metadata = writer.getDefaultStreamMetadata(writer.getDefaultWriteParam());
+      IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(STREAM_FORMAT);
+      IIOMetadataNode screen = child(root, "LogicalScreenDescriptor");
+      screen.setAttribute("logicalScreenWidth", Integer.toString(width));
+      screen.setAttribute("logicalScreenHeight", Integer.toString(height));
+      IIOMetadataNode table = child(root, "GlobalColorTable");
+      while (table.getFirstChild() != null) {
+        table.removeChild(table.getFirstChild());
+      }
+      // a colour table holds a power of two entries, the rest left black
+      int size = 2;
+      while (size < palette.colors.length) {
+        size *= 2;
+      }
+      table.setAttribute("sizeOfGlobalColorTable", Integer.toString(size));
+      table.setAttribute("backgroundColorIndex", "0");
+      table.setAttribute("sortFlag", "FALSE");
+      for (int i = 0; i < size; i++) {
+        int color = i < palette.colors.length ? palette.colors[i] : 0;
+        IIOMetadataNode entry = new IIOMetadataNode("ColorTableEntry");
+        entry.setAttribute("index", Integer.toString(i));
+        entry.setAttribute("red", Integer.toString((color >> 16) & 0xFF));
+        entry.setAttribute("green", Integer.toString((color >> 8) & 0xFF));
+        entry.setAttribute("blue", Integer.toString(color & 0xFF));
+        table.appendChild(entry);
+      }
+      metadata.setFromTree(STREAM_FORMAT, root);
+      return metadata;
+    }
+
+    private void add(int tick, byte[] pixels) throws IOException {
+      if (pending == null) {
+        pending = pixels;
+        pendingTick = tick;
+      } else if (Arrays.equals(pending, pixels)) {
+        return;
+      } else if (centiseconds(tick) == centiseconds(pendingTick)) {
+        // the frame held back would not be shown at all, so this one takes its place
+        pending = pixels;
+      } else {
+        write(pending, centiseconds(tick) - centiseconds(pendingTick));
+        pending = pixels;
+        pendingTick = tick;
+      }
+    }
+
+    private void finish(int endTick) throws IOException {
+      if (pending != null) {
+        write(pending, Math.max(1, centiseconds(endTick) - centiseconds(pendingTick)));
+      }
+    }
+
+    /**
+     * Writes the part of the frame that differs from the picture shown so far.
+     */
+    private void write(byte[] pixels, long delay) throws IOException {
+      int left = width;
+      int top = height;
+      int right = -1;
+      int bottom = -1;
+      if (shown == null) {
+        left = 0;
+        top = 0;
+        right = width - 1;
+        bottom = height - 1;
+      } else {
+        for (int y = 0; y < height; y++) {
+          int row = y * width;
+          for (int x = 0; x < width; x++) {
+            if (pixels[row + x] != shown[row + x]) {
+              left = Math.min(left, x);
+              right = Math.max(right, x);
+              top = Math.min(top, y);
+              bottom = y;
+            }
+          }
+        }
+        if (right < 0) {
+          // nothing differs, but the time still has to pass
+          left = 0;
+          top = 0;
+          right = 0;
+          bottom = 0;
+        }
+      }
+      int cropWidth = right - left + 1;
+      int cropHeight = bottom - top + 1;
+
+      BufferedImage image = new BufferedImage(cropWidth, cropHeight,
+          BufferedImage.TYPE_BYTE_INDEXED, palette.colorModel);
+      byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+      for (int y = 0; y < cropHeight; y++) {
+        System.arraycopy(pixels, (top + y) * width + left, data, y * cropWidth, cropWidth);
+      }
+
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      IIOMetadata metadata = writer.getDefaultImageMetadata(new ImageTypeSpecifier(image), param);
+      IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(IMAGE_FORMAT);
+      IIOMetadataNode control = child(root, "GraphicControlExtension");
+      control.setAttribute("disposalMethod", "doNotDispose");
+      control.setAttribute("userInputFlag", "FALSE");
+      control.setAttribute("transparentColorFlag", "FALSE");
+      control.setAttribute("transparentColorIndex", "0");
+      control.setAttribute("delayTime", Long.toString(Math.min(delay, 0xFFFF)));
+      IIOMetadataNode descriptor = child(root, "ImageDescriptor");
+      descriptor.setAttribute("imageLeftPosition", Integer.toString(left));
+      descriptor.setAttribute("imageTopPosition", Integer.toString(top));
+      descriptor.setAttribute("imageWidth", Integer.toString(cropWidth));
+      descriptor.setAttribute("imageHeight", Integer.toString(cropHeight));
+      descriptor.setAttribute("interlaceFlag", "FALSE");
+      // every frame uses the palette of the whole GIF
+      IIOMetadataNode local = child(root, "LocalColorTable");
+      root.removeChild(local);
+      if (first && looping) {
+        IIOMetadataNode extension = new IIOMetadataNode("ApplicationExtension");
+        extension.setAttribute("applicationID", "NETSCAPE");
+        extension.setAttribute("authenticationCode", "2.0");
+        // loop forever
+        extension.setUserObject(new byte[]{1, 0, 0});
+        child(root, "ApplicationExtensions").appendChild(extension);
+      }
+      metadata.setFromTree(IMAGE_FORMAT, root);
+      writer.writeToSequence(new IIOImage(image, null, metadata), param);
+
+      if (shown == null) {
+        shown = pixels.clone();
+      } else {
+        for (int y = top; y <= bottom; y++) {
+          System.arraycopy(pixels, y * width + left, shown, y * width + left, cropWidth);
+        }
+      }
+      first = false;
+    }
+  }
+
+  /**
+   * Gets the child of a metadata node with the given name, adding it if there is none.
+   */
+  private static IIOMetadataNode child(IIOMetadataNode node, String name) {
+    for (int i = 0; i < node.getLength(); i++) {
+      if (node.item(i).getNodeName().equals(name)) {
+        return (IIOMetadataNode) node.item(i);
+      }
+    }
+    IIOMetadataNode child = new IIOMetadataNode(name);
+    node.appendChild(child);
+    return child;
+  }
+}
@@ -0,0 +1,201 @@
+package cs3500.animator.view.classes;
+
+import cs3500.animator.model.classes.KeyframeTrack;
+import cs3500.animator.model.classes.ShapeState;
+import cs3500.animator.model.interfaces.Shape;
+import cs3500.animator.view.interfaces.IViewPanel;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the shapes of a frame into a background layer of shapes that hold still, drawn once into
+ * an image, and the shapes drawn over it each frame. A shape is drawn into the background when its
+ * keyframes hold it in the same state for a while from the tick the layer is built at, and no
+ * shape drawn each frame that should be under it could cross it in that time. The background then
+ * holds until the first of those shapes starts to change, or a new shape comes on, whichever is
+ * first, and is built again at the first tick after that.
+ *
+ * <p>
+ * Shapes without keyframes are only stepped through their animations, so they are always drawn
+ * each frame and taken to cover the whole canvas. Changes to the shapes must be followed by
+ * {@link #invalidate}.
+ * </p>
+ */
+public final class LayerCompositor {
+
+  // the ticks a shape must hold still for to be worth drawing into the background
+  private static final int MIN_HOLD_TICKS = 8;
+  private static final Rectangle EVERYWHERE =
+      new Rectangle(Integer.MIN_VALUE / 2, Integer.MIN_VALUE / 2, Integer.MAX_VALUE,
+          Integer.MAX_VALUE);
+
+  private final List<Shape> animated;
+  private BufferedImage background;
+  // the ticks the background holds for, empty while there is none
+  private int from;
+  private int until;
+  private int builds;
+
+  /**
+   * Constructs a compositor with no background built yet.
+   */
+  public LayerCompositor() {
+    this.animated = new ArrayList<>();
+    invalidate();
+  }
+
+  /**
+   * Checks whether the background built last can be drawn at the given tick and size.
+   *
+   * @param tick   the tick
+   * @param width  the width of the frame
+   * @param height the height of the frame
+   * @return true if the background holds at the tick and is of that size
+   */
+  public boolean covers(int tick, int width, int height) {
+    return background != null && from <= tick && tick <= until
+        && background.getWidth() == width && background.getHeight() == height;
+  }
+
+  /**
+   * Builds the background at the given tick, from the shapes as they are now set.
+   *
+   * @param tick    the tick the shapes are set to
+   * @param active  the shapes to draw at the tick, in drawing order
+   * @param all     every shape, to find the next one to come on
+   * @param width   the width of the frame
+   * @param height  the height of the frame
+   * @param color   the colour behind the shapes
+   * @param painter draws the shapes
+   * @throws IllegalArgumentException if the size is not positive, or anything else is null
+   */
+  public void build(int tick, List<Shape> active, List<Shape> all, int width, int height,
+      Color color, IViewPanel painter) throws IllegalArgumentException {
+    if (active == null || all == null || color == null || painter == null) {
+      throw new IllegalArgumentException("Arguments cannot be null.");
+    }
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Size must be positive.");
+    }
+    // the background lasts until a new shape comes on, which may have to go under it
+    int last = Integer.MAX_VALUE;
+    for (Shape s : all) {
+      if (s.getStartTime() > tick) {
+        last = Math.min(last, s.getStartTime() - 1);
+      }
+    }
+    // and until the first shape held still starts to change
+    boolean[] still = new boolean[active.size()];
+    int[] holds = new int[active.size()];
+    for (int i = 0; i < active.size(); i++) {
+      Shape s = active.get(i);
+      holds[i] = Math.min(s.getKeyframeTrack().holdsUntil(tick), s.getEndTime());
+      still[i] = holds[i] >= tick + MIN_HOLD_TICKS;
+      if (still[i]) {
+        last = Math.min(last, holds[i]);
+      }
+    }
+
+    if (background == null || background.getWidth() != width
+        || background.getHeight() != height) {
+      background = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+    Graphics2D graphics = background.createGraphics();
+    graphics.setColor(color);
+    graphics.fillRect(0, 0, width, height);
+    animated.clear();
+    // where the shapes drawn each frame so far may go, which shapes after them must not cross
+    List<Rectangle> swept = new ArrayList<>();
+    for (int i = 0; i < active.size(); i++) {
+      Shape s = active.get(i);
+      Rectangle bounds = new Rectangle(s.getX(), s.getY(), s.getFirstDimension(),
+          s.getSecondDimension());
+      if (still[i] && !crosses(bounds, swept)) {
+        graphics.setColor(s.getColor());
+        s.drawShape(painter, graphics);
+      } else {
+        animated.add(s);
+        swept.add(still[i] ? bounds : sweep(s, bounds, tick, last));
+      }
+    }
+    graphics.dispose();
+    from = tick;
+    until = last;
+    builds++;
+  }
+
+  private static boolean crosses(Rectangle bounds, List<Rectangle> swept) {
+    for (Rectangle r : swept) {
+      if (r.intersects(bounds)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Finds everywhere the shape may be from one tick to another: within the keyframes it passes,
+   * except on eased segments, whose curves may overshoot and are followed tick by tick.
+   */
+  private static Rectangle sweep(Shape shape, Rectangle bounds, int first, int last) {
+    KeyframeTrack track = shape.getKeyframeTrack();
+    if (track.isEmpty()) {
+      return EVERYWHERE;
+    }
+    Rectangle swept = new Rectangle(bounds);
+    int index = track.indexOf(first);
+    for (int i = Math.max(1, index >= 0 ? index + 1 : -index - 1); i < track.size()
+        && track.getTime(i - 1) <= last; i++) {
+      swept.add(new Rectangle(track.getX(i), track.getY(i), track.getWidth(i),
+          track.getHeight(i)));
+      if (!track.getEasing(i).isLinear() && !track.getEasing(i).isStep()) {
+        int end = Math.min(last, track.getTime(i));
+        for (int tick = Math.max(first, track.getTime(i - 1)); tick <= end; tick++) {
+          ShapeState state = track.stateAt(tick);
+          swept.add(new Rectangle(state.getX(), state.getY(), state.getWidth(),
+              state.getHeight()));
+        }
+      }
+    }
+    return swept;
+  }
+
+  /**
+   * Gets the background built last. It must not be drawn into.
+   *
+   * @return the background, or null if none has been built
+   */
+  public BufferedImage getBackground() {
+    return background;
+  }
+
+  /**
+   * Gets the shapes to draw over the background each frame, in drawing order.
+   *
+   * @return the shapes not in the background
+   */
+  public List<Shape> getAnimated() {
+    return animated;
+  }
+
+  /**
+   * Gets the number of times a background has been built.
+   *
+   * @return the builds so far
+   */
+  public int getBuilds() {
+    return builds;
+  }
+
+  /**
+   * Drops the background, so that it is built again before it is next drawn.
+   */
+  public void invalidate() {
+    from = 0;
+    until = -1;
+  }
+}
@@ -0,0 +1,296 @@
+package cs3500.animator.view.classes;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.SwingUtilities;
+
+/**
+ * Drives playback at a steady number of ticks per second. Ticks fall due at fixed steps of
+ * {@code 1 / tempo} seconds, measured with {@link System#nanoTime()} from when the clock started,
+ * so rounding never piles up into drift. A thread of the clock's own sleeps until the next tick
+ * falls due, and hands the ticks that have fallen due to the listener on the event dispatch thread.
+ *
+ * <p>
+ * Only one hand-over is ever waiting on the event dispatch thread. Ticks that fall due while it
+ * waits are added to it rather than queued behind it, so when drawing cannot keep up, the listener
+ * is told of several ticks at once and draws one frame for them all. The animation then skips
+ * frames but keeps to its tempo, and the event dispatch thread is never flooded.
+ * </p>
+ *
+ * <p>
+ * The time and the thread hand-overs run on can both be given to the clock instead, so that it can
+ * be stepped by hand through {@link #catchUp()} without waiting on a real clock.
+ * </p>
+ */
+public final class PlaybackClock {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * Tells the time, in nanoseconds since some fixed but arbitrary point, like
+   * {@link System#nanoTime()}.
+   */
+  public interface TimeSource {
+
+    /**
+     * Gets the time now.
+     *
+     * @return the time in nanoseconds
+     */
+    long nanoTime();
+  }
+
+  private static final TimeSource SYSTEM_TIME = new TimeSource() {
+    @Override
+    public long nanoTime() {
+      return System.nanoTime();
+    }
+  };
+
+  private static final Executor EVENT_DISPATCH_THREAD = new Executor() {
+    @Override
+    public void execute(Runnable command) {
+      SwingUtilities.invokeLater(command);
+    }
+  };
+
+  /**
+   * Told of the ticks that have passed, on the event dispatch thread unless the clock was given
+   * another to hand them over on.
+   */
+  public interface Listener {
+
+    /**
+     * Moves playback on by the given number of ticks and shows the result.
+     *
+     * @param ticks the number of ticks that have passed since the last call, at least one
+     */
+    void ticked(int ticks);
+  }
+
+  private final Listener listener;
+  private final TimeSource time;
+  private final Executor handOverThread;
+  private final AtomicLong pending;
+  private final AtomicBoolean handOverWaiting;
+  private final Runnable handOver;
+  private final Object lock;
+  private volatile int tempo;
+  private Thread thread;
+  // when the current run of ticks began, and how many of its ticks have fallen due so far
+  private long origin;
+  private long ticksDue;
+  private long delivered;
+
+  /**
+   * Constructs a stopped clock that tells the time with {@link System#nanoTime()} and hands ticks
+   * over on the event dispatch thread.
+   *
+   * @param tempo    the number of ticks per second
+   * @param listener told of the ticks as they pass
+   * @throws IllegalArgumentException if the tempo is not positive or the listener is null
+   */
+  public PlaybackClock(int tempo, Listener listener) throws IllegalArgumentException {
+    this(tempo, listener, SYSTEM_TIME, EVENT_DISPATCH_THREAD);
+  }
+
+  /**
+   * Constructs a stopped clock that tells the time and hands ticks over the given ways.
+   *
+   * @param tempo          the number of ticks per second
+   * @param listener       told of the ticks as they pass
+   * @param time           tells the time
+   * @param handOverThread runs each hand-over of ticks to the listener
+   * @throws IllegalArgumentException if the tempo is not positive, or the listener, time source
+   *                                  or hand-over thread is null
+   */
+  public PlaybackClock(int tempo, Listener listener, TimeSource time, Executor handOverThread)
+      throws IllegalArgumentException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Listener cannot be null.");
+    }
+    if (time == null || handOverThread == null) {
+      throw new IllegalArgumentException("Time source and hand-over thread cannot be null.");
+    }
+    guardAgainstInvalidTempo(tempo);
+    this.listener = listener;
+    this.time = time;
+    this.handOverThread = handOverThread;
+    this.tempo = tempo;
+    this.pending = new AtomicLong();
+    this.handOverWaiting = new AtomicBoolean();
+    this.lock = new Object();
+    this.handOver = new Runnable() {
+      @Override
+      public void run() {
+        handOverWaiting.set(false);
+        long ticks = pending.getAndSet(0);
+        if (ticks > 0) {
+          delivered += ticks;
+          listener.ticked((int) Math.min(ticks, Integer.MAX_VALUE));
+        }
+      }
+    };
+    rebase();
+  }
+
+  /**
+   * Starts the clock, if it is not running. The first tick falls due one step after this.
+   */
+  public void start() {
+    synchronized (lock) {
+      if (thread != null) {
+        return;
+      }
+      rebase();
+      thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          runClock();
+        }
+      }, "playback-clock");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  /**
+   * Stops the clock. Ticks that have fallen due but not yet reached the listener are dropped, so
+   * they are not played in a burst when the clock is started again.
+   */
+  public void stop() {
+    Thread stopped;
+    synchronized (lock) {
+      stopped = thread;
+      thread = null;
+      pending.set(0);
+    }
+    if (stopped != null) {
+      LockSupport.unpark(stopped);
+    }
+  }
+
+  /**
+   * Checks whether the clock is running.
+   *
+   * @return true if the clock has been started and not stopped since
+   */
+  public boolean isRunning() {
+    synchronized (lock) {
+      return thread != null;
+    }
+  }
+
+  /**
+   * Changes the number of ticks per second. Ticks go on falling due at the new tempo from now,
+   * without stopping the clock.
+   *
+   * @param tempo the number of ticks per second
+   * @throws IllegalArgumentException if the tempo is not positive
+   */
+  public void setTempo(int tempo) throws IllegalArgumentException {
+    guardAgainstInvalidTempo(tempo);
+    synchronized (lock) {
+      this.tempo = tempo;
+      rebase();
+      if (thread != null) {
+        LockSupport.unpark(thread);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of ticks per second.
+   *
+   * @return the tempo
+   */
+  public int getTempo() {
+    return tempo;
+  }
+
+  /**
+   * Gets the number of ticks the listener has been told of. Only meant to be read on the thread
+   * ticks are handed over on.
+   *
+   * @return the ticks delivered so far
+   */
+  public long getTicksDelivered() {
+    return delivered;
+  }
+
+  private static void guardAgainstInvalidTempo(int tempo) {
+    if (tempo <= 0) {
+      throw new IllegalArgumentException("Tempo must be positive.");
+    }
+  }
+
+  /**
+   * Starts counting steps afresh from now. Called holding the lock.
+   */
+  private void rebase() {
+    origin = time.nanoTime();
+    ticksDue = 0;
+  }
+
+  /**
+   * Works out how many ticks fall due in the given time. Whole seconds and the rest are counted
+   * apart, so the product with the tempo cannot overflow however long the clock runs.
+   */
+  private long ticksIn(long nanos) {
+    return nanos / NANOS_PER_SECOND * tempo + nanos % NANOS_PER_SECOND * tempo / NANOS_PER_SECOND;
+  }
+
+  /**
+   * Works out the time from the start of a run until the given tick falls due, rounded up to the
+   * nanosecond, counting whole seconds and the rest apart like {@link #ticksIn(long)}.
+   */
+  private long nanosUntil(long ticks) {
+    return ticks / tempo * NANOS_PER_SECOND
+        + (ticks % tempo * NANOS_PER_SECOND + tempo - 1) / tempo;
+  }
+
+  /**
+   * Adds every tick that has fallen due by now to the pending count, and makes sure a hand-over is
+   * waiting to tell the listener of them. The clock's own thread does this each time it wakes, so
+   * this need only be called on a clock that is stepped by hand.
+   *
+   * @return the nanoseconds until the next tick falls due
+   */
+  public long catchUp() {
+    synchronized (lock) {
+      long now = time.nanoTime();
+      long due = ticksIn(now - origin);
+      if (due > ticksDue) {
+        pending.addAndGet(due - ticksDue);
+        ticksDue = due;
+        if (handOverWaiting.compareAndSet(false, true)) {
+          handOverThread.execute(handOver);
+        }
+      }
+      // the exact time the next tick falls due, rounded up to the nanosecond
+      return origin + nanosUntil(ticksDue + 1) - now;
+    }
+  }
+
+  /**
+   * The clock thread: wakes when the next tick falls due and catches up with the ticks due by then.
+   */
+  private void runClock() {
+    Thread self = Thread.currentThread();
+    while (true) {
+      long wait;
+      synchronized (lock) {
+        if (thread != self) {
+          return;
+        }
+        wait = catchUp();
+      }
+      if (wait > 0) {
+        LockSupport.parkNanos(this, wait);
+      }
+    }
+  }
+}
@@ -3,19 +3,20 @@ package cs3500.animator.view.classes;
 
 import cs3500.animator.model.interfaces.Animation;
 import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
-import cs3500.animator.model.interfaces.Shape;
 import cs3500.animator.view.interfaces.ExportView;
 import cs3500.animator.view.interfaces.View;
 import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a svg view of the animation model. Outputs an svg file that will display
- * the animation in any svg viewer that supports animation.
+ * the animation in any svg viewer that supports animation. The document is written to the output
+ * as it is generated, see {@link SVGWriter}.
  */
 public class SVGView implements View, ExportView {
 
@@ -23,7 +24,6 @@ public class SVGView implements View, ExportView {
   private EasyAnimatorModelReadOnly model;
   private Appendable out;
   private int tempo;
-  private boolean isLooping;
 
 
   /**
@@ -40,56 +40,11 @@ public class SVGView implements View, ExportView {
     this.model = model;
     this.out = out;
     this.tempo = tempo;
-    this.isLooping = false;
   }
 
   @Override
   public void display() throws IOException {
-    List<Shape> shapes = model.getShapes();
-    String boundBox = "\"" + model.getBounds().getX() + " " + model.getBounds().getY() + " " +
-        model.getBounds().getWidth() + " " + model.getBounds().getHeight() + "\"";
-
-    // normal SVG header
-    out.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1000\" " +
-        "height=\"1000\"" + " viewBox=" + boundBox + " version=\"1.1\">\n");
-
-    // used for loop back
-    int currentDuration;
-    int longestDuration = 0;
-    int xReset = shapes.get(0).getX();
-    for (Shape shape : shapes) {
-      for (Animation animation : shape.getAnimations()) {
-        currentDuration = (animation.getEndTime() - animation.getStartTime() / tempo) * 1000;
-        longestDuration += currentDuration;
-      }
-    }
-    out.append("<ellipse>\n");
-    if (isLooping) {
-      out.append(String.format("<animate id=\"base\" begin = \"0; base.end\" " +
-                      "dur=\"%dms\" attributeName=\"visibility\" from=\"hide\" to=\"hide\"/>",
-              longestDuration + 10));
-    }
-    else {
-      out.append(String.format("<animate id=\"base\" begin = \"0\" " +
-                      "dur=\"%dms\" attributeName=\"visibility\" from=\"hide\" to=\"hide\"/>",
-              longestDuration + 10));
-    }
-    out.append("</ellipse>\n");
-
-    // iterate through shapes
-    // shapes know their animations, and so generate SVG outputs of their animations.
-    for (Shape shape : shapes) {
-      out.append(shape.toSVG(tempo, isLooping));
-    }
-
-    // reset all attributes for loop back
-    if (isLooping) {
-      out.append(String.format("<animate attributeType=\"xml\" begin=\"base.end\" dur =\"1ms\"" +
-                      " attributeName=\"x\" to=\"%d\" fill =\"freeze\"/>",
-              xReset));
-    }
-
-    out.append("</svg>");
+    new SVGWriter(out, tempo).write(model);
   }
 
   @Override
@@ -120,9 +75,9 @@ public class SVGView implements View, ExportView {
 
   @Override
   public void export(String fileToExportTo) throws IOException {
-    BufferedWriter writer = new BufferedWriter(new FileWriter(new File(fileToExportTo)));
-    writer.write(out.toString());
-    writer.flush();
-    writer.close();
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+        new FileOutputStream(fileToExportTo), StandardCharsets.UTF_8))) {
+      new SVGWriter(writer, tempo).write(model);
+    }
   }
 }
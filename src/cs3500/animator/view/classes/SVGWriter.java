@@ -0,0 +1,344 @@
+package cs3500.animator.view.classes;
+
+import cs3500.animator.model.classes.Bounds;
+import cs3500.animator.model.classes.Easing;
+import cs3500.animator.model.classes.KeyframeTrack;
+import cs3500.animator.model.classes.ModelSnapshot;
+import cs3500.animator.model.classes.ShapeSnapshot;
+import cs3500.animator.model.classes.ShapeType;
+import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.util.List;
+
+/**
+ * Writes the SVG document of an animation straight to its destination, element by element, as it
+ * walks each shape's keyframe track. Text is gathered in one reusable character buffer, with
+ * numbers written into it digit by digit, so no strings are formatted or built up along the way
+ * and the document is never held in memory as a whole.
+ *
+ * <p>
+ * The document is laid out like the one shapes used to write from their animations: the same
+ * header, with a width and height of 1000, the same {@code base} element, both visibility
+ * {@code set} elements straight after each shape's opening tag and no line break after the closing
+ * {@code svg} tag. Each keyframe segment becomes one {@code animate} element per attribute that
+ * changes over it. A segment with an easing curve other than linear has its animate elements
+ * timed by the same curve, as a spline, or as a discrete jump for a step.
+ * </p>
+ *
+ * <p>
+ * Ellipses with keyframes are given the center and radii of their bounding box, which is where
+ * the visual view draws them. Ellipses written from their animations still take their position
+ * and size as the center and radii, as before.
+ * </p>
+ */
+final class SVGWriter {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Appendable out;
+  private final Writer writer;
+  private final int tempo;
+  private final char[] buffer;
+  private int position;
+
+  /**
+   * Constructs a writer.
+   *
+   * @param out   the destination of the document
+   * @param tempo the number of ticks per second
+   * @throws IllegalArgumentException if the destination is null or the tempo is not positive
+   */
+  SVGWriter(Appendable out, int tempo) throws IllegalArgumentException {
+    if (out == null) {
+      throw new IllegalArgumentException("null out");
+    }
+    if (tempo <= 0) {
+      throw new IllegalArgumentException("Tempo must be positive.");
+    }
+    this.out = out;
+    this.writer = out instanceof Writer ? (Writer) out : null;
+    this.tempo = tempo;
+    this.buffer = new char[BUFFER_SIZE];
+  }
+
+  /**
+   * Writes the SVG document of the given model. The destination is not flushed or closed.
+   *
+   * @param model the model to write
+   * @throws IOException if the destination cannot be written to
+   */
+  void write(EasyAnimatorModelReadOnly model) throws IOException {
+    ModelSnapshot snapshot = model.snapshot();
+    List<ShapeSnapshot> shapes = snapshot.getShapes();
+    Bounds bounds = snapshot.getBounds();
+    text("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1000\" height=\"1000\" viewBox=\"");
+    number(bounds.getX());
+    text(" ");
+    number(bounds.getY());
+    text(" ");
+    number(bounds.getWidth());
+    text(" ");
+    number(bounds.getHeight());
+    text("\" version=\"1.1\">\n");
+
+    text("<ellipse>\n<animate id=\"base\" begin = \"0\" dur=\"10ms\" "
+        + "attributeName=\"visibility\" from=\"hide\" to=\"hide\"/></ellipse>\n");
+    for (ShapeSnapshot shape : shapes) {
+      if (shape.getKeyframeTrack().isEmpty()) {
+        flush();
+        out.append(shape.toSVG(tempo));
+      } else {
+        writeShape(shape);
+      }
+    }
+    text("</svg>");
+    flush();
+  }
+
+  private void writeShape(ShapeSnapshot shape) throws IOException {
+    KeyframeTrack track = shape.getKeyframeTrack();
+    boolean ellipse = shape.getType() == ShapeType.ELLIPSE;
+    int last = track.size() - 1;
+
+    text(ellipse ? "<ellipse xmlns=\"http://www.w3.org/2000/svg\" id=\""
+        : "<rect xmlns=\"http://www.w3.org/2000/svg\" id=\"");
+    escaped(shape.getName());
+    text("\" ");
+    writePlacement(ellipse, track, 0);
+    text("fill=\"");
+    color(track.getRGB(0));
+    text("\" visibility=\"hidden\">\n");
+
+    text("<set attributeType=\"xml\" begin=\"");
+    millis(track.getTime(0));
+    text("ms\" attributeName=\"visibility\" to=\"visible\"/>\n");
+    text("<set attributeType=\"xml\" begin=\"");
+    millis(track.getTime(last));
+    text("ms\" attributeName=\"visibility\" to=\"hidden\"/>\n");
+    for (int i = 1; i <= last; i++) {
+      writeSegment(ellipse, track, i - 1, i);
+    }
+    text(ellipse ? "</ellipse>\n" : "</rect>\n");
+  }
+
+  /**
+   * Writes the position and size attributes of the keyframe at the given index.
+   */
+  private void writePlacement(boolean ellipse, KeyframeTrack track, int index)
+      throws IOException {
+    int x = track.getX(index);
+    int y = track.getY(index);
+    int w = track.getWidth(index);
+    int h = track.getHeight(index);
+    if (ellipse) {
+      attribute("cx", 2L * x + w, true);
+      attribute("cy", 2L * y + h, true);
+      attribute("rx", w, true);
+      attribute("ry", h, true);
+    } else {
+      attribute("x", x, false);
+      attribute("y", y, false);
+      attribute("width", w, false);
+      attribute("height", h, false);
+    }
+  }
+
+  private void attribute(String name, long value, boolean halves) throws IOException {
+    text(name);
+    text("=\"");
+    if (halves) {
+      halves(value);
+    } else {
+      number(value);
+    }
+    text("\" ");
+  }
+
+  /**
+   * Writes the animate elements for the attributes that change between two keyframes.
+   */
+  private void writeSegment(boolean ellipse, KeyframeTrack track, int from, int to)
+      throws IOException {
+    int start = track.getTime(from);
+    int end = track.getTime(to);
+    Easing curve = track.getEasing(to);
+    int x0 = track.getX(from);
+    int y0 = track.getY(from);
+    int w0 = track.getWidth(from);
+    int h0 = track.getHeight(from);
+    int x1 = track.getX(to);
+    int y1 = track.getY(to);
+    int w1 = track.getWidth(to);
+    int h1 = track.getHeight(to);
+    if (ellipse) {
+      animate(start, end, curve, "cx", 2L * x0 + w0, 2L * x1 + w1, true);
+      animate(start, end, curve, "cy", 2L * y0 + h0, 2L * y1 + h1, true);
+      animate(start, end, curve, "rx", w0, w1, true);
+      animate(start, end, curve, "ry", h0, h1, true);
+    } else {
+      animate(start, end, curve, "x", x0, x1, false);
+      animate(start, end, curve, "y", y0, y1, false);
+      animate(start, end, curve, "width", w0, w1, false);
+      animate(start, end, curve, "height", h0, h1, false);
+    }
+    int rgb0 = track.getRGB(from);
+    int rgb1 = track.getRGB(to);
+    if (rgb0 != rgb1) {
+      open(start, end, "fill", curve);
+      color(rgb0);
+      text("\" to=\"");
+      color(rgb1);
+      text("\" fill=\"freeze\"/>\n");
+    }
+  }
+
+  /**
+   * Writes an animate element for one attribute, if its value changes.
+   */
+  private void animate(int start, int end, Easing curve, String name, long from, long to,
+      boolean halves) throws IOException {
+    if (from == to) {
+      return;
+    }
+    open(start, end, name, curve);
+    if (halves) {
+      halves(from);
+    } else {
+      number(from);
+    }
+    text("\" to=\"");
+    if (halves) {
+      halves(to);
+    } else {
+      number(to);
+    }
+    text("\" fill=\"freeze\"/>\n");
+  }
+
+  private void open(int start, int end, String name, Easing curve) throws IOException {
+    text("<animate xmlns=\"http://www.w3.org/2000/svg\" attributeType=\"xml\" begin=\"");
+    millis(start);
+    text("ms\" dur=\"");
+    millis((long) end - start);
+    text("ms\" attributeName=\"");
+    text(name);
+    if (curve.isStep()) {
+      text("\" calcMode=\"discrete\" keyTimes=\"0;1");
+    } else if (!curve.isLinear()) {
+      text("\" calcMode=\"spline\" keyTimes=\"0;1\" keySplines=\"");
+      double[] points = curve.getControlPoints();
+      for (int i = 0; i < points.length; i++) {
+        if (i > 0) {
+          text(" ");
+        }
+        // SVG takes no exponents, which Double.toString gives for small and large values
+        text(BigDecimal.valueOf(points[i]).stripTrailingZeros().toPlainString());
+      }
+    }
+    text("\" from=\"");
+  }
+
+  private void color(int rgb) throws IOException {
+    text("rgb(");
+    number((rgb >> 16) & 0xFF);
+    text(",");
+    number((rgb >> 8) & 0xFF);
+    text(",");
+    number(rgb & 0xFF);
+    text(")");
+  }
+
+  private void millis(long ticks) throws IOException {
+    number(ticks * 1000 / tempo);
+  }
+
+  /**
+   * Writes a number of halves, such as twice the center of an ellipse, as a decimal.
+   */
+  private void halves(long value) throws IOException {
+    if (value < 0) {
+      text("-");
+      value = -value;
+    }
+    number(value >> 1);
+    if ((value & 1) != 0) {
+      text(".5");
+    }
+  }
+
+  private void number(long value) throws IOException {
+    if (position + 20 > buffer.length) {
+      flush();
+    }
+    if (value < 0) {
+      buffer[position++] = '-';
+    } else {
+      value = -value;
+    }
+    // digits are worked out on the negative value, so the smallest long needs no special case
+    int start = position;
+    do {
+      buffer[position++] = (char) ('0' - (value % 10));
+      value /= 10;
+    }
+    while (value != 0);
+    for (int i = start, j = position - 1; i < j; i++, j--) {
+      char swap = buffer[i];
+      buffer[i] = buffer[j];
+      buffer[j] = swap;
+    }
+  }
+
+  private void text(String text) throws IOException {
+    int length = text.length();
+    if (position + length > buffer.length) {
+      flush();
+      if (length > buffer.length) {
+        out.append(text);
+        return;
+      }
+    }
+    text.getChars(0, length, buffer, position);
+    position += length;
+  }
+
+  private void escaped(String text) throws IOException {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '&':
+          text("&amp;");
+          break;
+        case '<':
+          text("&lt;");
+          break;
+        case '>':
+          text("&gt;");
+          break;
+        case '"':
+          text("&quot;");
+          break;
+        default:
+          if (position == buffer.length) {
+            flush();
+          }
+          buffer[position++] = c;
+      }
+    }
+  }
+
+  private void flush() throws IOException {
+    if (position == 0) {
+      return;
+    }
+    if (writer != null) {
+      writer.write(buffer, 0, position);
+    } else {
+      out.append(CharBuffer.wrap(buffer, 0, position));
+    }
+    position = 0;
+  }
+}
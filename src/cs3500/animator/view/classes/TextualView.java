@@ -1,7 +1,8 @@
 package cs3500.animator.view.classes;
 
+import cs3500.animator.model.classes.ModelSnapshot;
+import cs3500.animator.model.classes.ShapeSnapshot;
 import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
-import cs3500.animator.model.interfaces.Shape;
 import cs3500.animator.view.interfaces.ExportView;
 import cs3500.animator.view.interfaces.View;
 import java.io.IOException;
@@ -34,10 +35,11 @@ public class TextualView implements View, ExportView {
 
   @Override
   public void display() throws IOException {
+    ModelSnapshot snapshot = model.snapshot();
     StringBuilder modelPrint = new StringBuilder();
-    modelPrint.append(model.getBounds().toString());
+    modelPrint.append(snapshot.getBounds().toString());
     modelPrint.append("\n");
-    for (Shape shape : model.getShapes()) {
+    for (ShapeSnapshot shape : snapshot.getShapes()) {
       modelPrint.append(shape.toString());
     }
     out.append(modelPrint.toString());
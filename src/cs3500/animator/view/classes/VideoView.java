@@ -0,0 +1,178 @@
+package cs3500.animator.view.classes;
+
+import cs3500.animator.model.classes.Bounds;
+import cs3500.animator.model.classes.ModelSnapshot;
+import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
+import cs3500.animator.view.interfaces.View;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a view that streams every tick of the animation, from tick 0 to the last tick, as
+ * uncompressed video frames onto a channel, for a video encoder to read as they come. Frames are
+ * drawn offscreen, so this view works without a display. Each frame is converted into one buffer,
+ * which is written out before the next frame is drawn, so only one frame is ever held besides the
+ * image it is drawn in.
+ *
+ * <p>
+ * Frames are written either as a YUV4MPEG2 stream, whose header gives the size of the canvas and
+ * the tempo as the frame rate, with full resolution BT.601 colour (4:4:4), or as bare 24 bit RGB
+ * pixels, with nothing but the frames, for encoders told the size and rate themselves.
+ * </p>
+ */
+public class VideoView implements View {
+
+  /**
+   * The ways frames can be written.
+   */
+  public enum Format {
+    /**
+     * A YUV4MPEG2 stream, with a header, each frame's Y, U and V planes in full.
+     */
+    Y4M,
+
+    /**
+     * Frames of red, green and blue bytes for each pixel, row by row, with no header.
+     */
+    RGB
+  }
+
+  private static final byte[] FRAME_HEADER = "FRAME\n".getBytes(StandardCharsets.US_ASCII);
+
+  private EasyAnimatorModelReadOnly model;
+  private WritableByteChannel channel;
+  private Format format;
+  private int tempo;
+
+  /**
+   * Constructs a video view.
+   *
+   * @param model   the model to render
+   * @param channel the channel to write the frames to
+   * @param format  the way to write the frames
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public VideoView(EasyAnimatorModelReadOnly model, WritableByteChannel channel, Format format)
+      throws IllegalArgumentException {
+    if (model == null || channel == null || format == null) {
+      throw new IllegalArgumentException("null model, channel or format");
+    }
+    this.model = model;
+    this.channel = channel;
+    this.format = format;
+    this.tempo = 1;
+  }
+
+  @Override
+  public void display() throws IOException {
+    // one version of the model is rendered throughout, however it is edited meanwhile
+    ModelSnapshot snapshot = model.pin();
+    try {
+      write(snapshot);
+    } finally {
+      model.release(snapshot);
+    }
+  }
+
+  private void write(ModelSnapshot snapshot) throws IOException {
+    int lastTick = new FrameRenderer(snapshot).getLastTick();
+    Bounds bounds = snapshot.getBounds();
+    final int pixels = bounds.getWidth() * bounds.getHeight();
+    if (format == Format.Y4M) {
+      writeFully(ByteBuffer.wrap(String.format("YUV4MPEG2 W%d H%d F%d:1 Ip A1:1 C444\n",
+          bounds.getWidth(), bounds.getHeight(), tempo).getBytes(StandardCharsets.US_ASCII)));
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(format == Format.Y4M
+        ? FRAME_HEADER.length + 3 * pixels : 3 * pixels);
+    // frames are written as they are drawn, so one buffer does for them all
+    FramePipeline.run(snapshot, 0, lastTick, 1,
+        new FramePipeline.Encoder<ByteBuffer>() {
+          @Override
+          public ByteBuffer encode(BufferedImage frame, int tick) {
+            int[] rgb = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+            if (format == Format.Y4M) {
+              toYuv(rgb, pixels, buffer.array());
+            } else {
+              toRgb(rgb, pixels, buffer.array());
+            }
+            buffer.clear();
+            return buffer;
+          }
+        },
+        new FramePipeline.Sink<ByteBuffer>() {
+          @Override
+          public void accept(int tick, ByteBuffer frame) throws IOException {
+            writeFully(frame);
+          }
+        });
+  }
+
+  private void writeFully(ByteBuffer bytes) throws IOException {
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+  }
+
+  private static void toRgb(int[] rgb, int pixels, byte[] out) {
+    int k = 0;
+    for (int p = 0; p < pixels; p++) {
+      int color = rgb[p];
+      out[k++] = (byte) (color >> 16);
+      out[k++] = (byte) (color >> 8);
+      out[k++] = (byte) color;
+    }
+  }
+
+  /**
+   * Writes the frame header and the Y, U and V planes of a frame, in the studio range of BT.601.
+   */
+  private static void toYuv(int[] rgb, int pixels, byte[] out) {
+    System.arraycopy(FRAME_HEADER, 0, out, 0, FRAME_HEADER.length);
+    int y = FRAME_HEADER.length;
+    int u = y + pixels;
+    int v = u + pixels;
+    // shapes are drawn in few colours, so the last one converted is usually the next one needed
+    int last = -1;
+    byte luma = 0;
+    byte blue = 0;
+    byte red = 0;
+    for (int p = 0; p < pixels; p++) {
+      int color = rgb[p] & 0xFFFFFF;
+      if (color != last) {
+        int r = color >> 16;
+        int g = (color >> 8) & 0xFF;
+        int b = color & 0xFF;
+        luma = (byte) (((66 * r + 129 * g + 25 * b + 128) >> 8) + 16);
+        blue = (byte) (((-38 * r - 74 * g + 112 * b + 128) >> 8) + 128);
+        red = (byte) (((112 * r - 94 * g - 18 * b + 128) >> 8) + 128);
+        last = color;
+      }
+      out[y + p] = luma;
+      out[u + p] = blue;
+      out[v + p] = red;
+    }
+  }
+
+  @Override
+  public void refresh() throws UnsupportedOperationException {
+    throw new UnsupportedOperationException("Cannot refresh a video view");
+  }
+
+  /**
+   * Sets the number of ticks per second, written as the frame rate of a YUV4MPEG2 stream.
+   *
+   * @param tempo the number of ticks per second
+   * @throws IllegalArgumentException if the tempo is not positive
+   */
+  @Override
+  public void setTempo(int tempo) throws IllegalArgumentException {
+    if (tempo <= 0) {
+      throw new IllegalArgumentException("Tempo must be positive.");
+    }
+    this.tempo = tempo;
+  }
+}
@@ -2,6 +2,10 @@ package cs3500.animator.view.classes;
 
 import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
 import cs3500.animator.view.interfaces.View;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * Handles delegation of creating different views in the form of either textual, SVG, or visual.
@@ -13,6 +17,8 @@ public class ViewFactory {
   private String view;
   private EasyAnimatorModelReadOnly model;
   private Appendable output;
+  private OutputStream stream;
+  private String directory;
   private View desiredView;
 
   /**
@@ -36,6 +42,72 @@ public class ViewFactory {
     desiredView = new TextualView(this.model, this.output);
   }
 
+  /**
+   * Constructs a View Factory that can also create views that write bytes rather than text, such
+   * as the binary, GIF and video views. Those views write to the given stream, text views to the
+   * given output.
+   *
+   * @param view    the specified view
+   * @param model   the model to be viewed
+   * @param output  the specified output of text views
+   * @param stream  the stream views that write bytes write to
+   * @throws IllegalArgumentException if the view or model is null
+   */
+  public ViewFactory(String view, EasyAnimatorModelReadOnly model, Appendable output,
+                     OutputStream stream) throws IllegalArgumentException {
+    this(view, model, output);
+    this.stream = stream;
+  }
+
+  /**
+   * Constructs a View Factory for views that write many files into a directory, such as the
+   * frames view.
+   *
+   * @param view      the specified view
+   * @param model     the model to be viewed
+   * @param directory the directory those views write into
+   * @throws IllegalArgumentException if the view or model is null
+   */
+  public ViewFactory(String view, EasyAnimatorModelReadOnly model, String directory)
+      throws IllegalArgumentException {
+    this(view, model, new StringBuilder());
+    this.directory = directory;
+  }
+
+  /**
+   * Checks whether the given type of view writes bytes, and so needs to be made by a factory
+   * given an output stream.
+   *
+   * @param view the specified view
+   * @return true if the view needs an output stream
+   */
+  public static boolean isStreamView(String view) {
+    return "binary".equals(view) || "gif".equals(view) || "y4m".equals(view)
+        || "rgb".equals(view);
+  }
+
+  /**
+   * Checks whether the given type of view writes one text document to its output and is then
+   * done, so its output can go straight to a file.
+   *
+   * @param view the specified view
+   * @return true if the view writes a single document
+   */
+  public static boolean isDocumentView(String view) {
+    return "text".equals(view) || "svg".equals(view);
+  }
+
+  /**
+   * Checks whether the given type of view writes into a directory, and so needs to be made by a
+   * factory given a directory.
+   *
+   * @param view the specified view
+   * @return true if the view needs a directory
+   */
+  public static boolean isDirectoryView(String view) {
+    return "frames".equals(view);
+  }
+
   /**
    * Creates and returns the type of view specified by the String specified in the constructor for
    * this class.
@@ -53,12 +125,48 @@ public class ViewFactory {
     if (view.equals("edit")) {
       desiredView = new EditorViewImpl(this.model, this.output, this.model.getTempo());
     }
+    if (view.equals("binary")) {
+      if (stream == null) {
+        throw new IllegalStateException("The binary view needs an output stream.");
+      }
+      desiredView = new BinaryView(this.model, this.stream);
+    }
+    if (view.equals("gif")) {
+      if (stream == null) {
+        throw new IllegalStateException("The gif view needs an output stream.");
+      }
+      desiredView = new GifView(this.model, this.stream, this.model.getTempo());
+    }
+    if (view.equals("y4m") || view.equals("rgb")) {
+      if (stream == null) {
+        throw new IllegalStateException("The " + view + " view needs an output stream.");
+      }
+      desiredView = new VideoView(this.model, channelOf(this.stream),
+          view.equals("y4m") ? VideoView.Format.Y4M : VideoView.Format.RGB);
+      desiredView.setTempo(this.model.getTempo());
+    }
+    if (view.equals("frames")) {
+      if (directory == null) {
+        throw new IllegalStateException("The frames view needs an output directory.");
+      }
+      desiredView = new FramesView(this.model, this.directory);
+    }
     if (view.equals("provider")) {
       desiredView = new EditorViewImpl(this.model, this.output, this.model.getTempo());
     }
     return this.desiredView;
   }
 
+  /**
+   * Gets a channel onto the given stream, the file's own channel when the stream writes a file.
+   */
+  private static WritableByteChannel channelOf(OutputStream stream) {
+    if (stream instanceof FileOutputStream) {
+      return ((FileOutputStream) stream).getChannel();
+    }
+    return Channels.newChannel(stream);
+  }
+
   /**
    * Sets the output path for the view specified by the view factory.
    *
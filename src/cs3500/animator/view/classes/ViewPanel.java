@@ -1,13 +1,22 @@
 package cs3500.animator.view.classes;
 
+import cs3500.animator.model.classes.BakedTimeline;
+import cs3500.animator.model.classes.ShapeState;
 import cs3500.animator.model.classes.ShapeType;
+import cs3500.animator.model.classes.SpatialIndex;
+import cs3500.animator.model.classes.TimelineIndex;
 import cs3500.animator.model.interfaces.Animation;
+import cs3500.animator.model.interfaces.BoundsReadOnly;
 import cs3500.animator.view.interfaces.IViewPanel;
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 
 import java.util.Map;
@@ -23,10 +32,37 @@ import cs3500.animator.model.interfaces.Shape;
 public class ViewPanel extends JPanel implements IViewPanel {
 
   private List<Shape> shapes;
+  private List<Shape> steppedShapes;
+  private TimelineIndex timeline;
+  // where the shapes were last placed, to draw only those in the part of the panel being painted
+  private SpatialIndex places;
   private List<Shape> initialShapesState;
   private Map<Shape,Boolean> visibleShapes;
+  // the states of shapes baked for looping, or null when playing without them
+  private BakedTimeline baked;
+  // frames already drawn, or null when every frame is drawn shape by shape
+  private FrameCache frameCache;
+  // the shapes holding still drawn once into a background, or null when all are drawn each frame
+  private LayerCompositor layers;
+  // the tick the shapes were last set to, or -1 if they have not been set since a restart
+  private int shownTick;
   private int tick;
   private int maxTick;
+  // where each shape in the last frame was placed, and the part of the panel that has changed
+  // since it was last repainted, or null if nothing has
+  private Map<Shape, Placement> placements;
+  private Rectangle dirty;
+  private int frameCount;
+
+  /**
+   * Where a shape was placed in a frame, and the colour it was drawn in.
+   */
+  private static final class Placement {
+    private final Rectangle bounds = new Rectangle();
+    private int rgb;
+    // the last frame the shape was in
+    private int lastFrame;
+  }
 
   /**
    * Constructs a view panel for a visual view frame by taking in a list of shapes and a list of
@@ -43,6 +79,7 @@ public class ViewPanel extends JPanel implements IViewPanel {
     saveInitialStateOfShapes();
     this.setBackground(Color.WHITE);
     tick = 0;
+    shownTick = -1;
     maxTick = 0;
     for (Shape s: shapes) {
       if (s.getEndTime() > maxTick) {
@@ -50,14 +87,32 @@ public class ViewPanel extends JPanel implements IViewPanel {
       }
     }
 
+    placements = new HashMap<>();
     visibleShapes = new HashMap<>();
     for (Shape s : shapes) {
       visibleShapes.put(s,true);
     }
+
+    // shapes with keyframes are only looked at while visible, the rest have to be stepped
+    timeline = new TimelineIndex();
+    places = new SpatialIndex();
+    steppedShapes = new ArrayList<>();
+    for (Shape s : shapes) {
+      timeline.add(s);
+      places.add(s);
+      if (s.getKeyframeTrack().isEmpty()) {
+        steppedShapes.add(s);
+      }
+    }
   }
 
   /**
-   * Overrides the paintComponent from the JPanel class in order to draw our 2D shapes.
+   * Overrides the paintComponent from the JPanel class in order to draw our 2D shapes. With a
+   * frame cache, a frame already drawn at this tick and size is copied from the cache instead. The
+   * first time a tick within the animation is painted, its whole frame is drawn once off screen
+   * and cached, even when only a changed part of the panel is being repainted, and just that part
+   * is copied onto the panel. Playing the animation again then copies every frame from the cache.
+   * Ticks after the end, where the panel holds on the empty frame, are never cached.
    *
    * @param graphic represents the graphic to be drawn
    * @throws IllegalArgumentException if the graphic is null
@@ -72,16 +127,66 @@ public class ViewPanel extends JPanel implements IViewPanel {
     // Cast so that we can use 2D properties
     Graphics2D graphic2D = (Graphics2D) graphic;
 
-    graphic2D.setColor(Color.BLACK);
+    int width = getWidth();
+    int height = getHeight();
+    // whole frames and backgrounds are only worth drawing when the whole panel can be seen
+    Rectangle visible = getVisibleRect();
+    boolean seenWhole = shownTick >= 0 && width > 0 && height > 0
+        && visible.width >= width && visible.height >= height;
+    if (frameCache == null || !seenWhole || shownTick > maxTick) {
+      drawShapes(graphic2D, seenWhole);
+      return;
+    }
+    BufferedImage frame = frameCache.get(shownTick, width, height);
+    if (frame == null) {
+      frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      Graphics2D frameGraphics = frame.createGraphics();
+      frameGraphics.setColor(getBackground());
+      frameGraphics.fillRect(0, 0, width, height);
+      drawShapes(frameGraphics, true);
+      frameGraphics.dispose();
+      frameCache.put(shownTick, frame);
+    }
+    // the graphics are clipped to the part being painted, so only that part is copied
+    graphic2D.drawImage(frame, 0, 0, null);
+  }
 
-    // Obtains all the properties of the shape to be animated, and animates the shape.
-    for (Shape s : shapes) {
-      if (visibleShapes.get(s)) {
-        graphic.setColor(s.getColor());
+  /**
+   * Draws the visible shapes, as they were last set, onto the given graphics. With a layer
+   * compositor and the whole panel in view, the shapes holding still are copied from a background
+   * and only the rest are drawn. Otherwise, when only part of the panel is being painted, only the
+   * shapes placed in that part are looked at.
+   */
+  private void drawShapes(Graphics2D graphic2D, boolean seenWhole) {
+    graphic2D.setColor(Color.BLACK);
+    Rectangle clip = graphic2D.getClipBounds();
+    int shown = shownTick < 0 ? tick : shownTick;
 
-        if (tick >= s.getStartTime() && tick <= s.getEndTime()) {
-          s.drawShape(this, graphic2D);
+    List<Shape> candidates;
+    if (layers != null && seenWhole) {
+      if (!layers.covers(shown, getWidth(), getHeight())) {
+        List<Shape> active = new ArrayList<>();
+        for (Shape s : timeline.activeAt(shown)) {
+          if (visibleShapes.get(s)) {
+            active.add(s);
+          }
         }
+        layers.build(shown, active, shapes, getWidth(), getHeight(), getBackground(), this);
+      }
+      graphic2D.drawImage(layers.getBackground(), 0, 0, null);
+      candidates = layers.getAnimated();
+    } else if (clip == null || shownTick < 0 || clip.contains(0, 0, getWidth(), getHeight())) {
+      candidates = timeline.activeAt(shown);
+    } else {
+      candidates = places.within(clip.x, clip.y, clip.width, clip.height);
+    }
+    // Obtains all the properties of the shape to be animated, and animates the shape.
+    for (Shape s : candidates) {
+      if (visibleShapes.get(s) && s.getStartTime() <= shown && shown <= s.getEndTime()
+          && (clip == null || clip.intersects(s.getX(), s.getY(), s.getFirstDimension(),
+          s.getSecondDimension()))) {
+        graphic2D.setColor(s.getColor());
+        s.drawShape(this, graphic2D);
       }
     }
   }
@@ -119,10 +224,45 @@ public class ViewPanel extends JPanel implements IViewPanel {
   }
 
   /**
-   * Mutates the shapes to their new positions to draw the next frame.
+   * Mutates the shapes to their new positions to draw the next frame. Shapes with keyframes are
+   * set to their state at the current tick, shapes without are stepped through their animations.
    */
   public void animateShapes() {
-    for (Shape s: shapes) {
+    for (Shape s: timeline.activeAt(tick)) {
+      if (!s.getKeyframeTrack().isEmpty()) {
+        applyState(s);
+      }
+    }
+    stepShapes();
+    shownTick = tick;
+    tick++;
+    markChanges();
+  }
+
+  /**
+   * Moves the shapes on by the given number of ticks at once, to draw only the last of them. The
+   * ticks in between are not drawn: shapes without keyframes are stepped through them, and shapes
+   * with keyframes are only set to their state at the last.
+   *
+   * @param ticks the number of ticks to move on by
+   * @throws IllegalArgumentException if the number of ticks is not positive
+   */
+  public void advance(int ticks) throws IllegalArgumentException {
+    if (ticks <= 0) {
+      throw new IllegalArgumentException("Must advance by at least one tick.");
+    }
+    for (int i = 1; i < ticks; i++) {
+      stepShapes();
+      tick++;
+    }
+    animateShapes();
+  }
+
+  /**
+   * Steps the shapes without keyframes through their animations at the current tick.
+   */
+  private void stepShapes() {
+    for (Shape s: steppedShapes) {
       List<Animation> animations = s.getAnimations();
       for (Animation a: animations) {
         if (a.getStartTime() <= tick && tick <= a.getEndTime()) {
@@ -130,11 +270,257 @@ public class ViewPanel extends JPanel implements IViewPanel {
         }
       }
     }
-    tick++;
   }
 
+  /**
+   * Jumps to the given tick, so the next frame drawn is the frame at that tick. Only the shapes
+   * with keyframes active at the tick are looked at, and they are set straight to their state
+   * there. Shapes without keyframes can only be stepped, so if there are any the animation is
+   * replayed from the start to reach the tick.
+   *
+   * @param tick the tick to jump to
+   * @throws IllegalArgumentException if the tick is negative
+   */
+  public void seek(int tick) throws IllegalArgumentException {
+    if (tick < 0) {
+      throw new IllegalArgumentException("Cannot seek to a negative tick.");
+    }
+    if (steppedShapes.isEmpty()) {
+      this.tick = tick;
+    } else {
+      restart();
+      while (this.tick < tick) {
+        stepShapes();
+        this.tick++;
+      }
+    }
+    for (Shape s : timeline.activeAt(tick)) {
+      if (!s.getKeyframeTrack().isEmpty()) {
+        applyState(s);
+      }
+    }
+    shownTick = tick;
+    markChanges();
+  }
+
+  /**
+   * Compares where the shapes of the frame now shown are placed with where they were placed in the
+   * last frame, and adds the places of the shapes that moved, changed, came or went to the part of
+   * the panel to repaint.
+   */
+  private void markChanges() {
+    frameCount++;
+    for (Shape s : timeline.activeAt(shownTick)) {
+      if (!visibleShapes.get(s)) {
+        continue;
+      }
+      Placement placement = placements.get(s);
+      int rgb = s.getColor().getRGB();
+      if (placement == null) {
+        placement = new Placement();
+        placements.put(s, placement);
+      } else if (placement.rgb == rgb && placement.bounds.x == s.getX()
+          && placement.bounds.y == s.getY() && placement.bounds.width == s.getFirstDimension()
+          && placement.bounds.height == s.getSecondDimension()) {
+        placement.lastFrame = frameCount;
+        continue;
+      } else {
+        addDirty(placement.bounds);
+      }
+      placement.bounds.setBounds(s.getX(), s.getY(), s.getFirstDimension(),
+          s.getSecondDimension());
+      places.update(s);
+      placement.rgb = rgb;
+      placement.lastFrame = frameCount;
+      addDirty(placement.bounds);
+    }
+    Iterator<Placement> it = placements.values().iterator();
+    while (it.hasNext()) {
+      Placement placement = it.next();
+      if (placement.lastFrame != frameCount) {
+        addDirty(placement.bounds);
+        it.remove();
+      }
+    }
+  }
+
+  private void addDirty(Rectangle bounds) {
+    if (bounds.isEmpty()) {
+      return;
+    }
+    if (dirty == null) {
+      dirty = new Rectangle(bounds);
+    } else {
+      dirty.add(bounds);
+    }
+  }
+
+  /**
+   * Repaints only the part of the panel where shapes have moved, changed, come or gone since it
+   * was last repainted this way, if any. Unlike {@link #repaint()}, most of a frame where only a
+   * few shapes move is left as it is.
+   */
+  public void repaintChanges() {
+    if (dirty != null) {
+      repaint(dirty);
+      dirty = null;
+    }
+  }
+
+  /**
+   * Puts a shape on the panel, replacing the panel's copy of the shape equal to it if there is
+   * one, in which case the shape keeps its place in the drawing order. This lets edits to a model
+   * be shown one shape at a time, without building the panel again.
+   *
+   * @param shape the new or changed shape, which the panel then owns
+   * @throws IllegalArgumentException if the shape is null
+   */
+  public void updateShape(Shape shape) throws IllegalArgumentException {
+    if (shape == null) {
+      throw new IllegalArgumentException("Shape cannot be null.");
+    }
+    int index = shapes.indexOf(shape);
+    if (index >= 0) {
+      Shape old = shapes.set(index, shape);
+      initialShapesState.set(index, shape.copy());
+      steppedShapes.remove(old);
+      visibleShapes.put(shape, visibleShapes.remove(old));
+    } else {
+      shapes.add(shape);
+      initialShapesState.add(shape.copy());
+      visibleShapes.put(shape, true);
+    }
+    if (shape.getKeyframeTrack().isEmpty()) {
+      steppedShapes.add(shape);
+    } else {
+      applyState(shape);
+    }
+    timeline.add(shape);
+    places.add(shape);
+    if (layers != null) {
+      layers.invalidate();
+    }
+    maxTick = Math.max(maxTick, shape.getEndTime());
+    if (baked != null) {
+      baked.bake(shape);
+    }
+  }
+
+  /**
+   * Takes every shape with the given name off the panel.
+   *
+   * @param name the name of the shapes to remove
+   */
+  public void removeShape(String name) {
+    for (int i = shapes.size() - 1; i >= 0; i--) {
+      if (shapes.get(i).getName().equals(name)) {
+        Shape old = shapes.remove(i);
+        initialShapesState.remove(i);
+        steppedShapes.remove(old);
+        visibleShapes.remove(old);
+        timeline.remove(old);
+        places.remove(old);
+      }
+    }
+    if (baked != null) {
+      baked.remove(name);
+    }
+    if (layers != null) {
+      layers.invalidate();
+    }
+    maxTick = 0;
+    for (Shape s : shapes) {
+      maxTick = Math.max(maxTick, s.getEndTime());
+    }
+  }
+
+  /**
+   * Works out the state of every shape with keyframes at every tick once, so that playing the
+   * animation again only looks those states up. Shapes are baked in drawing order until the budget
+   * is used up, and the rest are worked out from their keyframes as before. Shapes changed
+   * afterwards through {@link #updateShape} are baked again on their own.
+   *
+   * @param budget the most bytes the baked states may take up
+   * @throws IllegalArgumentException if the budget is negative
+   */
+  public void startBaking(long budget) throws IllegalArgumentException {
+    baked = new BakedTimeline(budget);
+    for (Shape s : shapes) {
+      baked.bake(s);
+    }
+  }
+
+  /**
+   * Drops the baked states, going back to working each frame out from the keyframes.
+   */
+  public void stopBaking() {
+    baked = null;
+  }
+
+  /**
+   * Sets the given shape to its state at the current tick, looked up if it has been baked and
+   * otherwise worked out from its keyframes.
+   */
+  private void applyState(Shape shape) {
+    if (baked != null && baked.apply(shape, tick)) {
+      return;
+    }
+    ShapeState state = shape.getKeyframeTrack().stateAt(tick);
+    if (state != null) {
+      shape.setX(state.getX());
+      shape.setY(state.getY());
+      shape.setDimensions(state.getWidth(), state.getHeight());
+      shape.setColor(state.getColor());
+    }
+  }
+
+  /**
+   * Sizes the panel to hold the canvas of the animation. Shapes are drawn at their own coordinates,
+   * so the panel reaches to the far corner of the canvas. In a scroll pane smaller than that, only
+   * the part scrolled into view is painted, and only the shapes placed there are looked at.
+   *
+   * @param bounds the bounds of the canvas
+   * @throws IllegalArgumentException if the bounds are null
+   */
+  public void setCanvas(BoundsReadOnly bounds) throws IllegalArgumentException {
+    if (bounds == null) {
+      throw new IllegalArgumentException("Bounds cannot be null.");
+    }
+    setPreferredSize(new Dimension(Math.max(1, bounds.getX() + bounds.getWidth()),
+        Math.max(1, bounds.getY() + bounds.getHeight())));
+    revalidate();
+  }
+
+  /**
+   * Keeps the frames this panel draws in the given cache, so that a tick drawn again at the same
+   * size is copied from the cache instead of being drawn shape by shape. The frames of ticks a
+   * change affects must be dropped from the cache by whoever makes the change.
+   *
+   * @param cache the cache to keep frames in, or null to draw every frame
+   */
+  public void setFrameCache(FrameCache cache) {
+    this.frameCache = cache;
+  }
+
+  /**
+   * Draws the shapes that hold still through the coming ticks once, into a background kept by the
+   * given compositor, and only the rest of the shapes each frame.
+   *
+   * @param compositor the compositor to keep the background in, or null to draw every shape each
+   *                   frame
+   */
+  public void setLayerCompositor(LayerCompositor compositor) {
+    this.layers = compositor;
+  }
+
+  /**
+   * Goes back to the start of the animation. Shapes without keyframes are put back to their own
+   * initial state, to be stepped again. Shapes with keyframes are left as they are, since they are
+   * set straight to their state at each tick before they are drawn.
+   */
   public void restart() {
     tick = 0;
+    shownTick = -1;
     resetInitialState();
   }
 
@@ -146,14 +532,20 @@ public class ViewPanel extends JPanel implements IViewPanel {
   }
 
   private void resetInitialState() {
-    for (Shape shapeToReset: shapes) {
-      for (Shape shapeInitialState: initialShapesState) {
-        shapeToReset.setX(shapeInitialState.getX());
-        shapeToReset.setY(shapeInitialState.getY());
-        shapeToReset.setDimensions(shapeInitialState.getFirstDimension(),
-                shapeInitialState.getSecondDimension());
-        shapeToReset.setColor(shapeInitialState.getColor());
+    if (steppedShapes.isEmpty()) {
+      return;
+    }
+    for (int i = 0; i < shapes.size(); i++) {
+      Shape shapeToReset = shapes.get(i);
+      if (!shapeToReset.getKeyframeTrack().isEmpty()) {
+        continue;
       }
+      Shape shapeInitialState = initialShapesState.get(i);
+      shapeToReset.setX(shapeInitialState.getX());
+      shapeToReset.setY(shapeInitialState.getY());
+      shapeToReset.setDimensions(shapeInitialState.getFirstDimension(),
+              shapeInitialState.getSecondDimension());
+      shapeToReset.setColor(shapeInitialState.getColor());
     }
   }
 
@@ -9,7 +9,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import javax.swing.JFrame;
 import javax.swing.JScrollPane;
-import javax.swing.Timer;
 
 /**
  * An implementation of a visual view of an Easy Animator model.
@@ -17,7 +16,7 @@ import javax.swing.Timer;
 public class VisualViewImpl extends JFrame implements View, ActionListener {
 
   private ViewPanel panel;
-  private Timer timer;
+  private PlaybackClock clock;
   private int tempo;
 
   /**
@@ -30,6 +29,7 @@ public class VisualViewImpl extends JFrame implements View, ActionListener {
     // initial tempo of the view is 1
     this.tempo = 1;
     this.panel = new ViewPanel(model.getShapes());
+    panel.setLayerCompositor(new LayerCompositor());
 
     this.setTitle("Easy Animator");
     this.setSize(500, 500);
@@ -38,9 +38,16 @@ public class VisualViewImpl extends JFrame implements View, ActionListener {
 
     this.setLayout(new BorderLayout());
     this.add(scroll, BorderLayout.CENTER);
-    panel.setPreferredSize(new Dimension(500, 500));
+    panel.setCanvas(model.getBounds());
+    scroll.setPreferredSize(new Dimension(500, 500));
 
-    timer = new Timer(Math.round(1000 * (1 / tempo)), this);
+    clock = new PlaybackClock(tempo, new PlaybackClock.Listener() {
+      @Override
+      public void ticked(int ticks) {
+        panel.advance(ticks);
+        panel.repaintChanges();
+      }
+    });
 
     this.pack();
   }
@@ -48,7 +55,7 @@ public class VisualViewImpl extends JFrame implements View, ActionListener {
   @Override
   public void display() {
     this.setVisible(true);
-    timer.start();
+    clock.start();
   }
 
   // TODO decide if we need
@@ -62,13 +69,13 @@ public class VisualViewImpl extends JFrame implements View, ActionListener {
   @Override
   public void setTempo(int tempo) {
     this.tempo = tempo;
+    clock.setTempo(tempo);
   }
 
   @Override
   public void actionPerformed(ActionEvent e) {
     panel.animateShapes();
-    panel.repaint();
-    panel.revalidate();
+    panel.repaintChanges();
   }
 
 }
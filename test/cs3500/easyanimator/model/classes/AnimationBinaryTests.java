@@ -0,0 +1,141 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.util.AnimationBinaryReader;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.view.classes.BinaryView;
+import cs3500.animator.view.classes.TextualView;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Contains the tests for writing and reading the binary animation format.
+ */
+public class AnimationBinaryTests {
+  AnimationReaderTests.RecordingBuilder builder;
+
+  /**
+   * To keep test data consistent.
+   */
+  @Before
+  public void testFixture() {
+    builder = new AnimationReaderTests.RecordingBuilder();
+  }
+
+  private byte[] encode(String text) throws IOException {
+    EasyAnimatorModel model = AnimationReader.parseFile(new StringReader(text),
+        new EasyAnimatorModelImpl.Builder());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinaryView(model, out).display();
+    return out.toByteArray();
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    byte[] bytes = encode("canvas -10 20 300 400\n"
+        + "shape R rectangle\n"
+        + "shape C ellipse\n"
+        + "motion R 1 200 200 50 100 255 0 0   10 200 200 50 100 255 0 0\n"
+        + "motion R 10 200 200 50 100 255 0 0  50 300 -300 50 100 255 0 0\n"
+        + "motion C 6 440 70 120 60 0 0 255    20 440 70 120 60 0 0 255\n"
+        + "motion C 30 440 250 120 60 0 0 255  50 440 370 120 60 0 170 85\n");
+    assertEquals("canvas -10 20 300 400\n"
+            + "shape R rectangle\n"
+            + "motion R 1 200 200 50 100 255 0 0 10 200 200 50 100 255 0 0\n"
+            + "motion R 10 200 200 50 100 255 0 0 50 300 -300 50 100 255 0 0\n"
+            + "shape C ellipse\n"
+            + "motion C 6 440 70 120 60 0 0 255 20 440 70 120 60 0 0 255\n"
+            + "motion C 20 440 70 120 60 0 0 255 30 440 250 120 60 0 0 255\n"
+            + "motion C 30 440 250 120 60 0 0 255 50 440 370 120 60 0 170 85\n",
+        AnimationBinaryReader.parseFile(new ByteArrayInputStream(bytes), builder));
+  }
+
+  @Test
+  public void testEasingRoundTrip() throws IOException {
+    String text = "canvas 0 0 100 100\n"
+        + "shape R rectangle\n"
+        + "motion R 0 0 0 10 10 255 0 0  10 50 0 10 10 255 0 0 ease-in\n"
+        + "motion R 10 50 0 10 10 255 0 0  20 50 50 10 10 255 0 0\n"
+        + "motion R 20 50 50 10 10 255 0 0  30 0 50 10 10 255 0 0 "
+        + "cubic-bezier(0.25,0.1,0.25,1)\n"
+        + "shape C ellipse\n"
+        + "motion C 0 0 0 10 10 0 0 255  10 90 90 10 10 0 0 255 ease-in\n";
+    byte[] bytes = encode(text);
+    assertEquals("canvas 0 0 100 100\n"
+            + "shape R rectangle\n"
+            + "motion R 0 0 0 10 10 255 0 0 10 50 0 10 10 255 0 0\n"
+            + "easing R 10 ease-in\n"
+            + "motion R 10 50 0 10 10 255 0 0 20 50 50 10 10 255 0 0\n"
+            + "motion R 20 50 50 10 10 255 0 0 30 0 50 10 10 255 0 0\n"
+            + "easing R 30 cubic-bezier(0.25,0.1,0.25,1)\n"
+            + "shape C ellipse\n"
+            + "motion C 0 0 0 10 10 0 0 255 10 90 90 10 10 0 0 255\n"
+            + "easing C 10 ease-in\n",
+        AnimationBinaryReader.parseFile(new ByteArrayInputStream(bytes), builder));
+
+    // the eased segments play the same in a model read back from the cache
+    EasyAnimatorModel model = AnimationReader.parseFile(new StringReader(text),
+        new EasyAnimatorModelImpl.Builder());
+    EasyAnimatorModel cached = AnimationBinaryReader.parseFile(new ByteArrayInputStream(bytes),
+        new EasyAnimatorModelImpl.Builder());
+    StringBuilder expected = new StringBuilder();
+    StringBuilder actual = new StringBuilder();
+    new TextualView(model, expected).display();
+    new TextualView(cached, actual).display();
+    assertEquals(expected.toString(), actual.toString());
+    for (int tick = 0; tick <= 30; tick++) {
+      assertEquals(model.stateAt(model.getShape("R"), tick),
+          cached.stateAt(cached.getShape("R"), tick));
+    }
+  }
+
+  @Test
+  public void testSingleKeyframe() throws IOException {
+    byte[] bytes = encode("canvas 0 0 10 10\n"
+        + "shape R rectangle\n"
+        + "motion R 4 1 2 3 4 5 6 7 4 1 2 3 4 5 6 7\n");
+    assertEquals("canvas 0 0 10 10\n"
+            + "shape R rectangle\n"
+            + "motion R 4 1 2 3 4 5 6 7 4 1 2 3 4 5 6 7\n",
+        AnimationBinaryReader.parseFile(new ByteArrayInputStream(bytes), builder));
+  }
+
+  @Test
+  public void testNotBinary() {
+    try {
+      AnimationBinaryReader.parseFile(
+          new ByteArrayInputStream("canvas 0 0 1 1".getBytes()), builder);
+    } catch (IllegalStateException e) {
+      assertEquals("Binary animation: not a binary animation file", e.getMessage());
+      return;
+    }
+    throw new AssertionError("expected an IllegalStateException");
+  }
+
+  @Test
+  public void testUnsupportedVersion() {
+    try {
+      AnimationBinaryReader.parseFile(
+          new ByteArrayInputStream(new byte[]{'E', 'Z', 'A', 'N', 9}), builder);
+    } catch (IllegalStateException e) {
+      assertEquals("Binary animation: unsupported version 9", e.getMessage());
+      return;
+    }
+    throw new AssertionError("expected an IllegalStateException");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTruncated() throws IOException {
+    byte[] bytes = encode("canvas 0 0 10 10\nshape R rectangle\n"
+        + "motion R 4 1 2 3 4 5 6 7 8 1 2 3 4 5 6 7\n");
+    AnimationBinaryReader.parseFile(
+        new ByteArrayInputStream(bytes, 0, bytes.length - 3), builder);
+  }
+}
@@ -0,0 +1,250 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.util.AnimationBuilder;
+import cs3500.animator.util.AnimationReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for reading animation files.
+ */
+public class AnimationReaderTests {
+  // the threads every parallel read in these tests shares
+  static ForkJoinPool pool;
+  RecordingBuilder builder;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * A builder that writes down every call it receives, so the tests can check what was read.
+   */
+  static class RecordingBuilder implements AnimationBuilder<String> {
+    StringBuilder log = new StringBuilder();
+
+    @Override
+    public String build() {
+      return log.toString();
+    }
+
+    @Override
+    public AnimationBuilder<String> setBounds(int x, int y, int width, int height) {
+      log.append("canvas ").append(x).append(" ").append(y).append(" ").append(width)
+          .append(" ").append(height).append("\n");
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<String> declareShape(String name, String type) {
+      log.append("shape ").append(name).append(" ").append(type).append("\n");
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<String> addMotion(String name, int t1, int x1, int y1, int w1,
+        int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2,
+        int b2) {
+      log.append("motion ").append(name);
+      for (int v : new int[]{t1, x1, y1, w1, h1, r1, g1, b1, t2, x2, y2, w2, h2, r2, g2, b2}) {
+        log.append(" ").append(v);
+      }
+      log.append("\n");
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<String> addKeyframe(String name, int t, int x, int y, int w, int h,
+        int r, int g, int b) {
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<String> setEasing(String name, int t, String easing) {
+      log.append("easing ").append(name).append(" ").append(t).append(" ").append(easing)
+          .append("\n");
+      return this;
+    }
+  }
+
+  @BeforeClass
+  public static void startPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterClass
+  public static void stopPool() {
+    pool.shutdown();
+  }
+
+  /**
+   * To keep test data consistent.
+   */
+  @Before
+  public void testFixture() {
+    builder = new RecordingBuilder();
+  }
+
+  @Test
+  public void testParseFile() {
+    String input = "# a comment\n"
+        + "canvas 0 0 100 100\n"
+        + "shape r rectangle # trailing comment\n"
+        + "motion r 1 2 3 4 5 6 7 8   9 10 11 12 13 14 15 16\n"
+        + "motion\tr -1 +2 3 4 5 6 7 8\r\n9 10 11 12 13 14 15 16";
+    assertEquals("canvas 0 0 100 100\n"
+            + "shape r rectangle\n"
+            + "motion r 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16\n"
+            + "motion r -1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16\n",
+        AnimationReader.parseFile(new StringReader(input), builder));
+  }
+
+  @Test
+  public void testEasingToken() {
+    String input = "shape r rectangle\n"
+        + "motion r 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 ease-in\n"
+        + "motion r 9 10 11 12 13 14 15 16 20 1 1 1 1 1 1 1 cubic-bezier(0.1,0,0.3,1)\n"
+        + "motion r 20 1 1 1 1 1 1 1 30 1 1 1 1 1 1 1\n";
+    assertEquals("shape r rectangle\n"
+            + "motion r 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16\n"
+            + "easing r 9 ease-in\n"
+            + "motion r 9 10 11 12 13 14 15 16 20 1 1 1 1 1 1 1\n"
+            + "easing r 20 cubic-bezier(0.1,0,0.3,1)\n"
+            + "motion r 20 1 1 1 1 1 1 1 30 1 1 1 1 1 1 1\n",
+        AnimationReader.parseFile(new StringReader(input), builder));
+  }
+
+  @Test
+  public void testParseFileFromNonReader() {
+    assertEquals("shape r ellipse\n",
+        AnimationReader.parseFile(CharBuffer.wrap("shape r ellipse"), builder));
+  }
+
+  @Test
+  public void testTokensAcrossBufferBoundaries() {
+    StringBuilder input = new StringBuilder();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      input.append("shape shape").append(i).append(" rectangle\n");
+      expected.append("shape shape").append(i).append(" rectangle\n");
+    }
+    assertEquals(expected.toString(),
+        AnimationReader.parseFile(new StringReader(input.toString()), builder));
+  }
+
+  @Test
+  public void testUnexpectedKeyword() {
+    try {
+      AnimationReader.parseFile(new StringReader("move r 1 2\nshape r ellipse"), builder);
+    } catch (IllegalStateException e) {
+      assertEquals("Unexpected keyword: move r 1 2", e.getMessage());
+      return;
+    }
+    throw new AssertionError("expected an IllegalStateException");
+  }
+
+  @Test
+  public void testNonIntegerField() {
+    try {
+      AnimationReader.parseFile(new StringReader("canvas 0 0 wide 100"), builder);
+    } catch (IllegalStateException e) {
+      assertEquals("Canvas: expected integer for width, got: wide", e.getMessage());
+      return;
+    }
+    throw new AssertionError("expected an IllegalStateException");
+  }
+
+  @Test
+  public void testIntegerOverflow() {
+    try {
+      AnimationReader.parseFile(new StringReader("canvas 0 0 2147483648 100"), builder);
+    } catch (IllegalStateException e) {
+      assertEquals("Canvas: expected integer for width, got: 2147483648", e.getMessage());
+      return;
+    }
+    throw new AssertionError("expected an IllegalStateException");
+  }
+
+  @Test
+  public void testTruncatedMotion() {
+    try {
+      AnimationReader.parseFile(new StringReader("motion r 1 2 3"), builder);
+    } catch (IllegalStateException e) {
+      assertEquals("Motion: expected integer for initial width, but no more input available",
+          e.getMessage());
+      return;
+    }
+    throw new AssertionError("expected an IllegalStateException");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMissingShapeType() {
+    AnimationReader.parseFile(new StringReader("shape r"), builder);
+  }
+
+  /**
+   * Writes a script big enough to be split into several chunks by the mapped reader.
+   */
+  private Path writeLargeScript(String lastLine) throws IOException {
+    StringBuilder input = new StringBuilder("canvas 0 0 500 500\n");
+    for (int i = 0; i < 100; i++) {
+      input.append("shape s").append(i).append(" ellipse\n");
+    }
+    for (int i = 0; i < 60000; i++) {
+      input.append("motion s").append(i % 100).append(" ").append(i).append(" 1 2 3 4 5 6 7 ")
+          .append(i + 1).append(" 10 20 30 40 50 60 70 # step ").append(i).append("\n");
+    }
+    input.append(lastLine);
+    Path file = folder.newFile().toPath();
+    Files.write(file, input.toString().getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  @Test
+  public void testParseMappedFileMatchesParseFile() throws IOException {
+    Path file = writeLargeScript("motion s0 0 1 1 1 1 1 1 1 1 1 1 1 1 1 1 1");
+    String sequential = AnimationReader.parseFile(
+        new StringReader(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)),
+        new RecordingBuilder());
+    assertEquals(sequential,
+        AnimationReader.parseMappedFile(file, builder, pool));
+  }
+
+  @Test
+  public void testParseMappedFileReadsEasing() throws IOException {
+    Path file = writeLargeScript("motion s0 0 1 1 1 1 1 1 1 1 1 1 1 1 1 1 1 ease-out\n"
+        + "motion s1 0 1 1 1 1 1 1 1 1 1 1 1 1 1 1 1");
+    String sequential = AnimationReader.parseFile(
+        new StringReader(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)),
+        new RecordingBuilder());
+    assertTrue(sequential.contains("easing s0 1 ease-out\nmotion s1"));
+    assertEquals(sequential,
+        AnimationReader.parseMappedFile(file, builder, pool));
+  }
+
+  @Test
+  public void testParseMappedFileReportsErrorsAfterEarlierLines() throws IOException {
+    Path file = writeLargeScript("motion s0 1 2 three");
+    try {
+      AnimationReader.parseMappedFile(file, builder, pool);
+    } catch (IllegalStateException e) {
+      assertEquals("Motion: expected integer for initial y-coordinate, got: three", e.getMessage());
+      assertEquals(60100 + 1, builder.log.toString().split("\n").length);
+      return;
+    }
+    throw new AssertionError("expected an IllegalStateException");
+  }
+}
@@ -0,0 +1,102 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.BakedTimeline;
+import cs3500.animator.model.classes.Ellipse;
+import cs3500.animator.model.classes.Rectangle;
+import cs3500.animator.model.classes.ShapeState;
+import cs3500.animator.model.interfaces.Shape;
+import java.awt.Color;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the BakedTimeline class.
+ */
+public class BakedTimelineTests {
+  Shape rect;
+  Shape oval;
+
+  /**
+   * To keep test data consistent.
+   */
+  @Before
+  public void testFixture() {
+    rect = new Rectangle("r", 1, 1, 1, 1, 0, 30, Color.RED);
+    rect.getKeyframeTrack().put(0, 0, 0, 10, 10, 255, 0, 0);
+    rect.getKeyframeTrack().put(7, 33, 5, 10, 20, 0, 0, 255);
+    rect.getKeyframeTrack().put(30, 33, 100, 1, 1, 0, 0, 255);
+    oval = new Ellipse("o", 1, 1, 1, 1, 10, 19, Color.RED);
+    oval.getKeyframeTrack().put(10, 0, 0, 5, 5, 0, 0, 0);
+    oval.getKeyframeTrack().put(19, 9, 9, 5, 5, 0, 0, 0);
+  }
+
+  @Test
+  public void testBakedStatesMatchKeyframes() {
+    BakedTimeline baked = new BakedTimeline(1 << 20);
+    assertTrue(baked.bake(rect));
+    Shape copy = rect.copy();
+    for (int tick = 0; tick <= 30; tick++) {
+      assertTrue(baked.apply(rect, tick));
+      ShapeState state = copy.getKeyframeTrack().stateAt(tick);
+      assertEquals(state.getX(), rect.getX());
+      assertEquals(state.getY(), rect.getY());
+      assertEquals(state.getWidth(), rect.getFirstDimension());
+      assertEquals(state.getHeight(), rect.getSecondDimension());
+      assertEquals(state.getColor(), rect.getColor());
+    }
+    assertEquals(31 * 20, baked.getBytesUsed());
+  }
+
+  @Test
+  public void testTicksOutsideKeyframesLeaveShape() {
+    BakedTimeline baked = new BakedTimeline(1 << 20);
+    baked.bake(oval);
+    baked.apply(oval, 19);
+    assertTrue(baked.apply(oval, 25));
+    assertEquals(9, oval.getX());
+    assertFalse(baked.apply(rect, 5));
+    assertEquals(1, rect.getX());
+  }
+
+  @Test
+  public void testBudgetLimitsBaking() {
+    BakedTimeline baked = new BakedTimeline(31 * 20);
+    assertTrue(baked.bake(rect));
+    assertFalse(baked.bake(oval));
+    assertFalse(baked.isBaked("o"));
+    baked.remove("r");
+    assertEquals(0, baked.getBytesUsed());
+    assertTrue(baked.bake(oval));
+    assertEquals(10 * 20, baked.getBytesUsed());
+  }
+
+  @Test
+  public void testBakeAgainReplaces() {
+    BakedTimeline baked = new BakedTimeline(1 << 20);
+    baked.bake(oval);
+    oval.getKeyframeTrack().put(40, 50, 50, 5, 5, 0, 0, 0);
+    assertTrue(baked.bake(oval));
+    assertEquals(31 * 20, baked.getBytesUsed());
+    baked.apply(oval, 40);
+    assertEquals(50, oval.getX());
+    baked.clear();
+    assertEquals(0, baked.getBytesUsed());
+    assertFalse(baked.isBaked("o"));
+  }
+
+  @Test
+  public void testNoKeyframesNotBaked() {
+    BakedTimeline baked = new BakedTimeline(1 << 20);
+    assertFalse(baked.bake(new Rectangle("s", 1, 1, 1, 1, 0, 5, Color.RED)));
+    assertEquals(0, baked.getBytesUsed());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeBudget() {
+    new BakedTimeline(-1);
+  }
+}
@@ -0,0 +1,126 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.Easing;
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.classes.KeyframeTrack;
+import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.view.classes.SVGView;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the Easing class and the easing of keyframe tracks.
+ */
+public class EasingTests {
+
+  @Test
+  public void testLinearRoundsLikeBefore() {
+    for (int span = 1; span <= 12; span++) {
+      for (int elapsed = 0; elapsed <= span; elapsed++) {
+        for (int[] ends : new int[][]{{0, 255}, {255, 0}, {-7, 13}, {100, 101}}) {
+          double from = (span - elapsed) / (double) span;
+          double to = elapsed / (double) span;
+          assertEquals(Math.round(ends[0] * from + ends[1] * to),
+              Easing.LINEAR.tween(ends[0], ends[1], elapsed, span));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCurvesMeetKeyframes() {
+    for (Easing curve : new Easing[]{Easing.LINEAR, Easing.STEP, Easing.EASE_IN,
+        Easing.EASE_OUT, Easing.EASE_IN_OUT, Easing.cubicBezier(0.3, -0.5, 0.7, 1.5)}) {
+      assertEquals(10, curve.tween(10, 90, 0, 8));
+      assertEquals(90, curve.tween(10, 90, 8, 8));
+    }
+  }
+
+  @Test
+  public void testCurveShapes() {
+    assertEquals(50, Easing.LINEAR.tween(0, 100, 5, 10));
+    assertEquals(0, Easing.STEP.tween(0, 100, 9, 10));
+    assertTrue(Easing.EASE_IN.tween(0, 100, 5, 10) < 50);
+    assertTrue(Easing.EASE_OUT.tween(0, 100, 5, 10) > 50);
+    assertEquals(50, Easing.EASE_IN_OUT.tween(0, 100, 5, 10));
+    assertTrue(Easing.EASE_IN_OUT.tween(0, 100, 2, 10) < 20);
+    // the same curve as linear, worked out through its table
+    Easing straight = Easing.cubicBezier(0, 0, 1, 1);
+    for (int elapsed = 0; elapsed <= 40; elapsed++) {
+      assertEquals(Easing.LINEAR.tween(0, 1000, elapsed, 40), straight.tween(0, 1000, elapsed,
+          40), 1);
+    }
+  }
+
+  @Test
+  public void testParse() {
+    assertEquals(Easing.EASE_OUT, Easing.parse("ease-out"));
+    assertEquals(Easing.STEP, Easing.parse("step"));
+    Easing curve = Easing.parse("cubic-bezier(0.25,0.1,0.25,1)");
+    assertEquals("cubic-bezier(0.25,0.1,0.25,1)", curve.toString());
+    assertEquals(curve, Easing.cubicBezier(0.25, 0.1, 0.25, 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseUnknown() {
+    Easing.parse("bounce");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testControlPointOutsideTime() {
+    Easing.cubicBezier(1.5, 0, 0.5, 1);
+  }
+
+  @Test
+  public void testTrackEasesSegments() {
+    KeyframeTrack track = new KeyframeTrack();
+    track.put(0, 0, 0, 10, 10, 0, 0, 0);
+    track.put(10, 100, 0, 10, 10, 0, 0, 0);
+    track.put(20, 200, 0, 10, 10, 0, 0, 0);
+    track.setEasing(2, Easing.STEP);
+    assertEquals(50, track.stateAt(5).getX());
+    assertEquals(100, track.stateAt(19).getX());
+    assertEquals(200, track.stateAt(20).getX());
+
+    // a keyframe put inside a segment is reached linearly, and the curve stays with the later one
+    track.put(15, 150, 0, 10, 10, 0, 0, 0);
+    assertEquals(Easing.LINEAR, track.getEasing(2));
+    assertEquals(Easing.STEP, track.getEasing(3));
+    track.remove(2);
+    assertEquals(Easing.STEP, track.getEasing(2));
+
+    KeyframeTrack copy = track.copy();
+    copy.setEasing(2, Easing.LINEAR);
+    assertEquals(Easing.STEP, track.getEasing(2));
+    assertEquals(150, copy.stateAt(15).getX());
+  }
+
+  @Test
+  public void testModelReadsEasing() throws IOException {
+    String input = "canvas 0 0 100 100\n"
+        + "shape r rectangle\n"
+        + "motion r 0 0 0 10 10 0 0 0  10 100 0 10 10 0 0 0 ease-in\n"
+        + "motion r 10 100 0 10 10 0 0 0  20 100 0 10 10 0 0 255 step\n"
+        + "motion r 20 100 0 10 10 0 0 255  30 0 0 10 10 0 0 255\n";
+    EasyAnimatorModel model = AnimationReader.parseFile(new StringReader(input),
+        new EasyAnimatorModelImpl.Builder());
+    KeyframeTrack track = model.getShape("r").getKeyframeTrack();
+    assertEquals(Easing.LINEAR, track.getEasing(0));
+    assertEquals(Easing.EASE_IN, track.getEasing(1));
+    assertEquals(Easing.STEP, track.getEasing(2));
+    assertEquals(Easing.LINEAR, track.getEasing(3));
+    assertTrue(model.getShape("r").toString().contains("100 0 10 10 0 0 0 ease-in\n"));
+
+    StringBuilder svg = new StringBuilder();
+    new SVGView(model, svg, 1).display();
+    assertTrue(svg.toString().contains("attributeName=\"x\" calcMode=\"spline\" keyTimes=\"0;1\" "
+        + "keySplines=\"0.42 0 1 1\" from=\"0\" to=\"100\""));
+    assertTrue(svg.toString().contains("attributeName=\"fill\" calcMode=\"discrete\" "
+        + "keyTimes=\"0;1\" from=\"rgb(0,0,0)\""));
+  }
+}
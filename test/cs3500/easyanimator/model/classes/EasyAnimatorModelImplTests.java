@@ -5,6 +5,7 @@ import cs3500.animator.model.classes.AnimationResize;
 import cs3500.animator.model.classes.EasyAnimatorModelImpl;
 import cs3500.animator.model.classes.Ellipse;
 import cs3500.animator.model.classes.Rectangle;
+import cs3500.animator.model.classes.ShapeState;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -81,6 +82,74 @@ public class EasyAnimatorModelImplTests {
     assertEquals(5, impl.getTempo());
   }
 
+  @Test
+  public void testGetShape() {
+    impl.addShape(r);
+    impl.addShape(c);
+    assertEquals(c, impl.getShape("c"));
+    assertEquals(r, impl.getShape("r"));
+    // the shape handed out is a copy
+    impl.getShape("r").setX(50);
+    assertEquals(1, impl.getShapes().get(0).getX());
+  }
+
+  @Test
+  public void testGetShapeSharedName() {
+    Ellipse sameName = new Ellipse("r", 1, 1, 1, 1, 0, 100, Color.RED);
+    impl.addShape(r);
+    impl.addShape(sameName);
+    assertTrue(impl.getShape("r") instanceof Rectangle);
+    impl.removeShape(r);
+    assertTrue(impl.getShape("r") instanceof Ellipse);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetShapeMissing() {
+    impl.addShape(r);
+    impl.getShape("c");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetShapeRemoved() {
+    impl.addShape(r);
+    impl.removeShape(r);
+    impl.getShape("r");
+  }
+
+  @Test
+  public void testManyShapesKeepOrder() {
+    for (int i = 0; i < 200000; i++) {
+      impl.addShape(new Rectangle("s" + i, 1, 1, 1, 1, 0, 100, Color.BLACK));
+    }
+    for (int i = 0; i < 200000; i += 2) {
+      impl.removeShape(new Rectangle("s" + i, 1, 1, 1, 1, 0, 100, Color.BLACK));
+    }
+    assertEquals(100000, impl.getShapes().size());
+    assertEquals("s1", impl.getShapes().get(0).getName());
+    assertEquals("s199999", impl.getShape("s199999").getName());
+  }
+
+  @Test
+  public void testStateAt() {
+    impl.addShape(r);
+    r.getKeyframeTrack().put(10, 0, 0, 10, 20, 0, 0, 0);
+    r.getKeyframeTrack().put(20, 100, -50, 30, 20, 255, 100, 0);
+    assertEquals(null, impl.stateAt(r, 9));
+    assertEquals(new ShapeState(0, 0, 10, 20, 0), impl.stateAt(r, 10));
+    assertEquals(new ShapeState(50, -25, 20, 20, 0x803200), impl.stateAt(r, 15));
+    assertEquals(new ShapeState(10, -5, 12, 20, 0x1A0A00), impl.stateAt(r, 11));
+    assertEquals(new ShapeState(100, -50, 30, 20, 0xFF6400), impl.stateAt(r, 20));
+    assertEquals(null, impl.stateAt(r, 21));
+    // asking does not change the shape, so ticks can be asked for in any order
+    assertEquals(new ShapeState(50, -25, 20, 20, 0x803200), impl.stateAt(r, 15));
+    assertEquals(1, r.getX());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStateAtNullShape() {
+    impl.stateAt(null, 0);
+  }
+
   @Test
   public void testToString() {
     assertEquals("",impl.toString());
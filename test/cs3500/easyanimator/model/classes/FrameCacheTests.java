@@ -0,0 +1,97 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.view.classes.FrameCache;
+import java.awt.image.BufferedImage;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the FrameCache class.
+ */
+public class FrameCacheTests {
+  FrameCache cache;
+
+  /**
+   * To keep test data consistent. Each frame takes up 400 bytes, so three fit.
+   */
+  @Before
+  public void testFixture() {
+    cache = new FrameCache(1200);
+  }
+
+  private BufferedImage frame() {
+    return new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+  }
+
+  @Test
+  public void testHitsAndMisses() {
+    BufferedImage frame = frame();
+    assertNull(cache.get(0, 10, 10));
+    assertTrue(cache.put(0, frame));
+    assertSame(frame, cache.get(0, 10, 10));
+    assertNull(cache.get(0, 20, 10));
+    assertEquals(1, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertEquals(400, cache.getBytesUsed());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedDroppedFirst() {
+    cache.put(0, frame());
+    cache.put(1, frame());
+    cache.put(2, frame());
+    cache.get(0, 10, 10);
+    cache.put(3, frame());
+    assertEquals(3, cache.size());
+    assertNull(cache.get(1, 10, 10));
+    assertTrue(cache.get(0, 10, 10) != null);
+    assertTrue(cache.get(2, 10, 10) != null);
+    assertEquals(1200, cache.getBytesUsed());
+  }
+
+  @Test
+  public void testReplaceKeepsBytes() {
+    cache.put(0, frame());
+    BufferedImage again = frame();
+    cache.put(0, again);
+    assertEquals(1, cache.size());
+    assertEquals(400, cache.getBytesUsed());
+    assertSame(again, cache.get(0, 10, 10));
+  }
+
+  @Test
+  public void testFrameOverBudgetNotCached() {
+    assertFalse(cache.put(0, new BufferedImage(20, 20, BufferedImage.TYPE_INT_RGB)));
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getBytesUsed());
+  }
+
+  @Test
+  public void testInvalidateDropsRange() {
+    cache.put(4, frame());
+    cache.put(5, frame());
+    cache.put(9, frame());
+    cache.invalidate(5, 9);
+    assertEquals(1, cache.size());
+    assertEquals(400, cache.getBytesUsed());
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getBytesUsed());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeBudget() {
+    new FrameCache(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullFrame() {
+    cache.put(0, null);
+  }
+}
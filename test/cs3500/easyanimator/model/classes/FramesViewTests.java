@@ -0,0 +1,103 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.view.classes.FrameRenderer;
+import cs3500.animator.view.classes.FramesView;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import javax.imageio.ImageIO;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Contains the tests for rendering frames offscreen.
+ */
+public class FramesViewTests {
+  EasyAnimatorModel model;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * To keep test data consistent.
+   */
+  @Before
+  public void testFixture() {
+    model = AnimationReader.parseFile(new StringReader("canvas 100 100 50 40\n"
+            + "shape R rectangle\n"
+            + "motion R 2 100 100 10 10 255 0 0  6 120 100 10 10 0 0 255\n"),
+        new EasyAnimatorModelImpl.Builder());
+  }
+
+  @Test
+  public void testRender() {
+    FrameRenderer renderer = new FrameRenderer(model);
+    assertEquals(6, renderer.getLastTick());
+    BufferedImage frame = renderer.render(0);
+    assertEquals(50, frame.getWidth());
+    assertEquals(40, frame.getHeight());
+    assertEquals(0xFFFFFF, frame.getRGB(5, 5) & 0xFFFFFF);
+
+    renderer.render(2);
+    assertEquals(0xFF0000, frame.getRGB(5, 5) & 0xFFFFFF);
+
+    renderer.render(4);
+    assertEquals(0xFFFFFF, frame.getRGB(5, 5) & 0xFFFFFF);
+    assertEquals(0x800080, frame.getRGB(15, 5) & 0xFFFFFF);
+
+    // ticks can be rendered out of order
+    renderer.render(2);
+    assertEquals(0xFF0000, frame.getRGB(5, 5) & 0xFFFFFF);
+  }
+
+  @Test
+  public void testDisplayWritesEveryTick() throws IOException {
+    File directory = new File(folder.getRoot(), "frames");
+    new FramesView(model, directory.getPath()).display();
+    assertEquals(7, directory.list().length);
+    BufferedImage last = ImageIO.read(new File(directory, "frame000006.png"));
+    assertEquals(0x0000FF, last.getRGB(25, 5) & 0xFFFFFF);
+  }
+
+  @Test
+  public void testThreadsWriteSameFrames() throws IOException {
+    model = AnimationReader.parseFile(new StringReader("canvas 0 0 80 80\n"
+            + "shape R rectangle\n"
+            + "shape C ellipse\n"
+            + "motion R 0 0 0 10 10 255 0 0  45 70 30 10 20 0 0 255\n"
+            + "motion C 5 70 70 10 10 0 255 0  40 0 0 30 30 0 0 0\n"),
+        new EasyAnimatorModelImpl.Builder());
+    File sequential = folder.newFolder("sequential");
+    File parallel = folder.newFolder("parallel");
+    new FramesView(model, sequential.getPath()).display();
+    FramesView view = new FramesView(model, parallel.getPath());
+    view.setThreads(3);
+    view.display();
+
+    assertEquals(46, parallel.list().length);
+    for (String name : sequential.list()) {
+      assertArrayEquals(Files.readAllBytes(new File(sequential, name).toPath()),
+          Files.readAllBytes(new File(parallel, name).toPath()));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoThreads() {
+    new FramesView(model, "frames").setThreads(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDirectory() {
+    new FramesView(model, null);
+  }
+}
@@ -0,0 +1,132 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.view.classes.FrameRenderer;
+import cs3500.animator.view.classes.GifView;
+import cs3500.animator.view.classes.ViewFactory;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the GifView class.
+ */
+public class GifViewTests {
+  EasyAnimatorModel model;
+
+  /**
+   * To keep test data consistent. A red square holds still until tick 5 and then moves right,
+   * over a blue square that never moves.
+   */
+  @Before
+  public void testFixture() {
+    model = AnimationReader.parseFile(new StringReader("canvas 0 0 60 30\n"
+            + "shape C rectangle\n"
+            + "motion C 0 30 10 10 10 0 0 255  10 30 10 10 10 0 0 255\n"
+            + "shape R rectangle\n"
+            + "motion R 0 0 0 10 10 255 0 0  5 0 0 10 10 255 0 0\n"
+            + "motion R 5 0 0 10 10 255 0 0  10 50 0 10 10 255 0 0\n"),
+        new EasyAnimatorModelImpl.Builder());
+  }
+
+  private byte[] write(int tempo, boolean looping) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    GifView view = new GifView(model, out, tempo);
+    view.setLooping(looping);
+    view.display();
+    return out.toByteArray();
+  }
+
+  private static IIOMetadataNode child(IIOMetadataNode node, String name) {
+    return (IIOMetadataNode) node.getElementsByTagName(name).item(0);
+  }
+
+  @Test
+  public void testFramesAddUpToAnimation() throws IOException {
+    byte[] gif = write(10, true);
+    assertEquals("GIF89a", new String(gif, 0, 6, StandardCharsets.US_ASCII));
+    ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+    ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(gif));
+    reader.setInput(in);
+    int frames = reader.getNumImages(true);
+    // the six ticks the red square holds still for make one frame
+    assertEquals(6, frames);
+
+    BufferedImage canvas = new BufferedImage(60, 30, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = canvas.createGraphics();
+    int delay = 0;
+    for (int i = 0; i < frames; i++) {
+      IIOMetadataNode root = (IIOMetadataNode) reader.getImageMetadata(i)
+          .getAsTree("javax_imageio_gif_image_1.0");
+      IIOMetadataNode descriptor = child(root, "ImageDescriptor");
+      int left = Integer.parseInt(descriptor.getAttribute("imageLeftPosition"));
+      int top = Integer.parseInt(descriptor.getAttribute("imageTopPosition"));
+      BufferedImage frame = reader.read(i);
+      if (i == 0) {
+        assertEquals(60, frame.getWidth());
+        assertEquals(60, Integer.parseInt(child(root, "GraphicControlExtension")
+            .getAttribute("delayTime")));
+      } else {
+        // only the part that changed
+        assertTrue(frame.getWidth() < 60);
+      }
+      delay += Integer.parseInt(child(root, "GraphicControlExtension").getAttribute("delayTime"));
+      graphics.drawImage(frame, left, top, null);
+    }
+    graphics.dispose();
+    // eleven ticks at a tenth of a second each
+    assertEquals(110, delay);
+
+    BufferedImage last = new FrameRenderer(model).render(10);
+    for (int y = 0; y < 30; y++) {
+      for (int x = 0; x < 60; x++) {
+        assertEquals(last.getRGB(x, y), canvas.getRGB(x, y));
+      }
+    }
+  }
+
+  @Test
+  public void testFastTempoLeavesOutFrames() throws IOException {
+    byte[] gif = write(1000, true);
+    ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+    reader.setInput(ImageIO.createImageInputStream(new ByteArrayInputStream(gif)));
+    // eleven ticks take about a hundredth of a second, so only the frames at its ends are shown
+    assertEquals(2, reader.getNumImages(true));
+  }
+
+  @Test
+  public void testLooping() throws IOException {
+    String looping = new String(write(10, true), StandardCharsets.ISO_8859_1);
+    String once = new String(write(10, false), StandardCharsets.ISO_8859_1);
+    assertTrue(looping.contains("NETSCAPE2.0"));
+    assertFalse(once.contains("NETSCAPE2.0"));
+  }
+
+  @Test
+  public void testFactoryMakesGifView() {
+    assertTrue(ViewFactory.isStreamView("gif"));
+    assertTrue(new ViewFactory("gif", model, new StringBuilder(), new ByteArrayOutputStream())
+        .getView() instanceof GifView);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidTempo() {
+    new GifView(model, new ByteArrayOutputStream(), 0);
+  }
+}
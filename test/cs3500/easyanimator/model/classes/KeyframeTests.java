@@ -4,9 +4,18 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.classes.Easing;
 import cs3500.animator.model.classes.Keyframe;
+import cs3500.animator.model.classes.ModelEvent;
+import cs3500.animator.model.classes.ModelEventType;
+import cs3500.animator.model.classes.ModelSnapshot;
 import cs3500.animator.model.classes.Rectangle;
+import cs3500.animator.model.interfaces.ModelListener;
 import cs3500.animator.model.interfaces.Shape;
 
 import static org.junit.Assert.assertEquals;
@@ -97,4 +106,106 @@ public class KeyframeTests {
   public void getEndTime() {
     assertEquals(1, kf.getEndTime());
   }
+
+  @Test
+  public void testEditingAddsNoAnimations() {
+    assertEquals(0, rect.getAnimations().size());
+    assertEquals(1, rect.getKeyframes().size());
+    for (int i = 0; i < 1000000; i++) {
+      int value = i % 200 + 1;
+      switch (i % 8) {
+        case 0:
+          kf.setX(value);
+          break;
+        case 1:
+          kf.setY(value);
+          break;
+        case 2:
+          kf.setWidth(value);
+          break;
+        case 3:
+          kf.setHeight(value);
+          break;
+        case 4:
+          kf.setRed(value);
+          break;
+        case 5:
+          kf.setGreen(value);
+          break;
+        case 6:
+          kf.setBlue(value);
+          break;
+        default:
+          kf.setEndTime(kf.getEndTime() == 1 ? 2 : 1);
+      }
+    }
+    assertEquals(0, rect.getAnimations().size());
+    assertEquals(1, rect.getKeyframes().size());
+    assertEquals(kf.getX(), rect.getKeyframeTrack().getX(0));
+    assertEquals(kf.getBlue(), rect.getKeyframeTrack().getBlue(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetNonPositiveWidth() {
+    kf.setWidth(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetInvalidRed() {
+    kf.setRed(256);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEndBeforeStart() {
+    kf.setEndTime(0);
+  }
+
+  @Test
+  public void testMoveKeepsEasing() {
+    new Keyframe(rect, 1, 5, 2, 2, 1, 1, 0, 0, 0);
+    rect.getKeyframeTrack().setEasing(1, Easing.EASE_IN);
+    Keyframe last = rect.getKeyframes().get(1);
+    last.setEndTime(8);
+    assertEquals(8, rect.getKeyframeTrack().getTime(1));
+    assertEquals(Easing.EASE_IN, rect.getKeyframeTrack().getEasing(1));
+  }
+
+  @Test
+  public void testMoveOntoKeyframeRejected() {
+    new Keyframe(rect, 1, 5, 2, 2, 1, 1, 0, 0, 0);
+    try {
+      kf.setEndTime(5);
+      throw new AssertionError("moved onto another keyframe");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    assertEquals(1, kf.getEndTime());
+    assertEquals(2, rect.getKeyframeTrack().size());
+    assertEquals(2, rect.getKeyframeTrack().getX(1));
+  }
+
+  @Test
+  public void testEditsGoThroughModel() {
+    EasyAnimatorModelImpl model = new EasyAnimatorModelImpl();
+    model.addShape(rect);
+    new Keyframe(rect, 1, 5, 2, 2, 1, 1, 0, 0, 0);
+    final List<ModelEvent> seen = new ArrayList<>();
+    model.addListener(new ModelListener() {
+      @Override
+      public void modelChanged(List<ModelEvent> events) {
+        seen.addAll(events);
+      }
+    });
+    ModelSnapshot before = model.snapshot();
+
+    kf.setX(7);
+    assertEquals(Arrays.asList(new ModelEvent(ModelEventType.KEYFRAME_UPDATED, "r", 1, 5)), seen);
+    assertEquals(1, before.getShapes().get(0).getKeyframeTrack().getX(0));
+    assertEquals(7, model.snapshot().getShapes().get(0).getKeyframeTrack().getX(0));
+
+    seen.clear();
+    kf.setEndTime(9);
+    assertEquals(Arrays.asList(new ModelEvent(ModelEventType.KEYFRAME_UPDATED, "r", 1, 9)), seen);
+    assertEquals(9, model.getShape("r").getEndTime());
+  }
 }
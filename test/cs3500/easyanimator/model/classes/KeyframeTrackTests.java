@@ -0,0 +1,201 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.Easing;
+import cs3500.animator.model.classes.Keyframe;
+import cs3500.animator.model.classes.KeyframeTrack;
+import cs3500.animator.model.classes.Rectangle;
+import cs3500.animator.model.interfaces.Shape;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the KeyframeTrack class.
+ */
+public class KeyframeTrackTests {
+  KeyframeTrack track;
+
+  /**
+   * Test fixture to keep testing data consistent.
+   */
+  @Before
+  public void testFixture() {
+    track = new KeyframeTrack();
+    track.put(10, 1, 2, 3, 4, 5, 6, 7);
+    track.put(30, 10, 20, 30, 40, 50, 60, 70);
+    track.put(20, 5, 6, 7, 8, 9, 10, 11);
+  }
+
+  @Test
+  public void testPutKeepsTimeOrder() {
+    assertEquals(3, track.size());
+    assertEquals(10, track.getTime(0));
+    assertEquals(20, track.getTime(1));
+    assertEquals(30, track.getTime(2));
+    assertEquals(5, track.getX(1));
+    assertEquals(8, track.getHeight(1));
+    assertEquals(9, track.getRed(1));
+    assertEquals(10, track.getGreen(1));
+    assertEquals(11, track.getBlue(1));
+    assertEquals((9 << 16) | (10 << 8) | 11, track.getRGB(1));
+  }
+
+  @Test
+  public void testPutReplacesKeyframeAtSameTime() {
+    assertEquals(1, track.put(20, 0, 0, 1, 1, 255, 255, 255));
+    assertEquals(3, track.size());
+    assertEquals(0, track.getX(1));
+    assertEquals(255, track.getBlue(1));
+  }
+
+  @Test
+  public void testStartTimes() {
+    assertEquals(10, track.getStartTime(0));
+    assertEquals(10, track.getStartTime(1));
+    assertEquals(20, track.getStartTime(2));
+  }
+
+  @Test
+  public void testIndexOf() {
+    assertEquals(2, track.indexOf(30));
+    assertEquals(-2, track.indexOf(15));
+  }
+
+  @Test
+  public void testRemove() {
+    track.remove(1);
+    assertEquals(2, track.size());
+    assertEquals(30, track.getTime(1));
+    assertEquals(10, track.getStartTime(1));
+  }
+
+  @Test
+  public void testCopyIsIndependent() {
+    KeyframeTrack copy = track.copy();
+    copy.set(0, 100, 100, 100, 100, 0, 0, 0);
+    track.remove(2);
+    assertEquals(1, track.getX(0));
+    assertEquals(2, track.size());
+    assertEquals(100, copy.getX(0));
+    assertEquals(3, copy.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidColor() {
+    track.put(40, 1, 1, 1, 1, 256, 0, 0);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testNoKeyframeAtIndex() {
+    track.getX(3);
+  }
+
+  @Test
+  public void testShapeKeyframesComeFromTrack() {
+    Shape rect = new Rectangle("r", 1, 1, 1, 1, 0, 10, Color.RED);
+    new Keyframe(rect, 0, 5, 1, 2, 3, 4, 5, 6, 7);
+    new Keyframe(rect, 5, 10, 8, 9, 10, 11, 12, 13, 14);
+    List<Keyframe> keyframes = rect.getKeyframes();
+    assertEquals(2, keyframes.size());
+    assertEquals(5, keyframes.get(1).getStartTime());
+    assertEquals(10, keyframes.get(1).getEndTime());
+    assertEquals(8, keyframes.get(1).getX());
+    assertEquals(2, rect.getKeyframeTrack().size());
+
+    keyframes.get(1).setX(42);
+    assertEquals(42, rect.getKeyframeTrack().getX(1));
+    rect.removeKeyframe(keyframes.get(0));
+    assertEquals(1, rect.getKeyframeTrack().size());
+    assertTrue(rect.copy().getKeyframeTrack() != rect.getKeyframeTrack());
+  }
+
+  @Test
+  public void testAddKeyframesSortsAndMerges() {
+    Shape rect = new Rectangle("r", 1, 1, 1, 1, 0, 10, Color.RED);
+    rect.getKeyframeTrack().put(10, 1, 1, 1, 1, 0, 0, 0);
+    rect.getKeyframeTrack().put(20, 2, 2, 2, 2, 0, 0, 0);
+    List<Keyframe> keyframes = Arrays.asList(
+        new Keyframe(rect.copy(), 0, 15, 3, 3, 3, 3, 0, 0, 0),
+        new Keyframe(rect.copy(), 0, 5, 4, 4, 4, 4, 0, 0, 0),
+        new Keyframe(rect.copy(), 0, 20, 5, 5, 5, 5, 0, 0, 0));
+    rect.addKeyframes(keyframes);
+    KeyframeTrack merged = rect.getKeyframeTrack();
+    assertEquals(4, merged.size());
+    assertEquals(5, merged.getTime(0));
+    assertEquals(10, merged.getTime(1));
+    assertEquals(15, merged.getTime(2));
+    assertEquals(3, merged.getX(2));
+    // the new keyframe replaces the one already at its time
+    assertEquals(20, merged.getTime(3));
+    assertEquals(5, merged.getX(3));
+  }
+
+  @Test
+  public void testAddKeyframesKeepsLastAtSameTime() {
+    Shape source = new Rectangle("s", 1, 1, 1, 1, 0, 10, Color.RED);
+    Keyframe first = new Keyframe(source, 0, 40, 1, 1, 1, 1, 0, 0, 0);
+    Keyframe second = new Keyframe(source, 0, 50, 2, 2, 2, 2, 0, 0, 0);
+    List<Keyframe> keyframes = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      keyframes.add(second);
+      keyframes.add(first);
+    }
+    second.setX(9);
+    keyframes.add(second);
+    Shape rect = new Rectangle("r", 1, 1, 1, 1, 0, 10, Color.RED);
+    rect.addKeyframes(keyframes);
+    assertEquals(2, rect.getKeyframeTrack().size());
+    assertEquals(40, rect.getKeyframeTrack().getTime(0));
+    assertEquals(9, rect.getKeyframeTrack().getX(1));
+  }
+
+  @Test
+  public void testAddKeyframesAfterTrackAppends() {
+    Shape rect = new Rectangle("r", 1, 1, 1, 1, 0, 10, Color.RED);
+    rect.getKeyframeTrack().put(10, 1, 1, 1, 1, 0, 0, 0);
+    Shape source = rect.copy();
+    List<Keyframe> keyframes = new ArrayList<>();
+    for (int time = 11; time <= 1000; time++) {
+      keyframes.add(new Keyframe(source, 0, time, time, 1, 1, 1, 0, 0, 0));
+    }
+    rect.addKeyframes(keyframes);
+    assertEquals(991, rect.getKeyframeTrack().size());
+    assertEquals(1000, rect.getKeyframeTrack().getX(990));
+    assertEquals(1, rect.getKeyframeTrack().getX(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddNullKeyframe() {
+    Shape rect = new Rectangle("r", 1, 1, 1, 1, 0, 10, Color.RED);
+    rect.addKeyframes(Arrays.asList((Keyframe) null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddNullKeyframes() {
+    new Rectangle("r", 1, 1, 1, 1, 0, 10, Color.RED).addKeyframes(null);
+  }
+
+  @Test
+  public void testHoldsUntil() {
+    KeyframeTrack holding = new KeyframeTrack();
+    holding.put(0, 5, 5, 5, 5, 0, 0, 0);
+    holding.put(10, 5, 5, 5, 5, 0, 0, 0);
+    holding.put(20, 5, 5, 5, 5, 0, 0, 0);
+    holding.put(30, 50, 5, 5, 5, 0, 0, 0);
+    holding.put(40, 50, 5, 5, 5, 0, 0, 255);
+    assertEquals(20, holding.holdsUntil(0));
+    assertEquals(20, holding.holdsUntil(15));
+    assertEquals(25, holding.holdsUntil(25));
+    assertEquals(40, holding.holdsUntil(40));
+    assertEquals(-2, holding.holdsUntil(-1));
+    assertEquals(40, holding.holdsUntil(41));
+    holding.setEasing(3, Easing.STEP);
+    assertEquals(29, holding.holdsUntil(5));
+  }
+}
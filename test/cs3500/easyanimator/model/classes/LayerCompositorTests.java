@@ -0,0 +1,94 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.model.interfaces.Shape;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.view.classes.LayerCompositor;
+import cs3500.animator.view.classes.ViewPanel;
+import java.awt.Color;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the LayerCompositor class.
+ */
+public class LayerCompositorTests {
+  LayerCompositor layers;
+  List<Shape> shapes;
+  ViewPanel panel;
+
+  /**
+   * To keep test data consistent. A red square holds still in the corner, a green one moves right
+   * and a blue one holds still over where the green one moves, drawn after it. A fourth square
+   * comes on at tick 30.
+   */
+  @Before
+  public void testFixture() {
+    String input = "canvas 0 0 100 100\n"
+        + "shape still rectangle\n"
+        + "motion still 0 0 0 10 10 255 0 0  100 0 0 10 10 255 0 0\n"
+        + "shape mover rectangle\n"
+        + "motion mover 0 40 50 10 10 0 255 0  100 60 50 10 10 0 255 0\n"
+        + "shape above rectangle\n"
+        + "motion above 0 55 50 10 10 0 0 255  100 55 50 10 10 0 0 255\n"
+        + "shape late rectangle\n"
+        + "motion late 30 0 80 10 10 0 0 0  100 0 80 10 10 0 0 0\n";
+    EasyAnimatorModel model = AnimationReader.parseFile(new StringReader(input),
+        new EasyAnimatorModelImpl.Builder());
+    shapes = model.getShapes();
+    panel = new ViewPanel(shapes);
+    panel.seek(0);
+    layers = new LayerCompositor();
+  }
+
+  @Test
+  public void testStillShapesDrawnIntoBackground() {
+    assertFalse(layers.covers(0, 100, 100));
+    layers.build(0, shapes.subList(0, 3), shapes, 100, 100, Color.WHITE, panel);
+    assertEquals(Color.RED.getRGB(), layers.getBackground().getRGB(5, 5));
+    // the blue square could be crossed by the green one under it, so is drawn each frame too
+    assertEquals(Arrays.asList(shapes.get(1), shapes.get(2)), layers.getAnimated());
+    assertEquals(Color.WHITE.getRGB(), layers.getBackground().getRGB(57, 55));
+    assertEquals(1, layers.getBuilds());
+  }
+
+  @Test
+  public void testBackgroundHoldsUntilShapeComesOn() {
+    layers.build(0, shapes.subList(0, 3), shapes, 100, 100, Color.WHITE, panel);
+    assertTrue(layers.covers(29, 100, 100));
+    assertFalse(layers.covers(30, 100, 100));
+    assertFalse(layers.covers(10, 200, 100));
+    layers.invalidate();
+    assertFalse(layers.covers(10, 100, 100));
+  }
+
+  @Test
+  public void testBackgroundHoldsUntilShapeStartsToChange() {
+    shapes.get(0).getKeyframeTrack().put(20, 0, 0, 10, 10, 255, 0, 0);
+    shapes.get(0).getKeyframeTrack().put(25, 5, 0, 10, 10, 255, 0, 0);
+    layers.build(0, shapes.subList(0, 3), shapes, 100, 100, Color.WHITE, panel);
+    assertTrue(layers.covers(20, 100, 100));
+    assertFalse(layers.covers(21, 100, 100));
+  }
+
+  @Test
+  public void testShapeHoldingBrieflyDrawnEachFrame() {
+    shapes.get(0).getKeyframeTrack().put(3, 5, 0, 10, 10, 255, 0, 0);
+    layers.build(0, shapes.subList(0, 3), shapes, 100, 100, Color.WHITE, panel);
+    assertEquals(shapes.subList(0, 3), layers.getAnimated());
+    assertEquals(Color.WHITE.getRGB(), layers.getBackground().getRGB(5, 5));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    layers.build(0, shapes, shapes, 0, 100, Color.WHITE, panel);
+  }
+}
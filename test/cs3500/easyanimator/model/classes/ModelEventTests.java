@@ -0,0 +1,153 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.Bounds;
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.classes.Keyframe;
+import cs3500.animator.model.classes.ModelEvent;
+import cs3500.animator.model.classes.ModelEventType;
+import cs3500.animator.model.classes.Rectangle;
+import cs3500.animator.model.interfaces.ModelListener;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the change events a model sends its listeners.
+ */
+public class ModelEventTests {
+  EasyAnimatorModelImpl impl;
+  Rectangle r;
+  List<List<ModelEvent>> batches;
+
+  /**
+   * To keep test data consistent.
+   */
+  @Before
+  public void testFixture() {
+    impl = new EasyAnimatorModelImpl();
+    r = new Rectangle("r", 1, 1, 1, 1, 0, 20, Color.BLUE);
+    r.getKeyframeTrack().put(0, 0, 0, 10, 10, 0, 0, 255);
+    r.getKeyframeTrack().put(10, 100, 0, 10, 10, 0, 0, 255);
+    r.getKeyframeTrack().put(20, 100, 100, 10, 10, 0, 0, 255);
+    batches = new ArrayList<>();
+    impl.addListener(new ModelListener() {
+      @Override
+      public void modelChanged(List<ModelEvent> events) {
+        batches.add(events);
+      }
+    });
+  }
+
+  private Keyframe keyframe(int time) {
+    return new Keyframe(new Rectangle(r), 0, time, 5, 5, 10, 10, 0, 0, 0);
+  }
+
+  @Test
+  public void testShapeEvents() {
+    impl.addShape(r);
+    impl.removeShape(r);
+    assertEquals(Arrays.asList(
+        Arrays.asList(new ModelEvent(ModelEventType.SHAPE_ADDED, "r", 0, 20)),
+        Arrays.asList(new ModelEvent(ModelEventType.SHAPE_REMOVED, "r", 0, 20))), batches);
+  }
+
+  @Test
+  public void testKeyframeEventsCoverNeighbours() {
+    impl.addShape(r);
+    batches.clear();
+    impl.insertKeyframe(keyframe(15));
+    impl.insertKeyframe(keyframe(15));
+    impl.deleteKeyframe(keyframe(10));
+    assertEquals(Arrays.asList(
+        Arrays.asList(new ModelEvent(ModelEventType.KEYFRAME_INSERTED, "r", 10, 20)),
+        Arrays.asList(new ModelEvent(ModelEventType.KEYFRAME_UPDATED, "r", 10, 20)),
+        Arrays.asList(new ModelEvent(ModelEventType.KEYFRAME_DELETED, "r", 0, 15))), batches);
+  }
+
+  @Test
+  public void testInsertStretchesLifetime() {
+    impl.addShape(r);
+    impl.insertKeyframe(keyframe(30));
+    assertEquals(30, impl.getShape("r").getEndTime());
+    assertEquals(1, impl.getShapesAt(25).size());
+    assertEquals(new ModelEvent(ModelEventType.KEYFRAME_INSERTED, "r", 20, 30),
+        batches.get(1).get(0));
+  }
+
+  @Test
+  public void testInsertManyKeyframesSendsOneEvent() {
+    impl.addShape(r);
+    batches.clear();
+    impl.insertKeyframes(Arrays.asList(keyframe(30), keyframe(5), keyframe(15)));
+    assertEquals(Arrays.asList(Arrays.asList(
+        new ModelEvent(ModelEventType.KEYFRAME_INSERTED, "r", 0, 30))), batches);
+    assertEquals(6, impl.getShape("r").getKeyframeTrack().size());
+    assertEquals(30, impl.getShape("r").getEndTime());
+    assertEquals(1, impl.getShapesAt(25).size());
+  }
+
+  @Test
+  public void testBatchCombinesEvents() {
+    impl.beginBatch();
+    impl.addShape(r);
+    impl.beginBatch();
+    impl.insertKeyframe(keyframe(5));
+    impl.setBounds(new Bounds(0, 0, 10, 10));
+    impl.insertKeyframe(keyframe(25));
+    impl.endBatch();
+    assertTrue(batches.isEmpty());
+    impl.setBounds(new Bounds(0, 0, 20, 20));
+    impl.endBatch();
+    assertEquals(Arrays.asList(Arrays.asList(
+        new ModelEvent(ModelEventType.SHAPE_ADDED, "r", 0, 20),
+        new ModelEvent(ModelEventType.KEYFRAME_INSERTED, "r", 0, 25),
+        new ModelEvent(ModelEventType.BOUNDS_CHANGED, null, 0, Integer.MAX_VALUE))), batches);
+  }
+
+  @Test
+  public void testBatchKeepsEditsAcrossRemoval() {
+    impl.addShape(r);
+    batches.clear();
+    impl.beginBatch();
+    impl.insertKeyframe(keyframe(5));
+    impl.removeShape(r);
+    impl.addShape(r);
+    impl.insertKeyframe(keyframe(6));
+    impl.endBatch();
+    assertEquals(4, batches.get(0).size());
+    assertEquals(ModelEventType.KEYFRAME_INSERTED, batches.get(0).get(3).getType());
+  }
+
+  @Test
+  public void testRemoveListener() {
+    impl = new EasyAnimatorModelImpl();
+    ModelListener listener = new ModelListener() {
+      @Override
+      public void modelChanged(List<ModelEvent> events) {
+        batches.add(events);
+      }
+    };
+    impl.addListener(listener);
+    impl.setTempo(2);
+    impl.removeListener(listener);
+    impl.setTempo(3);
+    assertEquals(1, batches.size());
+    assertEquals(ModelEventType.TEMPO_CHANGED, batches.get(0).get(0).getType());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testEndWithoutBatch() {
+    impl.endBatch();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullListener() {
+    impl.addListener(null);
+  }
+}
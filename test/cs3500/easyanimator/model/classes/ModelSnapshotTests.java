@@ -0,0 +1,226 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.Bounds;
+import cs3500.animator.model.classes.Easing;
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.classes.Ellipse;
+import cs3500.animator.model.classes.Keyframe;
+import cs3500.animator.model.classes.KeyframeTrack;
+import cs3500.animator.model.classes.ModelSnapshot;
+import cs3500.animator.model.classes.Rectangle;
+import cs3500.animator.model.classes.ShapeSnapshot;
+import cs3500.animator.model.classes.ShapeState;
+import cs3500.animator.model.classes.ShapeType;
+import java.awt.Color;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Contains the tests for snapshots of the model.
+ */
+public class ModelSnapshotTests {
+  EasyAnimatorModelImpl impl;
+  Rectangle r;
+  Ellipse c;
+
+  /**
+   * To keep test data consistent.
+   */
+  @Before
+  public void testFixture() {
+    impl = new EasyAnimatorModelImpl();
+    r = new Rectangle("r", 1, 1, 1, 1, 0, 100, Color.BLUE);
+    c = new Ellipse("c", 1, 1, 1, 1, 0, 100, Color.RED);
+    r.getKeyframeTrack().put(0, 0, 0, 10, 10, 0, 0, 255);
+    r.getKeyframeTrack().put(10, 100, 0, 10, 10, 0, 0, 255);
+    impl.addShape(r);
+    impl.addShape(c);
+  }
+
+  @Test
+  public void testSnapshot() {
+    impl.setTempo(20);
+    impl.setBounds(new Bounds(5, 5, 50, 50));
+    ModelSnapshot snapshot = impl.snapshot();
+    assertEquals(20, snapshot.getTempo());
+    assertEquals(50, snapshot.getBounds().getWidth());
+    assertEquals(2, snapshot.getShapes().size());
+    ShapeSnapshot rect = snapshot.getShapes().get(0);
+    assertEquals("r", rect.getName());
+    assertEquals(ShapeType.RECTANGLE, rect.getType());
+    assertEquals(new ShapeState(50, 0, 10, 10, 0x0000FF), rect.stateAt(5));
+    assertEquals(ShapeType.ELLIPSE, snapshot.getShapes().get(1).getType());
+  }
+
+  @Test
+  public void testUnchangedModelGivesSameSnapshot() {
+    ModelSnapshot snapshot = impl.snapshot();
+    assertSame(snapshot, impl.snapshot());
+    assertSame(snapshot.getShapes(), impl.snapshot().getShapes());
+  }
+
+  @Test
+  public void testUnchangedShapesAreShared() {
+    ModelSnapshot before = impl.snapshot();
+    c.setX(40);
+    ModelSnapshot after = impl.snapshot();
+    assertNotSame(before, after);
+    assertSame(before.getShapes().get(0), after.getShapes().get(0));
+    assertNotSame(before.getShapes().get(1), after.getShapes().get(1));
+    assertEquals(1, before.getShapes().get(1).getX());
+    assertEquals(40, after.getShapes().get(1).getX());
+  }
+
+  @Test
+  public void testKeyframeEditsMakeNewSnapshot() {
+    ModelSnapshot before = impl.snapshot();
+    r.getKeyframeTrack().put(20, 0, 0, 10, 10, 0, 0, 255);
+    ModelSnapshot after = impl.snapshot();
+    assertEquals(2, before.getShapes().get(0).getKeyframeTrack().size());
+    assertEquals(3, after.getShapes().get(0).getKeyframeTrack().size());
+  }
+
+  @Test
+  public void testUnchangedSnapshotLooksAtNoShape() {
+    final AtomicInteger lookedAt = new AtomicInteger();
+    for (int i = 0; i < 100; i++) {
+      impl.addShape(new Rectangle("s" + i, 1, 1, i, i, 0, 10, Color.BLACK) {
+        @Override
+        public int getX() {
+          lookedAt.incrementAndGet();
+          return super.getX();
+        }
+      });
+    }
+    ModelSnapshot snapshot = impl.snapshot();
+    lookedAt.set(0);
+    assertSame(snapshot, impl.snapshot());
+    assertSame(snapshot, impl.pin());
+    impl.release(snapshot);
+    assertEquals(0, lookedAt.get());
+  }
+
+  @Test
+  public void testOnlyChangedShapesRecordedAgain() {
+    ModelSnapshot before = impl.snapshot();
+    r.getKeyframeTrack().setEasing(1, Easing.EASE_IN);
+    ModelSnapshot after = impl.snapshot();
+    assertNotSame(before.getShapes().get(0), after.getShapes().get(0));
+    assertSame(before.getShapes().get(1), after.getShapes().get(1));
+    assertEquals(Easing.EASE_IN, after.getShapes().get(0).getKeyframeTrack().getEasing(1));
+  }
+
+  @Test
+  public void testRemovedShapeNoLongerReportsChanges() {
+    impl.removeShape(c);
+    ModelSnapshot snapshot = impl.snapshot();
+    c.setX(40);
+    c.getKeyframeTrack().put(0, 0, 0, 1, 1, 0, 0, 0);
+    assertSame(snapshot, impl.snapshot());
+  }
+
+  @Test
+  public void testRemovedShapeLeavesSnapshot() {
+    ModelSnapshot before = impl.snapshot();
+    impl.removeShape(c);
+    assertEquals(2, before.getShapes().size());
+    assertEquals(1, impl.snapshot().getShapes().size());
+  }
+
+  @Test
+  public void testToShapeCanBeChanged() {
+    ShapeSnapshot rect = impl.snapshot().getShapes().get(0);
+    rect.toShape().getKeyframeTrack().put(50, 0, 0, 1, 1, 0, 0, 0);
+    assertEquals(2, rect.getKeyframeTrack().size());
+    assertEquals(2, r.getKeyframeTrack().size());
+  }
+
+  @Test
+  public void testVersions() {
+    ModelSnapshot first = impl.snapshot();
+    assertEquals(first.getVersion(), impl.snapshot().getVersion());
+    impl.setTempo(3);
+    assertTrue(impl.snapshot().getVersion() > first.getVersion());
+  }
+
+  @Test
+  public void testPinAndRelease() {
+    ModelSnapshot pinned = impl.pin();
+    assertSame(pinned, impl.pin());
+    impl.removeShape(c);
+    assertSame(pinned, impl.getPinned(pinned.getVersion()));
+    assertEquals(2, impl.getPinned(pinned.getVersion()).getShapes().size());
+    impl.release(pinned);
+    assertSame(pinned, impl.getPinned(pinned.getVersion()));
+    impl.release(pinned);
+    try {
+      impl.getPinned(pinned.getVersion());
+      fail("released version was still found");
+    } catch (IllegalArgumentException e) {
+      // released as many times as pinned
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReleaseUnpinned() {
+    impl.release(impl.snapshot());
+  }
+
+  @Test
+  public void testReadWhileEditing() throws InterruptedException {
+    final EasyAnimatorModelImpl model = new EasyAnimatorModelImpl();
+    final Rectangle shape = new Rectangle("s", 1, 1, 1, 1, 0, 100, Color.BLUE);
+    shape.getKeyframeTrack().put(0, 0, 0, 1, 1, 0, 0, 0);
+    model.addShape(shape);
+    final List<Throwable> errors = new CopyOnWriteArrayList<>();
+    Thread writer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          for (int t = 1; t <= 20000; t++) {
+            model.insertKeyframe(new Keyframe(new Rectangle(shape), t - 1, t, t, t, 1, 1, 0, 0, 0));
+          }
+        } catch (Throwable e) {
+          errors.add(e);
+        }
+      }
+    });
+    writer.start();
+    int lastSize = 0;
+    while (writer.isAlive()) {
+      KeyframeTrack track = model.snapshot().getShapes().get(0).getKeyframeTrack();
+      int size = track.size();
+      assertTrue(size >= lastSize);
+      // a snapshot's keyframes are whole and in order, however far the writer has got
+      for (int i = 0; i < size; i++) {
+        assertEquals(i, track.getTime(i));
+        assertEquals(i, track.getX(i));
+      }
+      lastSize = size;
+    }
+    writer.join();
+    assertTrue(errors.isEmpty());
+    assertEquals(20001, model.snapshot().getShapes().get(0).getKeyframeTrack().size());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testShapesCannotBeChanged() {
+    impl.snapshot().getShapes().clear();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTrackIsFrozen() {
+    KeyframeTrack track = impl.snapshot().getShapes().get(0).getKeyframeTrack();
+    assertTrue(track.isFrozen());
+    track.put(50, 0, 0, 1, 1, 0, 0, 0);
+  }
+}
@@ -0,0 +1,229 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.view.classes.PlaybackClock;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the PlaybackClock class. Apart from one short run against the real clock,
+ * the clocks here tell a made-up time and are stepped by hand, so no test waits on the time.
+ */
+public class PlaybackClockTests {
+
+  private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * Counts the ticks and calls it is told of.
+   */
+  private static final class Counter implements PlaybackClock.Listener {
+    private long ticks;
+    private int calls;
+
+    @Override
+    public void ticked(int count) {
+      ticks += count;
+      calls++;
+    }
+  }
+
+  /**
+   * A time that only moves when a test moves it.
+   */
+  private static final class FakeTime implements PlaybackClock.TimeSource {
+    private long now;
+
+    @Override
+    public long nanoTime() {
+      return now;
+    }
+  }
+
+  /**
+   * Keeps hand-overs waiting until a test runs them.
+   */
+  private static final class Waiting implements Executor {
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+
+    @Override
+    public void execute(Runnable command) {
+      queue.add(command);
+    }
+
+    void runAll() {
+      while (!queue.isEmpty()) {
+        queue.poll().run();
+      }
+    }
+  }
+
+  Counter counter;
+  FakeTime time;
+  Waiting waiting;
+
+  /**
+   * To keep test data consistent.
+   */
+  @Before
+  public void testFixture() {
+    counter = new Counter();
+    // any starting point will do, as with System.nanoTime
+    time = new FakeTime();
+    time.now = -42 * SECOND;
+    waiting = new Waiting();
+  }
+
+  private PlaybackClock clock(int tempo) {
+    return new PlaybackClock(tempo, counter, time, waiting);
+  }
+
+  @Test
+  public void testKeepsTempo() {
+    PlaybackClock clock = clock(100);
+    assertEquals(10 * MILLIS, clock.catchUp());
+    time.now += SECOND;
+    // the next tick falls due a whole step after the hundredth
+    assertEquals(10 * MILLIS, clock.catchUp());
+    waiting.runAll();
+    assertEquals(100, counter.ticks);
+    assertEquals(1, counter.calls);
+    assertEquals(100, clock.getTicksDelivered());
+  }
+
+  @Test
+  public void testStepsDoNotDrift() {
+    // a third of a second does not divide into whole nanoseconds
+    PlaybackClock clock = clock(3);
+    assertEquals(333333334, clock.catchUp());
+    time.now += 333333333;
+    clock.catchUp();
+    waiting.runAll();
+    assertEquals(0, counter.ticks);
+    time.now += 1;
+    clock.catchUp();
+    waiting.runAll();
+    assertEquals(1, counter.ticks);
+    for (int i = 0; i < 3000; i++) {
+      time.now += SECOND / 1000;
+      clock.catchUp();
+    }
+    waiting.runAll();
+    // ten whole steps fit in the three and a third seconds gone by
+    assertEquals(10, counter.ticks);
+  }
+
+  @Test
+  public void testSkipsFramesUnderLoad() {
+    PlaybackClock clock = clock(1000);
+    // the clock wakes fifty times while the first hand-over is still waiting
+    for (int i = 0; i < 50; i++) {
+      time.now += 10 * MILLIS;
+      clock.catchUp();
+    }
+    assertEquals(1, waiting.queue.size());
+    waiting.runAll();
+    // every tick is played, all of them in one call
+    assertEquals(500, counter.ticks);
+    assertEquals(1, counter.calls);
+
+    time.now += MILLIS;
+    clock.catchUp();
+    waiting.runAll();
+    assertEquals(501, counter.ticks);
+    assertEquals(2, counter.calls);
+  }
+
+  @Test
+  public void testStopDropsPendingTicks() {
+    PlaybackClock clock = clock(1000);
+    time.now += 100 * MILLIS;
+    clock.catchUp();
+    clock.stop();
+    waiting.runAll();
+    assertEquals(0, counter.calls);
+    assertEquals(0, clock.getTicksDelivered());
+  }
+
+  @Test
+  public void testFastTempoKeepsTickingOnLongRuns() {
+    // at this tempo, the nanoseconds run times the tempo would pass the largest long in 4.3s
+    PlaybackClock clock = clock(Integer.MAX_VALUE);
+    time.now += 5 * SECOND;
+    long wait = clock.catchUp();
+    waiting.runAll();
+    assertEquals(5L * Integer.MAX_VALUE, clock.getTicksDelivered());
+    assertTrue(wait >= 0 && wait <= 1);
+
+    time.now += 1;
+    clock.catchUp();
+    waiting.runAll();
+    assertEquals(5L * Integer.MAX_VALUE + 2, clock.getTicksDelivered());
+
+    // a thousand days on, ticks still fall due at the tempo
+    time.now += TimeUnit.DAYS.toNanos(1000);
+    clock.catchUp();
+    waiting.runAll();
+    assertEquals(TimeUnit.DAYS.toSeconds(1000) * Integer.MAX_VALUE + 5L * Integer.MAX_VALUE
+        + 2, clock.getTicksDelivered());
+  }
+
+  @Test
+  public void testSetTempoCountsFromNow() {
+    PlaybackClock clock = clock(1);
+    time.now += SECOND / 2;
+    clock.setTempo(1000);
+    assertEquals(1000, clock.getTempo());
+    time.now += 10 * MILLIS;
+    clock.catchUp();
+    waiting.runAll();
+    assertEquals(10, counter.ticks);
+  }
+
+  @Test
+  public void testTicksOnEventDispatchThread() throws InterruptedException {
+    final CountDownLatch ticked = new CountDownLatch(1);
+    final AtomicInteger offEventThread = new AtomicInteger();
+    PlaybackClock clock = new PlaybackClock(1000, new PlaybackClock.Listener() {
+      @Override
+      public void ticked(int ticks) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+          offEventThread.incrementAndGet();
+        }
+        ticked.countDown();
+      }
+    });
+    clock.start();
+    clock.start();
+    assertTrue(clock.isRunning());
+    assertTrue(ticked.await(5, TimeUnit.SECONDS));
+    clock.stop();
+    assertFalse(clock.isRunning());
+    assertEquals(0, offEventThread.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveTempo() {
+    new PlaybackClock(1, new Counter()).setTempo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullListener() {
+    new PlaybackClock(1, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullTimeSource() {
+    new PlaybackClock(1, new Counter(), null, waiting);
+  }
+}
@@ -11,10 +11,12 @@ import cs3500.animator.model.classes.Ellipse;
 import cs3500.animator.model.classes.Rectangle;
 import cs3500.animator.model.interfaces.Animation;
 import cs3500.animator.model.interfaces.EasyAnimatorModelReadOnly;
+import cs3500.animator.util.AnimationReader;
 import cs3500.animator.view.classes.SVGView;
 
 import java.awt.Color;
 import java.io.IOException;
+import java.io.StringReader;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -82,4 +84,27 @@ public class SVGViewTest {
         + "</svg>", out.toString());
   }
 
+  @Test
+  public void SVGKeyframeEllipseTest() throws IOException {
+    // ellipses with keyframes are written from the bounding box the visual view draws them in
+    EasyAnimatorModelReadOnly model = AnimationReader.parseFile(new StringReader(
+        "canvas 0 0 100 100\n"
+            + "shape c ellipse\n"
+            + "motion c 0 10 20 30 40 255 0 0  1 10 20 30 40 255 0 0\n"),
+        new EasyAnimatorModelImpl.Builder());
+    SVGView svg = new SVGView(model, out, 1);
+    svg.display();
+    assertEquals("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1000\" height=\"1000\" "
+        + "viewBox=\"0 0 100 100\" version=\"1.1\">\n"
+        + "<ellipse>\n<animate id=\"base\" begin = \"0\" dur=\"10ms\" "
+        + "attributeName=\"visibility\" from=\"hide\" to=\"hide\"/></ellipse>\n"
+        + "<ellipse xmlns=\"http://www.w3.org/2000/svg\" id=\"c\" cx=\"25\" cy=\"40\" rx=\"15\" "
+        + "ry=\"20\" fill=\"rgb(255,0,0)\" visibility=\"hidden\">\n"
+        + "<set attributeType=\"xml\" begin=\"0ms\" attributeName=\"visibility\" to=\"visible\"/>\n"
+        + "<set attributeType=\"xml\" begin=\"1000ms\" attributeName=\"visibility\" "
+        + "to=\"hidden\"/>\n"
+        + "</ellipse>\n"
+        + "</svg>", out.toString());
+  }
+
 }
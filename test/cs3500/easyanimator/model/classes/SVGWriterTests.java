@@ -0,0 +1,115 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.view.classes.SVGView;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for writing SVG documents from keyframes.
+ */
+public class SVGWriterTests {
+  EasyAnimatorModel model;
+
+  /**
+   * To keep test data consistent.
+   */
+  @Before
+  public void testFixture() {
+    model = AnimationReader.parseFile(new StringReader("canvas 10 20 100 100\n"
+            + "shape R rectangle\n"
+            + "shape C ellipse\n"
+            + "motion R 1 10 10 5 5 255 0 0  3 20 10 5 5 0 0 255\n"
+            + "motion C 2 0 0 5 7 0 255 0  4 0 0 5 7 0 255 0\n"
+            + "motion C 4 0 0 5 7 0 255 0  6 0 2 6 7 0 255 0\n"),
+        new EasyAnimatorModelImpl.Builder());
+  }
+
+  @Test
+  public void testDisplay() throws IOException {
+    StringBuilder out = new StringBuilder();
+    new SVGView(model, out, 2).display();
+    assertEquals("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1000\" height=\"1000\" "
+        + "viewBox=\"10 20 100 100\" version=\"1.1\">\n"
+        + "<ellipse>\n<animate id=\"base\" begin = \"0\" dur=\"10ms\" "
+        + "attributeName=\"visibility\" from=\"hide\" to=\"hide\"/></ellipse>\n"
+        + "<rect xmlns=\"http://www.w3.org/2000/svg\" id=\"R\" x=\"10\" y=\"10\" width=\"5\" "
+        + "height=\"5\" fill=\"rgb(255,0,0)\" visibility=\"hidden\">\n"
+        + "<set attributeType=\"xml\" begin=\"500ms\" attributeName=\"visibility\" "
+        + "to=\"visible\"/>\n"
+        + "<set attributeType=\"xml\" begin=\"1500ms\" attributeName=\"visibility\" "
+        + "to=\"hidden\"/>\n"
+        + "<animate xmlns=\"http://www.w3.org/2000/svg\" attributeType=\"xml\" begin=\"500ms\" "
+        + "dur=\"1000ms\" attributeName=\"x\" from=\"10\" to=\"20\" fill=\"freeze\"/>\n"
+        + "<animate xmlns=\"http://www.w3.org/2000/svg\" attributeType=\"xml\" begin=\"500ms\" "
+        + "dur=\"1000ms\" attributeName=\"fill\" from=\"rgb(255,0,0)\" to=\"rgb(0,0,255)\" "
+        + "fill=\"freeze\"/>\n"
+        + "</rect>\n"
+        + "<ellipse xmlns=\"http://www.w3.org/2000/svg\" id=\"C\" cx=\"2.5\" cy=\"3.5\" "
+        + "rx=\"2.5\" ry=\"3.5\" fill=\"rgb(0,255,0)\" visibility=\"hidden\">\n"
+        + "<set attributeType=\"xml\" begin=\"1000ms\" attributeName=\"visibility\" "
+        + "to=\"visible\"/>\n"
+        + "<set attributeType=\"xml\" begin=\"3000ms\" attributeName=\"visibility\" "
+        + "to=\"hidden\"/>\n"
+        + "<animate xmlns=\"http://www.w3.org/2000/svg\" attributeType=\"xml\" begin=\"2000ms\" "
+        + "dur=\"1000ms\" attributeName=\"cx\" from=\"2.5\" to=\"3\" fill=\"freeze\"/>\n"
+        + "<animate xmlns=\"http://www.w3.org/2000/svg\" attributeType=\"xml\" begin=\"2000ms\" "
+        + "dur=\"1000ms\" attributeName=\"cy\" from=\"3.5\" to=\"5.5\" fill=\"freeze\"/>\n"
+        + "<animate xmlns=\"http://www.w3.org/2000/svg\" attributeType=\"xml\" begin=\"2000ms\" "
+        + "dur=\"1000ms\" attributeName=\"rx\" from=\"2.5\" to=\"3\" fill=\"freeze\"/>\n"
+        + "</ellipse>\n"
+        + "</svg>", out.toString());
+  }
+
+  @Test
+  public void testWriterMatchesAppendable() throws IOException {
+    StringBuilder appended = new StringBuilder();
+    StringWriter written = new StringWriter();
+    new SVGView(model, appended, 1).display();
+    new SVGView(model, written, 1).display();
+    assertEquals(appended.toString(), written.toString());
+  }
+
+  @Test
+  public void testTempoScalesTimes() throws IOException {
+    StringBuilder out = new StringBuilder();
+    new SVGView(model, out, 4).display();
+    assertTrue(out.toString().contains("begin=\"250ms\" dur=\"500ms\" attributeName=\"x\""));
+  }
+
+  @Test
+  public void testLongDocument() throws IOException {
+    StringBuilder text = new StringBuilder("canvas 0 0 100 100\nshape R rectangle\n");
+    for (int t = 0; t < 2000; t++) {
+      text.append("motion R ").append(t).append(" ").append(t).append(" 0 5 5 0 0 0  ")
+          .append(t + 1).append(" ").append(t + 1).append(" 0 5 5 0 0 0\n");
+    }
+    model = AnimationReader.parseFile(new StringReader(text.toString()),
+        new EasyAnimatorModelImpl.Builder());
+    StringWriter out = new StringWriter();
+    new SVGView(model, out, 1).display();
+    String svg = out.toString();
+    assertTrue(svg.contains("begin=\"1999000ms\" dur=\"1000ms\" attributeName=\"x\" "
+        + "from=\"1999\" to=\"2000\""));
+    assertTrue(svg.endsWith("</rect>\n</svg>"));
+  }
+
+  @Test
+  public void testSplinesWrittenWithoutExponents() throws IOException {
+    model = AnimationReader.parseFile(new StringReader("canvas 0 0 100 100\n"
+            + "shape R rectangle\n"
+            + "motion R 0 0 0 5 5 0 0 0  4 8 0 5 5 0 0 0 cubic-bezier(0.0001,0,0.5,12.5)\n"),
+        new EasyAnimatorModelImpl.Builder());
+    StringBuilder out = new StringBuilder();
+    new SVGView(model, out, 2).display();
+    assertTrue(out.toString().contains("keySplines=\"0.0001 0 0.5 12.5\""));
+  }
+}
@@ -0,0 +1,95 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.Ellipse;
+import cs3500.animator.model.classes.Rectangle;
+import cs3500.animator.model.classes.SpatialIndex;
+import cs3500.animator.model.interfaces.Shape;
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Contains the tests for the SpatialIndex class.
+ */
+public class SpatialIndexTests {
+  SpatialIndex index;
+  Shape corner;
+  Shape huge;
+  Shape far;
+
+  /**
+   * To keep test data consistent. Cells are 100 wide, so the huge shape is kept in the list of
+   * large shapes.
+   */
+  @Before
+  public void testFixture() {
+    index = new SpatialIndex(100);
+    corner = new Rectangle("corner", 50, 50, 10, 10, 0, 10, Color.RED);
+    huge = new Ellipse("huge", 20000, 20000, 0, 0, 0, 10, Color.BLUE);
+    far = new Rectangle("far", 150, 150, 15000, 15000, 0, 10, Color.GREEN);
+    index.add(corner);
+    index.add(huge);
+    index.add(far);
+  }
+
+  @Test
+  public void testWithin() {
+    assertEquals(Arrays.asList(corner, huge), index.within(0, 0, 100, 100));
+    assertEquals(Arrays.asList(huge, far), index.within(15100, 15100, 10, 10));
+    assertEquals(Arrays.asList(huge), index.within(60, 60, 10, 10));
+    assertEquals(Arrays.asList(corner, huge, far), index.within(0, 0, 20000, 20000));
+    assertEquals(Collections.emptyList(), index.within(-50, -50, 50, 50));
+    assertEquals(Collections.emptyList(), index.within(0, 0, 0, 100));
+  }
+
+  @Test
+  public void testShapeInManyCellsListedOnce() {
+    assertEquals(Arrays.asList(huge, far), index.within(14950, 14950, 300, 300));
+  }
+
+  @Test
+  public void testUpdateFollowsMove() {
+    corner.setX(15050);
+    corner.setY(15050);
+    index.update(corner);
+    assertEquals(Arrays.asList(huge), index.within(0, 0, 100, 100));
+    // keeps its place in the drawing order
+    assertEquals(Arrays.asList(corner, huge, far), index.within(15050, 15050, 10, 10));
+    // a move within the same cell
+    corner.setX(15060);
+    index.update(corner);
+    assertEquals(Arrays.asList(huge, far), index.within(15050, 15050, 10, 10));
+  }
+
+  @Test
+  public void testAddEqualShapeReplaces() {
+    Shape moved = new Rectangle("corner", 5, 5, 300, 300, 0, 10, Color.RED);
+    index.add(moved);
+    assertEquals(3, index.size());
+    assertSame(moved, index.within(300, 300, 1, 1).get(0));
+    assertEquals(Arrays.asList(huge), index.within(0, 0, 100, 100));
+  }
+
+  @Test
+  public void testRemove() {
+    index.remove(huge);
+    assertEquals(Arrays.asList(corner), index.within(0, 0, 100, 100));
+    assertEquals(2, index.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUpdateMissing() {
+    index.remove(far);
+    index.update(far);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCellSize() {
+    new SpatialIndex(0);
+  }
+}
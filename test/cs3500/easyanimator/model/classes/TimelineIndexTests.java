@@ -0,0 +1,126 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.classes.Ellipse;
+import cs3500.animator.model.classes.Rectangle;
+import cs3500.animator.model.classes.TimelineIndex;
+import cs3500.animator.model.interfaces.Shape;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Contains the tests for the TimelineIndex class.
+ */
+public class TimelineIndexTests {
+  TimelineIndex index;
+  Shape early;
+  Shape late;
+  Shape always;
+
+  /**
+   * To keep test data consistent.
+   */
+  @Before
+  public void testFixture() {
+    index = new TimelineIndex(10);
+    early = new Rectangle("early", 1, 1, 1, 1, 0, 15, Color.RED);
+    always = new Ellipse("always", 1, 1, 1, 1, 0, 5000, Color.BLUE);
+    late = new Rectangle("late", 1, 1, 1, 1, 12, 40, Color.GREEN);
+    index.add(early);
+    index.add(always);
+    index.add(late);
+  }
+
+  @Test
+  public void testActiveAt() {
+    assertEquals(Arrays.asList(early, always), index.activeAt(0));
+    assertEquals(Arrays.asList(early, always, late), index.activeAt(12));
+    assertEquals(Arrays.asList(early, always, late), index.activeAt(15));
+    assertEquals(Arrays.asList(always, late), index.activeAt(16));
+    assertEquals(Arrays.asList(always), index.activeAt(41));
+    assertEquals(Arrays.asList(always), index.activeAt(5000));
+    assertEquals(Collections.emptyList(), index.activeAt(5001));
+    assertEquals(Collections.emptyList(), index.activeAt(-1));
+  }
+
+  @Test
+  public void testRemove() {
+    index.remove(always);
+    index.remove(early);
+    assertEquals(1, index.size());
+    assertEquals(Arrays.asList(late), index.activeAt(12));
+  }
+
+  @Test
+  public void testUpdateKeepsOrder() {
+    early.setStartTime(100);
+    early.setEndTime(120);
+    index.update(early);
+    assertEquals(Arrays.asList(always), index.activeAt(0));
+    assertEquals(Arrays.asList(early, always), index.activeAt(110));
+  }
+
+  @Test
+  public void testManyShapesMovedAndRemovedInOrder() {
+    index = new TimelineIndex(10);
+    List<Shape> shapes = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      Shape shape = new Rectangle("s" + i, 1, 1, 1, 1, 0, 5, Color.RED);
+      shapes.add(shape);
+      index.add(shape);
+    }
+    // moved in reverse, so each one has to find its place among the ones moved before it
+    for (int i = shapes.size() - 1; i >= 0; i--) {
+      shapes.get(i).setStartTime(50);
+      shapes.get(i).setEndTime(55);
+      index.update(shapes.get(i));
+    }
+    for (int i = 0; i < shapes.size(); i += 2) {
+      index.remove(shapes.get(i));
+    }
+    List<Shape> expected = new ArrayList<>();
+    for (int i = 1; i < shapes.size(); i += 2) {
+      expected.add(shapes.get(i));
+    }
+    assertEquals(expected, index.activeAt(52));
+    assertEquals(Collections.emptyList(), index.activeAt(2));
+  }
+
+  @Test
+  public void testAddEqualShapeReplaces() {
+    Shape moved = new Rectangle("early", 1, 1, 1, 1, 100, 120, Color.RED);
+    index.add(moved);
+    assertEquals(3, index.size());
+    assertEquals(Arrays.asList(always), index.activeAt(0));
+    assertSame(moved, index.activeAt(110).get(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRemoveMissingShape() {
+    index.remove(new Rectangle("missing", 1, 1, 1, 1, 0, 1, Color.RED));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBucketWidth() {
+    new TimelineIndex(0);
+  }
+
+  @Test
+  public void testModelShapesAt() {
+    EasyAnimatorModelImpl model = new EasyAnimatorModelImpl();
+    model.addShape(early);
+    model.addShape(late);
+    assertEquals(Arrays.asList(early), model.getShapesAt(5));
+    assertEquals(Arrays.asList(early, late), model.getShapesAt(14));
+    model.removeShape(early);
+    assertEquals(Arrays.asList(late), model.getShapesAt(14));
+  }
+}
@@ -0,0 +1,89 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.view.classes.VideoView;
+import cs3500.animator.view.classes.ViewFactory;
+import cs3500.animator.view.interfaces.View;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the VideoView class.
+ */
+public class VideoViewTests {
+  EasyAnimatorModel model;
+  ByteArrayOutputStream out;
+
+  /**
+   * To keep test data consistent. A red square moves right across a canvas four pixels high, for
+   * three ticks.
+   */
+  @Before
+  public void testFixture() {
+    model = AnimationReader.parseFile(new StringReader("canvas 0 0 8 4\n"
+            + "shape R rectangle\n"
+            + "motion R 0 0 0 2 4 255 0 0  2 4 0 2 4 255 0 0\n"),
+        new EasyAnimatorModelImpl.Builder());
+    out = new ByteArrayOutputStream();
+  }
+
+  @Test
+  public void testRgbFrames() throws IOException {
+    new VideoView(model, Channels.newChannel(out), VideoView.Format.RGB).display();
+    byte[] bytes = out.toByteArray();
+    assertEquals(3 * 8 * 4 * 3, bytes.length);
+    // the top left pixel of the first frame is red, of the last frame white
+    assertEquals(255, bytes[0] & 0xFF);
+    assertEquals(0, bytes[1] & 0xFF);
+    int last = 2 * 8 * 4 * 3;
+    assertEquals(255, bytes[last + 1] & 0xFF);
+    // the square has moved four pixels right
+    assertEquals(0, bytes[last + 4 * 3 + 1] & 0xFF);
+  }
+
+  @Test
+  public void testY4mFrames() throws IOException {
+    View view = new VideoView(model, Channels.newChannel(out), VideoView.Format.Y4M);
+    view.setTempo(24);
+    view.display();
+    byte[] bytes = out.toByteArray();
+    String header = "YUV4MPEG2 W8 H4 F24:1 Ip A1:1 C444\n";
+    assertTrue(new String(bytes, StandardCharsets.US_ASCII).startsWith(header + "FRAME\n"));
+    int frame = "FRAME\n".length() + 3 * 8 * 4;
+    assertEquals(header.length() + 3 * frame, bytes.length);
+
+    int planes = header.length() + "FRAME\n".length();
+    // red, then white, in BT.601 studio range
+    assertEquals(82, bytes[planes] & 0xFF);
+    assertEquals(90, bytes[planes + 32] & 0xFF);
+    assertEquals(240, bytes[planes + 64] & 0xFF);
+    assertEquals(235, bytes[planes + 7] & 0xFF);
+    assertEquals(128, bytes[planes + 32 + 7] & 0xFF);
+    assertEquals(128, bytes[planes + 64 + 7] & 0xFF);
+  }
+
+  @Test
+  public void testFactoryMakesVideoViews() throws IOException {
+    assertTrue(ViewFactory.isStreamView("y4m"));
+    assertTrue(ViewFactory.isStreamView("rgb"));
+    View view = new ViewFactory("rgb", model, new StringBuilder(), out).getView();
+    assertTrue(view instanceof VideoView);
+    view.display();
+    assertEquals(3 * 8 * 4 * 3, out.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidTempo() {
+    new VideoView(model, Channels.newChannel(out), VideoView.Format.Y4M).setTempo(0);
+  }
+}
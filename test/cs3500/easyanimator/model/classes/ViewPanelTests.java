@@ -0,0 +1,263 @@
+package cs3500.easyanimator.model.classes;
+
+import cs3500.animator.model.classes.AnimationMove;
+import cs3500.animator.model.classes.EasyAnimatorModelImpl;
+import cs3500.animator.model.classes.Bounds;
+import cs3500.animator.model.interfaces.EasyAnimatorModel;
+import cs3500.animator.model.interfaces.Shape;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.view.classes.FrameCache;
+import cs3500.animator.view.classes.ViewPanel;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.JScrollPane;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contains the tests for the repainting of the ViewPanel class.
+ */
+public class ViewPanelTests {
+  List<Rectangle> repainted;
+  ViewPanel panel;
+
+  /**
+   * To keep test data consistent. One square moves right by ten each tick and one stays put, until
+   * the square that stays put is gone after tick 5.
+   */
+  @Before
+  public void testFixture() {
+    String input = "canvas 0 0 500 500\n"
+        + "shape moving rectangle\n"
+        + "motion moving 0 0 0 10 10 0 0 0  10 100 0 10 10 0 0 0\n"
+        + "shape still rectangle\n"
+        + "motion still 0 200 200 20 20 0 0 0  5 200 200 20 20 0 0 0\n";
+    EasyAnimatorModel model = AnimationReader.parseFile(new StringReader(input),
+        new EasyAnimatorModelImpl.Builder());
+    repainted = new ArrayList<>();
+    panel = new ViewPanel(model.getShapes()) {
+      @Override
+      public void repaint(Rectangle r) {
+        repainted.add(new Rectangle(r));
+      }
+    };
+  }
+
+  @Test
+  public void testFirstFrameRepaintsEveryShape() {
+    panel.animateShapes();
+    panel.repaintChanges();
+    assertEquals(1, repainted.size());
+    assertEquals(new Rectangle(0, 0, 220, 220), repainted.get(0));
+  }
+
+  @Test
+  public void testOnlyMovedShapesRepainted() {
+    panel.animateShapes();
+    panel.repaintChanges();
+    panel.animateShapes();
+    panel.repaintChanges();
+    assertEquals(2, repainted.size());
+    // where the moving square was and where it is now, but not the square that stayed put
+    assertEquals(new Rectangle(0, 0, 20, 10), repainted.get(1));
+  }
+
+  @Test
+  public void testNothingChangedNothingRepainted() {
+    panel.animateShapes();
+    panel.repaintChanges();
+    panel.repaintChanges();
+    assertEquals(1, repainted.size());
+  }
+
+  @Test
+  public void testShapeThatIsGoneRepainted() {
+    panel.animateShapes();
+    panel.repaintChanges();
+    panel.seek(8);
+    panel.repaintChanges();
+    assertEquals(new Rectangle(0, 0, 220, 220), repainted.get(1));
+  }
+
+  /**
+   * Paints the panel into an image, with the given part of it to paint.
+   */
+  private void paint(Rectangle clip) {
+    Graphics2D graphics = new BufferedImage(500, 500, BufferedImage.TYPE_INT_RGB)
+        .createGraphics();
+    graphics.setClip(clip);
+    panel.paint(graphics);
+    graphics.dispose();
+  }
+
+  @Test
+  public void testFramesCachedWholeWhenPaintedInPart() {
+    FrameCache cache = new FrameCache(1 << 24);
+    panel.setFrameCache(cache);
+    panel.setSize(500, 500);
+    panel.seek(3);
+    paint(new Rectangle(0, 0, 50, 50));
+    BufferedImage frame = cache.get(3, 500, 500);
+    assertNotNull(frame);
+    // the square that stays put is drawn in the cached frame, outside the part painted
+    assertEquals(Color.BLACK.getRGB(), frame.getRGB(210, 210));
+    paint(new Rectangle(0, 0, 500, 500));
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void testLoopReplayedFromCache() {
+    FrameCache cache = new FrameCache(1 << 24);
+    panel.setFrameCache(cache);
+    panel.setSize(500, 500);
+    for (int pass = 0; pass < 2; pass++) {
+      panel.restart();
+      while (panel.getTick() <= panel.getMaxTick()) {
+        panel.animateShapes();
+        panel.repaintChanges();
+        for (Rectangle changed : repainted) {
+          paint(changed);
+        }
+        repainted.clear();
+      }
+      if (pass == 0) {
+        assertEquals(0, cache.getHits());
+      }
+    }
+    // the second pass only repaints changed parts, and copies every one from a cached frame
+    assertEquals(11, cache.getMisses());
+    assertTrue(cache.getHits() > 0);
+  }
+
+  @Test
+  public void testTicksPastEndNotCached() {
+    FrameCache cache = new FrameCache(1 << 24);
+    panel.setFrameCache(cache);
+    panel.setSize(500, 500);
+    panel.seek(12);
+    paint(new Rectangle(0, 0, 500, 500));
+    assertNull(cache.get(12, 500, 500));
+  }
+
+  @Test
+  public void testRestartPutsSteppedShapesBackOneByOne() {
+    Shape left = new cs3500.animator.model.classes.Rectangle("left", 10, 10, 0, 0, 0, 10,
+        Color.RED);
+    left.addAnimation(new AnimationMove(left, 0, 10, 100, 0));
+    Shape right = new cs3500.animator.model.classes.Rectangle("right", 10, 10, 300, 300, 0, 10,
+        Color.BLUE);
+    right.addAnimation(new AnimationMove(right, 0, 10, 300, 400));
+    List<Shape> shapes = new ArrayList<>();
+    shapes.add(left);
+    shapes.add(right);
+    ViewPanel stepped = new ViewPanel(shapes);
+    stepped.advance(8);
+    stepped.restart();
+    // each shape is back where it started, not where the last shape started
+    assertEquals(0, left.getX());
+    assertEquals(0, left.getY());
+    assertEquals(300, right.getX());
+    assertEquals(300, right.getY());
+  }
+
+  @Test
+  public void testRestartLeavesKeyframedShapesAlone() {
+    List<Shape> shapes = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Shape square = new cs3500.animator.model.classes.Rectangle("s" + i, 10, 10, i * 20,
+          0, 0, 10, Color.BLACK) {
+        @Override
+        public void setX(int x) {
+          throw new AssertionError("keyframed shape reset on restart");
+        }
+      };
+      square.getKeyframeTrack().put(0, i * 20, 0, 10, 10, 0, 0, 0);
+      square.getKeyframeTrack().put(10, i * 20, 0, 10, 10, 0, 0, 0);
+      shapes.add(square);
+    }
+    ViewPanel keyframed = new ViewPanel(shapes);
+    keyframed.restart();
+    assertEquals(0, keyframed.getTick());
+  }
+
+  @Test
+  public void testSeekOnlyLooksAtShapesActiveThere() {
+    // a thousand squares, each on screen for ten ticks of its own, and never replayed
+    final AtomicInteger lookedAt = new AtomicInteger();
+    List<Shape> shapes = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      Shape square = new cs3500.animator.model.classes.Rectangle("s" + i, 10, 10, 0, 0,
+          i * 10, i * 10 + 9, Color.BLACK) {
+        @Override
+        public void setX(int x) {
+          lookedAt.incrementAndGet();
+          super.setX(x);
+        }
+      };
+      square.getKeyframeTrack().put(i * 10, 0, 0, 10, 10, 0, 0, 0);
+      square.getKeyframeTrack().put(i * 10 + 9, 100, 0, 10, 10, 0, 0, 0);
+      shapes.add(square);
+    }
+    ViewPanel keyframed = new ViewPanel(shapes) {
+      @Override
+      public void restart() {
+        throw new AssertionError("replayed from the start to seek");
+      }
+    };
+    keyframed.seek(5003);
+    assertEquals(1, lookedAt.get());
+    assertEquals(5003, keyframed.getTick());
+    assertEquals(33, shapes.get(500).getX());
+  }
+
+  @Test
+  public void testOversizedCanvasCulledInScrollPane() {
+    // four hundred squares spread over a canvas eight times the size of the scroll pane
+    final AtomicInteger lookedAt = new AtomicInteger();
+    List<Shape> shapes = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      Shape square = new cs3500.animator.model.classes.Rectangle("s" + i, 10, 10, i % 20 * 200,
+          i / 20 * 200, 0, 10, Color.BLACK) {
+        @Override
+        public int getStartTime() {
+          lookedAt.incrementAndGet();
+          return super.getStartTime();
+        }
+      };
+      square.getKeyframeTrack().put(0, square.getX(), square.getY(), 10, 10, 0, 0, 0);
+      square.getKeyframeTrack().put(10, square.getX(), square.getY(), 10, 10, 0, 0, 0);
+      shapes.add(square);
+    }
+    ViewPanel big = new ViewPanel(shapes);
+    big.setCanvas(new Bounds(0, 0, 4000, 4000));
+    assertEquals(new Dimension(4000, 4000), big.getPreferredSize());
+    JScrollPane scroll = new JScrollPane(big);
+    scroll.setSize(500, 500);
+    scroll.doLayout();
+    scroll.getViewport().doLayout();
+    big.seek(0);
+
+    Rectangle visible = big.getVisibleRect();
+    assertTrue(visible.width <= 500 && visible.height <= 500);
+    Graphics2D graphics = new BufferedImage(4000, 4000, BufferedImage.TYPE_INT_RGB)
+        .createGraphics();
+    graphics.setClip(visible);
+    lookedAt.set(0);
+    big.paint(graphics);
+    graphics.dispose();
+    // only the squares in the cells around the part in view
+    assertTrue(lookedAt.get() > 0 && lookedAt.get() <= 16);
+  }
+}